@@ -46,6 +46,13 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import javax.swing.FocusManager;
 import javax.swing.Icon;
@@ -87,6 +94,7 @@ import bibliothek.gui.dock.common.intern.CControlFactory;
 import bibliothek.gui.dock.common.intern.CDockFrontend;
 import bibliothek.gui.dock.common.intern.CDockable;
 import bibliothek.gui.dock.common.intern.CDockableAccess;
+import bibliothek.gui.dock.common.intern.CLayoutModificationObserver;
 import bibliothek.gui.dock.common.intern.CListenerCollection;
 import bibliothek.gui.dock.common.intern.CPlaceholderStrategy;
 import bibliothek.gui.dock.common.intern.CommonDockable;
@@ -145,6 +153,7 @@ import bibliothek.gui.dock.facile.station.split.ConflictResolver;
 import bibliothek.gui.dock.facile.station.split.DefaultConflictResolver;
 import bibliothek.gui.dock.focus.DockableSelection;
 import bibliothek.gui.dock.frontend.FrontendEntry;
+import bibliothek.gui.dock.frontend.LayoutStore;
 import bibliothek.gui.dock.frontend.MissingDockableStrategy;
 import bibliothek.gui.dock.layout.DockSituationIgnore;
 import bibliothek.gui.dock.layout.DockableProperty;
@@ -165,6 +174,7 @@ import bibliothek.gui.dock.station.stack.tab.TabPane;
 import bibliothek.gui.dock.station.support.PlaceholderStrategy;
 import bibliothek.gui.dock.support.util.ApplicationResource;
 import bibliothek.gui.dock.support.util.ApplicationResourceManager;
+import bibliothek.gui.dock.support.util.IncrementalApplicationResource;
 import bibliothek.gui.dock.themes.BasicTheme;
 import bibliothek.gui.dock.themes.ColorScheme;
 import bibliothek.gui.dock.themes.ThemeFactory;
@@ -346,6 +356,12 @@ public class CControl {
     
     /** if <code>true</code>, then minimizing a Dockable will automatically transfer focus to a not minimized Dockable */
     private boolean transferFocusOnMinimize = true;
+    
+    /** decodes the layouts of {@link ConcurrentMultipleCDockableFactory}s, <code>null</code> if not yet created or disabled */
+    private Executor layoutDecoder;
+    
+    /** whether {@link #layoutDecoder} was set by the client */
+    private boolean customLayoutDecoder = false;
 
     /**
      * Creates a new control. Note that a control should know the main
@@ -582,9 +598,9 @@ public class CControl {
         
         themes = new ThemeMap( this );
 
-        initPersistentStorage();
-
         initExtendedModes();
+
+        initPersistentStorage();
         initProperties();
         initIcons();
         initTexts();
@@ -870,8 +886,15 @@ public class CControl {
         try{
         	addMultipleDockableFactory( "", NullMultipleCDockableFactory.NULL, false );
         	
-            resources.put( "ccontrol.frontend", new ApplicationResource(){
+            final CLayoutModificationObserver layoutObserver = new CLayoutModificationObserver( this );
+            addDestroyHook( layoutObserver );
+            
+            resources.put( "ccontrol.frontend", new IncrementalApplicationResource(){
+                public boolean isModified(){
+                    return layoutObserver.isModified();
+                }
                 public void write( DataOutputStream out ) throws IOException {
+                    layoutObserver.reset();
                     Version.write( out, Version.VERSION_1_1_1 );
                     frontend.write( out );
                 }
@@ -891,7 +914,16 @@ public class CControl {
                 }
             });
 
-            resources.put( "ccontrol.preferences", new ApplicationResource(){
+            resources.put( "ccontrol.preferences", new IncrementalApplicationResource(){
+                /** the modification count of {@link CControl#preferences} when they were written the last time */
+                private int written = -1;
+                
+                public boolean isModified(){
+                    // the model has to read its values before they can be compared, but a query
+                    // must not change the preferences, hence a model always counts as modified
+                    return preferenceModel != null || written != preferences.getModificationCount();
+                }
+                
                 public void read( DataInputStream in ) throws IOException {
                     Version version = Version.read( in );
                     version.checkCurrent();
@@ -918,6 +950,7 @@ public class CControl {
                         preferences.store( preferenceModel );
                     }
 
+                    written = preferences.getModificationCount();
                     Version.write( out, Version.VERSION_1_0_6 );
                     preferences.write( out );
                 }
@@ -1216,6 +1249,12 @@ public class CControl {
         frontend.kill();
         for( DestroyHook hook : hooks )
             hook.destroy();
+        synchronized( this ){
+	        if( !customLayoutDecoder && layoutDecoder != null ){
+	        	((ExecutorService)layoutDecoder).shutdown();
+	        	layoutDecoder = null;
+	        }
+        }
     }
     
     /**
@@ -1970,7 +2009,7 @@ public class CControl {
     		throw new IllegalArgumentException( "old dockable not registered at this CControl" );
     	
     	if( newDockable.getControl() != null )
-    		throw new IllegalArgumentException( "new dockable alread registered at some CControl" );
+    		throw new IllegalArgumentException( "new dockable already registered at some CControl" );
     	
     	String id = accesses.get( oldDockable ).getUniqueId();
     	
@@ -1996,6 +2035,77 @@ public class CControl {
     		locationManager.removeEmpty( id );
     	}
     }
+    
+    /**
+     * Replaces <code>oldDockable</code> with <code>newDockable</code>. If <code>oldDockable</code> is
+     * visible, then <code>newDockable</code> takes its exact place and <code>oldDockable</code> disappears,
+     * otherwise this method behaves like {@link #replace(MultipleCDockable, MultipleCDockable)}.
+     * @param oldDockable the old dockable, not <code>null</code>
+     * @param newDockable the new dockable, not <code>null</code>
+     */
+    public void replaceVisible( MultipleCDockable oldDockable, MultipleCDockable newDockable ){
+    	if( oldDockable == null )
+    		throw new IllegalArgumentException( "old dockable must not be null" );
+    	if( newDockable == null )
+    		throw new IllegalArgumentException( "new dockable must not be null" );
+    	
+    	if( oldDockable.getControl() != this )
+    		throw new IllegalArgumentException( "old dockable not registered at this CControl" );
+    	
+    	if( newDockable.getControl() != null )
+    		throw new IllegalArgumentException( "new dockable already registered at some CControl" );
+    	
+    	Dockable oldIntern = oldDockable.intern();
+    	DockStation parent = oldIntern.getDockParent();
+    	if( parent == null || !parent.canReplace( oldIntern, newDockable.intern() )){
+    		boolean visible = oldDockable.isVisible();
+    		CLocation location = visible ? oldDockable.getBaseLocation() : null;
+    		replace( oldDockable, newDockable );
+    		if( visible ){
+    			if( location != null ){
+    				newDockable.setLocation( location );
+    			}
+    			newDockable.setVisible( true );
+    		}
+    		return;
+    	}
+    	
+    	String id = accesses.get( oldDockable ).getUniqueId();
+    	
+    	boolean frontendEmpty = frontend.isEmpty( id );
+    	if( !frontendEmpty ){
+    		frontend.addEmpty( id );
+    	}
+    	
+    	boolean locationEmpty = locationManager.isEmpty( id );
+    	if( !locationEmpty ){
+    		locationManager.addEmpty( id );
+    	}
+    	
+    	DockController controller = frontend.getController();
+    	controller.freezeLayout();
+    	try{
+    		// unlike removeDockable, oldDockable remains on its station until it is replaced
+    		frontend.remove( oldIntern );
+    		register.removeMultipleDockable( oldDockable );
+    		oldDockable.setControlAccess( null );
+    		for( CControlListener listener : listeners() )
+    			listener.removed( CControl.this, oldDockable );
+    		
+    		addDockable( register.multiToNormalId( id ), newDockable );
+    		parent.replace( oldIntern, newDockable.intern() );
+    	}
+    	finally{
+    		controller.meltLayout();
+    	}
+    	
+    	if( !frontendEmpty ){
+    		frontend.removeEmpty( id );
+    	}
+    	if( !locationEmpty ){
+    		locationManager.removeEmpty( id );
+    	}
+    }
 
     /**
      * Searches and returns the one {@link MultipleCDockable} which uses
@@ -2408,6 +2518,44 @@ public class CControl {
     public MissingCDockableStrategy getMissingStrategy() {
         return missingStrategy;
     }
+    
+    /**
+     * Sets the {@link Executor} which decodes the layouts of {@link ConcurrentMultipleCDockableFactory}s 
+     * when a layout is read from xml. The executor should run tasks in parallel on threads other than the
+     * EventDispatchThread.
+     * @param layoutDecoder the executor, <code>null</code> if all layouts should be decoded by the
+     * thread that reads the layout
+     */
+    public synchronized void setLayoutDecoder( Executor layoutDecoder ){
+    	if( !customLayoutDecoder && this.layoutDecoder != null ){
+    		((ExecutorService)this.layoutDecoder).shutdown();
+    	}
+    	this.layoutDecoder = layoutDecoder;
+    	customLayoutDecoder = true;
+    }
+    
+    /**
+     * Gets the {@link Executor} which decodes the layouts of {@link ConcurrentMultipleCDockableFactory}s.
+     * The default executor uses as many threads as there are processors available, the threads are 
+     * created when needed and die when they are not used.
+     * @return the executor, can be <code>null</code> if layouts are decoded by the thread that reads the layout
+     * @see #setLayoutDecoder(Executor)
+     */
+    public synchronized Executor getLayoutDecoder(){
+    	if( !customLayoutDecoder && layoutDecoder == null ){
+    		int threads = Runtime.getRuntime().availableProcessors();
+    		ThreadPoolExecutor executor = new ThreadPoolExecutor( threads, threads, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory(){
+    			public Thread newThread( Runnable r ){
+    				Thread thread = new Thread( r, "DockingFrames layout decoder" );
+    				thread.setDaemon( true );
+    				return thread;
+    			}
+    		});
+    		executor.allowCoreThreadTimeOut( true );
+    		layoutDecoder = executor;
+    	}
+    	return layoutDecoder;
+    }
 
     /**
      * Adds a {@link ResizeRequestListener} to this {@link CControl}. The listener
@@ -2531,6 +2679,20 @@ public class CControl {
     public void write( File file ) throws IOException{
         getResources().writeFile( file );
     }
+    
+    /**
+     * Writes the current and all known layouts into <code>file</code>, the file itself is written
+     * by <code>executor</code>. This method should be called from the EDT.<br>
+     * This is the same as calling <code>getResources().writeFile( file, executor )</code>.
+     * @param file the file to override
+     * @param executor the executor that writes the file
+     * @return the task writing the file
+     * @throws IOException if the layouts can't be written
+     * @see ApplicationResourceManager#writeFile(File, Executor)
+     */
+    public Future<File> write( File file, Executor executor ) throws IOException{
+        return getResources().writeFile( file, executor );
+    }
 
     /**
      * Writes the current and all known layouts into <code>out</code>.<br>
@@ -2634,6 +2796,26 @@ public class CControl {
     	}
     }
     
+    /**
+     * Sets the persistent storage for the layouts that are stored by {@link #save(String)}. Layouts in the
+     * store are only read when they are {@link #load(String) loaded}, and saving or deleting a layout updates
+     * the store immediately. Layouts in the store are not written by {@link #write(DataOutputStream)}, and
+     * {@link #read(DataInputStream)} does not remove them from the store.
+     * @param store the new storage, can be <code>null</code>
+     * @see DockFrontend#setLayoutStore(LayoutStore)
+     */
+    public void setLayoutStore( LayoutStore store ){
+        frontend.setLayoutStore( store );
+    }
+    
+    /**
+     * Gets the persistent storage for the layouts that are stored by {@link #save(String)}.
+     * @return the storage, can be <code>null</code>
+     */
+    public LayoutStore getLayoutStore(){
+        return frontend.getLayoutStore();
+    }
+    
     /**
      * Stores the current layout with the given name. This creates "entry" (partial) layout information.
      * @param name the name of the current layout.
@@ -2654,6 +2836,8 @@ public class CControl {
     /**
      * Loads an earlier stored layout.
      * @param name the name of the layout.
+     * @throws IllegalStateException if the layout is corrupt, stored layouts are decoded 
+     * when they are loaded for the first time, see {@link DockFrontend#getSetting(String)}
      */
     public void load( String name ){
         frontend.load( name );
@@ -2665,6 +2849,8 @@ public class CControl {
      * @param includeWorkingAreas whether the content of the {@link CStation}s that are marked as
      * {@link CStation#isWorkingArea() working area} should be updated as well. This value should be the same
      * as was used to call {@link #save(String, boolean)}.
+     * @throws IllegalStateException if the layout is corrupt, stored layouts are decoded 
+     * when they are loaded for the first time, see {@link DockFrontend#getSetting(String)}
      */
     public void load( String name, boolean includeWorkingAreas ){
         frontend.load( name, !includeWorkingAreas );
@@ -0,0 +1,49 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.common;
+
+import java.util.concurrent.Executor;
+
+import bibliothek.util.xml.XElement;
+
+/**
+ * A {@link MultipleCDockableFactory} whose layouts can be decoded on any thread. Reading a layout from xml
+ * happens in two phases: first {@link #create()} is called and the new {@link MultipleCDockableLayout} reads
+ * its content using {@link MultipleCDockableLayout#readXML(XElement)}, then {@link #read(MultipleCDockableLayout)}
+ * creates the {@link MultipleCDockable}. The first phase of many layouts is executed in parallel by the 
+ * {@link CControl#setLayoutDecoder(Executor) layout decoder} of the {@link CControl}, only the second phase 
+ * is executed on the EventDispatchThread.<br>
+ * Clients must ensure that {@link #create()} and {@link MultipleCDockableLayout#readXML(XElement)} are thread safe
+ * and do not access any Swing component. If decoding a layout fails, then the exception is thrown once the layout is
+ * accessed for the first time. Layouts that are read from a stream are always decoded by the thread which reads
+ * the stream, because the stream has to be read sequentially.
+ * @author Benjamin Sigg
+ * @param <F> the kind of dockable that is managed by this factory
+ * @param <L> the kind of meta-data this factory reads and writes about <code>F</code>
+ */
+public interface ConcurrentMultipleCDockableFactory<F extends MultipleCDockable, L extends MultipleCDockableLayout> extends MultipleCDockableFactory<F, L>{
+	// nothing
+}
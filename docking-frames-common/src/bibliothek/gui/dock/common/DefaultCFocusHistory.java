@@ -25,9 +25,7 @@
  */
 package bibliothek.gui.dock.common;
 
-import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
 import bibliothek.gui.Dockable;
@@ -54,27 +52,42 @@ public class DefaultCFocusHistory implements CFocusHistory{
 	
 	public CDockable[] getHistory(){
 		FocusHistory history = control.getController().getFocusHistory();
-		List<CDockable> result = new ArrayList<CDockable>();
 		Dockable[] dockables = history.getHistory();
+		int count = 0;
+		for( Dockable dockable : dockables ){
+			if( dockable instanceof CommonDockable ){
+				count++;
+			}
+		}
+		
+		CDockable[] result = new CDockable[ count ];
 		for( int i = dockables.length-1; i >= 0; i-- ){
 			Dockable dockable = dockables[i];
 			if( dockable instanceof CommonDockable ){
-				CDockable cdockable = ((CommonDockable)dockable).getDockable();
-				result.add( cdockable );
+				result[ result.length - count-- ] = ((CommonDockable)dockable).getDockable();
 			}
 		}
-		return result.toArray( new CDockable[ result.size() ] );
+		return result;
 	}
 	
-	public CDockable getFirst( Filter<CDockable> filter ){
-		CDockable[] history = getHistory();
-		Set<CDockable> visited = new HashSet<CDockable>();
+	public CDockable getFirst( final Filter<CDockable> filter ){
+		FocusHistory history = control.getController().getFocusHistory();
+		final Set<CDockable> visited = new HashSet<CDockable>();
 		
-		for( CDockable dockable : history ){
-			if( filter.includes( dockable )){
-				return dockable;
+		Dockable first = history.getFirst( new Filter<Dockable>(){
+			public boolean includes( Dockable item ){
+				if( item instanceof CommonDockable ){
+					CDockable dockable = ((CommonDockable)item).getDockable();
+					if( filter.includes( dockable )){
+						return true;
+					}
+					visited.add( dockable );
+				}
+				return false;
 			}
-			visited.add( dockable );
+		});
+		if( first != null ){
+			return ((CommonDockable)first).getDockable();
 		}
 		
 		for( CDockable dockable : control.getRegister().getDockables() ){
@@ -0,0 +1,53 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.common;
+
+import bibliothek.gui.dock.common.event.CControlListener;
+
+/**
+ * A {@link MultipleCDockableFactory} which allows a {@link CControl} to delay the creation of its
+ * {@link MultipleCDockable}s. When a layout is applied, the {@link CControl} does not call 
+ * {@link #read(MultipleCDockableLayout)}, instead it inserts a cheap {@link MultipleCDockableStub} which 
+ * carries the layout. The stub is replaced by the real dockable the first time it becomes visible or
+ * gains the focus. Hence the time and memory needed to apply a layout depends only on the
+ * {@link MultipleCDockable}s the user can actually see.<br>
+ * Clients implementing this interface must be aware that {@link CControl#getRegister()}, the
+ * {@link CControlListener}s and other methods of {@link CControl} may report {@link MultipleCDockableStub}s
+ * instead of dockables of type <code>F</code>.
+ * @author Benjamin Sigg
+ * @param <F> the kind of dockable that is managed by this factory
+ * @param <L> the kind of meta-data this factory reads and writes about <code>F</code>
+ */
+public interface LazyMultipleCDockableFactory<F extends MultipleCDockable, L extends MultipleCDockableLayout> extends MultipleCDockableFactory<F, L>{
+	/**
+	 * Sets up the appearance of <code>stub</code>, e.g. its {@link MultipleCDockableStub#setTitleText(String) title text}
+	 * and {@link MultipleCDockableStub#setTitleIcon(javax.swing.Icon) icon}. This method is called instead of 
+	 * {@link #read(MultipleCDockableLayout)} when a layout is applied, and it should not do any expensive work.
+	 * @param stub the stand-in for the dockable described by <code>layout</code>
+	 * @param layout the layout which will be used to create the real dockable
+	 */
+	public void initialize( MultipleCDockableStub stub, L layout );
+}
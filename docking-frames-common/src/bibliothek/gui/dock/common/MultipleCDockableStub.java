@@ -0,0 +1,144 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.common;
+
+import java.awt.EventQueue;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.common.event.CFocusListener;
+import bibliothek.gui.dock.common.intern.CDockable;
+import bibliothek.gui.dock.control.focus.DefaultFocusRequest;
+import bibliothek.gui.dock.dockable.DockableStateEvent;
+import bibliothek.gui.dock.dockable.DockableStateListener;
+
+/**
+ * A cheap stand-in for a {@link MultipleCDockable} whose factory is a {@link LazyMultipleCDockableFactory}.
+ * The stub carries the {@link MultipleCDockableLayout} of the real dockable. The first time the stub becomes
+ * visible or gains the focus, the real dockable is created using {@link MultipleCDockableFactory#read(MultipleCDockableLayout)}
+ * and replaces the stub, see {@link CControl#replaceVisible(MultipleCDockable, MultipleCDockable)}.
+ * @author Benjamin Sigg
+ */
+public class MultipleCDockableStub extends DefaultMultipleCDockable{
+	/** the layout of the real dockable */
+	private MultipleCDockableLayout layout;
+	
+	/** whether a call to {@link #materialize()} is already scheduled */
+	private boolean scheduled = false;
+	
+	/** whether the stub had the focus */
+	private boolean focused = false;
+	
+	/**
+	 * Creates a new stub.
+	 * @param factory the factory which will create the real dockable
+	 * @param layout the layout of the real dockable
+	 */
+	public MultipleCDockableStub( LazyMultipleCDockableFactory<?, ?> factory, MultipleCDockableLayout layout ){
+		super( factory );
+		this.layout = layout;
+		
+		Listener listener = new Listener();
+		intern().addDockableStateListener( listener );
+		addFocusListener( listener );
+	}
+	
+	/**
+	 * Gets the layout which will be used to create the real dockable.
+	 * @return the layout
+	 */
+	public MultipleCDockableLayout getLayout(){
+		return layout;
+	}
+	
+	/**
+	 * Creates the real dockable and replaces this stub with the real dockable. Does nothing
+	 * if this stub is not registered at a {@link CControl}.
+	 * @return the real dockable, or <code>null</code> if nothing was replaced
+	 */
+	@SuppressWarnings("unchecked")
+	public MultipleCDockable materialize(){
+		CControl control = getControl();
+		if( control == null ){
+			return null;
+		}
+		
+		MultipleCDockableFactory<MultipleCDockable, MultipleCDockableLayout> factory = (MultipleCDockableFactory<MultipleCDockable, MultipleCDockableLayout>)getFactory();
+		MultipleCDockable dockable = factory.read( layout );
+		if( dockable == null ){
+			return null;
+		}
+		
+		DockController controller = control.getController();
+		boolean hadFocus = controller.getFocusedDockable() == intern();
+		
+		control.replaceVisible( this, dockable );
+		
+		if( hadFocus && dockable.isVisible() ){
+			controller.setFocusedDockable( new DefaultFocusRequest( dockable.intern(), null, false ));
+		}
+		return dockable;
+	}
+	
+	/**
+	 * Calls {@link #materialize()} once all the currently pending events are processed, and if
+	 * this stub is still visible or has the focus.
+	 */
+	private void schedule(){
+		if( !scheduled ){
+			scheduled = true;
+			EventQueue.invokeLater( new Runnable(){
+				public void run(){
+					scheduled = false;
+					if( getControl() != null && (focused || intern().isDockableShowing()) ){
+						materialize();
+					}
+				}
+			});
+		}
+	}
+	
+	/**
+	 * Observes this stub and calls {@link MultipleCDockableStub#schedule()} when the
+	 * stub becomes visible or gains the focus.
+	 * @author Benjamin Sigg
+	 */
+	private class Listener implements DockableStateListener, CFocusListener{
+		public void changed( DockableStateEvent event ){
+			if( intern().isDockableShowing() ){
+				schedule();
+			}
+		}
+		
+		public void focusGained( CDockable dockable ){
+			focused = true;
+			schedule();
+		}
+		
+		public void focusLost( CDockable dockable ){
+			focused = false;
+		}
+	}
+}
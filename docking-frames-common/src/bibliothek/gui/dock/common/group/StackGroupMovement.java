@@ -25,16 +25,24 @@
  */
 package bibliothek.gui.dock.common.group;
 
+import java.util.Collections;
+
 import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.StackDockStation;
 import bibliothek.gui.dock.common.mode.ExtendedMode;
 import bibliothek.gui.dock.facile.mode.Location;
+import bibliothek.gui.dock.facile.mode.LocationModeManager;
 import bibliothek.gui.dock.layout.DockableProperty;
 import bibliothek.gui.dock.station.stack.StackDockProperty;
+import bibliothek.gui.dock.util.DockUtilities;
 
 /**
- * This movement moves an entire {@link StackDockStation} to the place indicated by one of its children.
+ * This movement moves an entire {@link StackDockStation} to the place indicated by one of its children.<br>
+ * The first children are moved one by one. As soon as they form a new {@link StackDockStation}, the remaining
+ * children are inserted directly into that station. Their history is stored and their new mode is 
+ * set once the transaction of the {@link LocationModeManager} completes, but no {@link Location} is calculated
+ * for them and the {@link LocationModeManager} does not apply a mode to each of them.
  * @author Benjamin Sigg
  */
 public class StackGroupMovement implements CGroupMovement{
@@ -91,27 +99,41 @@ public class StackGroupMovement implements CGroupMovement{
 		int missing = 0;
 		
 		// move all the items that were before dockable
+		Dockable anchor = dockable;
 		for( int i = baseIndex - 1; i >= 0; i-- ){
 			currentDockable = children[i];
 			currentStation = dockable.getDockParent();
-			Location base = callback.getLocation( dockable );
-			Location movingLocation = new Location( base.getMode(), base.getRoot(), copyAndSetStackLocation( base.getLocation(), i - baseIndex + 1 - missing ) );
-			callback.setLocation( currentDockable, movingLocation );
+			StackDockStation stack = getInsertionTarget();
+			if( stack == null || !insert( callback, stack, currentDockable, stack.indexOf( anchor ) )){
+				Location base = callback.getLocation( dockable );
+				Location movingLocation = new Location( base.getMode(), base.getRoot(), copyAndSetStackLocation( base.getLocation(), i - baseIndex + 1 - missing ) );
+				callback.setLocation( currentDockable, movingLocation );
+			}
 			if( currentDockable.getDockParent() != dockable.getDockParent() ){
 				missing++;
 			}
+			else{
+				anchor = currentDockable;
+			}
 		}
 		
 		// move all the items that were after dockable
+		anchor = dockable;
 		for( int i = baseIndex + 1; i < children.length; i++ ){
 			currentDockable = children[i];
 			currentStation = dockable.getDockParent();
-			Location base = callback.getLocation( dockable );
-			Location movingLocation = new Location( base.getMode(), base.getRoot(), copyAndSetStackLocation( base.getLocation(), i - baseIndex - missing ) );
-			callback.setLocation( currentDockable, movingLocation );
+			StackDockStation stack = getInsertionTarget();
+			if( stack == null || !insert( callback, stack, currentDockable, stack.indexOf( anchor )+1 )){
+				Location base = callback.getLocation( dockable );
+				Location movingLocation = new Location( base.getMode(), base.getRoot(), copyAndSetStackLocation( base.getLocation(), i - baseIndex - missing ) );
+				callback.setLocation( currentDockable, movingLocation );
+			}
 			if( currentDockable.getDockParent() != dockable.getDockParent() ){
 				missing++;
 			}
+			else{
+				anchor = currentDockable;
+			}
 		}
 		
 		DockStation newParent = dockable.getDockParent();
@@ -123,6 +145,46 @@ public class StackGroupMovement implements CGroupMovement{
 		currentDockable = null;
 	}
 	
+	/**
+	 * Gets the {@link StackDockStation} into which the remaining children can be inserted directly.
+	 * @return the new parent of {@link #dockable}, or <code>null</code> if the parent is not
+	 * a new {@link StackDockStation}
+	 */
+	private StackDockStation getInsertionTarget(){
+		DockStation parent = dockable.getDockParent();
+		if( parent instanceof StackDockStation && parent != dockParent ){
+			return (StackDockStation)parent;
+		}
+		return null;
+	}
+	
+	/**
+	 * Moves <code>child</code> directly onto <code>stack</code> without applying any mode to it. The
+	 * current location of <code>child</code> is stored by the {@link LocationModeManager}.
+	 * @param callback information about the current movement
+	 * @param stack the new parent of <code>child</code>
+	 * @param child the element to move
+	 * @param index the index of <code>child</code> on <code>stack</code>
+	 * @return <code>true</code> if <code>child</code> was moved, <code>false</code> if the 
+	 * movement was not possible
+	 */
+	private boolean insert( CGroupBehaviorCallback callback, StackDockStation stack, Dockable child, int index ){
+		DockStation oldParent = child.getDockParent();
+		if( oldParent == null || oldParent == stack || index < 0 ){
+			return false;
+		}
+		if( !DockUtilities.acceptable( stack, child )){
+			return false;
+		}
+		
+		LocationModeManager<?> manager = callback.getManager();
+		manager.store( child );
+		manager.addAffected( Collections.singleton( child ) );
+		oldParent.drag( child );
+		stack.add( child, index );
+		return true;
+	}
+	
 	public boolean forceAccept( DockStation parent, Dockable child ){
 		return parent != currentStation || child != currentDockable;
 	}
@@ -0,0 +1,353 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.common.intern;
+
+import java.awt.Component;
+import java.awt.event.ComponentEvent;
+import java.awt.event.ComponentListener;
+import java.awt.event.HierarchyBoundsListener;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockFrontend;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.common.CControl;
+import bibliothek.gui.dock.common.DestroyHook;
+import bibliothek.gui.dock.common.MultipleCDockable;
+import bibliothek.gui.dock.common.mode.CLocationMode;
+import bibliothek.gui.dock.event.DockFrontendListener;
+import bibliothek.gui.dock.event.DockRegisterListener;
+import bibliothek.gui.dock.event.DockStationListener;
+import bibliothek.gui.dock.event.DockableFocusEvent;
+import bibliothek.gui.dock.event.DockableFocusListener;
+import bibliothek.gui.dock.facile.mode.Location;
+import bibliothek.gui.dock.support.mode.ModeManager;
+import bibliothek.gui.dock.support.mode.ModeManagerListener;
+import bibliothek.util.FrameworkOnly;
+
+/**
+ * Observes a {@link CControl} and tells whether the layout of its {@link Dockable}s may have changed since
+ * {@link #reset()} was called the last time. Any event of the {@link DockController}, of the {@link DockFrontend}
+ * or of the {@link CControl#getLocationManager() location manager} that hints at a change, any change of the size or
+ * location of a {@link Dockable} or one of its parents, any silent change of the frontend 
+ * (see {@link DockFrontend#getModificationCount()}), and any input of the user through the mouse or the keyboard, 
+ * marks the layout as modified. Hence changes made by the application are noticed as well as changes made by the user.
+ * The content of {@link MultipleCDockable}s is written by their factories and can change without
+ * notice, hence the layout is always treated as modified while there are {@link MultipleCDockable}s.
+ * @author Benjamin Sigg
+ */
+@FrameworkOnly
+public class CLayoutModificationObserver implements DestroyHook{
+	/** the control whose layout is observed */
+	private CControl control;
+	
+	/** whether the layout changed since the last call to {@link #reset()} */
+	private boolean modified = true;
+	
+	/** the {@link DockFrontend#getModificationCount() modification count} of the frontend when {@link #reset()} was called */
+	private int frontendModifications = -1;
+	
+	/** marks the layout as modified if any input from the mouse is registered */
+	private MouseAdapter mouseListener = new MouseAdapter(){
+		@Override
+		public void mousePressed( MouseEvent e ){
+			modified = true;
+		}
+		
+		@Override
+		public void mouseReleased( MouseEvent e ){
+			modified = true;
+		}
+	};
+	
+	/** marks the layout as modified if any input from the keyboard is registered */
+	private KeyAdapter keyListener = new KeyAdapter(){
+		@Override
+		public void keyPressed( KeyEvent e ){
+			modified = true;
+		}
+	};
+	
+	/** marks the layout as modified if the focus changes, the focus is part of the history of the location modes */
+	private DockableFocusListener focusListener = new DockableFocusListener(){
+		public void dockableFocused( DockableFocusEvent event ){
+			modified = true;
+		}
+	};
+	
+	/** 
+	 * marks the layout as modified if the size or location of a {@link Dockable} or one of its parents changes, e.g. when 
+	 * a divider is moved or when a window is moved
+	 */
+	private Bounds boundsListener = new Bounds();
+	
+	/** marks the layout as modified if the location manager reports any change */
+	private ModeManagerListener<Location, CLocationMode> modeListener = new ModeManagerListener<Location, CLocationMode>(){
+		public void dockableAdded( ModeManager<? extends Location, ? extends CLocationMode> manager, Dockable dockable ){
+			modified = true;
+		}
+		
+		public void dockableRemoved( ModeManager<? extends Location, ? extends CLocationMode> manager, Dockable dockable ){
+			modified = true;
+		}
+		
+		public void modeChanged( ModeManager<? extends Location, ? extends CLocationMode> manager, Dockable dockable, CLocationMode oldMode, CLocationMode newMode ){
+			modified = true;
+		}
+		
+		public void modeAdded( ModeManager<? extends Location, ? extends CLocationMode> manager, CLocationMode mode ){
+			modified = true;
+		}
+		
+		public void modeRemoved( ModeManager<? extends Location, ? extends CLocationMode> manager, CLocationMode mode ){
+			modified = true;
+		}
+	};
+	
+	/** marks the layout as modified if one of the stations reports any change */
+	private DockStationListener stationListener = new DockStationListener(){
+		public void dockableAdding( DockStation station, Dockable dockable ){
+			modified = true;
+		}
+		
+		public void dockableAdded( DockStation station, Dockable dockable ){
+			modified = true;
+		}
+		
+		public void dockableRemoving( DockStation station, Dockable dockable ){
+			modified = true;
+		}
+		
+		public void dockableRemoved( DockStation station, Dockable dockable ){
+			modified = true;
+		}
+		
+		public void dockableShowingChanged( DockStation station, Dockable dockable, boolean showing ){
+			modified = true;
+		}
+		
+		public void dockableSelected( DockStation station, Dockable oldSelection, Dockable newSelection ){
+			modified = true;
+		}
+		
+		public void dockablesRepositioned( DockStation station, Dockable[] dockables ){
+			modified = true;
+		}
+	};
+	
+	/** marks the layout as modified if the set of elements changes, and observes all {@link DockStation}s */
+	private DockRegisterListener registerListener = new DockRegisterListener(){
+		public void registerStalled( DockController controller ){
+			modified = true;
+		}
+		
+		public void registerUnstalled( DockController controller ){
+			modified = true;
+		}
+		
+		public void dockableRegistering( DockController controller, Dockable dockable ){
+			modified = true;
+		}
+		
+		public void dockStationRegistering( DockController controller, DockStation station ){
+			modified = true;
+		}
+		
+		public void dockableRegistered( DockController controller, Dockable dockable ){
+			modified = true;
+			boundsListener.add( dockable.getComponent() );
+		}
+		
+		public void dockStationRegistered( DockController controller, DockStation station ){
+			modified = true;
+			station.addDockStationListener( stationListener );
+		}
+		
+		public void dockableUnregistered( DockController controller, Dockable dockable ){
+			modified = true;
+			boundsListener.remove( dockable.getComponent() );
+		}
+		
+		public void dockStationUnregistered( DockController controller, DockStation station ){
+			modified = true;
+			station.removeDockStationListener( stationListener );
+		}
+		
+		public void dockableCycledRegister( DockController controller, Dockable dockable ){
+			modified = true;
+		}
+	};
+	
+	/** marks the layout as modified if the frontend reports any change */
+	private DockFrontendListener frontendListener = new DockFrontendListener(){
+		public void hidden( DockFrontend frontend, Dockable dockable ){
+			modified = true;
+		}
+		
+		public void shown( DockFrontend frontend, Dockable dockable ){
+			modified = true;
+		}
+		
+		public void added( DockFrontend frontend, Dockable dockable ){
+			modified = true;
+		}
+		
+		public void removed( DockFrontend frontend, Dockable dockable ){
+			modified = true;
+		}
+		
+		public void hideable( DockFrontend frontend, Dockable dockable, boolean hideable ){
+			modified = true;
+		}
+		
+		public void loaded( DockFrontend frontend, String name ){
+			modified = true;
+		}
+		
+		public void read( DockFrontend frontend, String name ){
+			modified = true;
+		}
+		
+		public void saved( DockFrontend frontend, String name ){
+			modified = true;
+		}
+		
+		public void deleted( DockFrontend frontend, String name ){
+			modified = true;
+		}
+	};
+	
+	/**
+	 * Creates a new observer and starts observing <code>control</code>.
+	 * @param control the control to observe, not <code>null</code>
+	 */
+	public CLayoutModificationObserver( CControl control ){
+		this.control = control;
+		
+		DockController controller = control.getController();
+		controller.getRegister().addDockRegisterListener( registerListener );
+		for( DockStation station : controller.getRegister().listDockStations() ){
+			station.addDockStationListener( stationListener );
+		}
+		for( Dockable dockable : controller.getRegister().listDockables() ){
+			boundsListener.add( dockable.getComponent() );
+		}
+		controller.addDockableFocusListener( focusListener );
+		control.getLocationManager().addModeManagerListener( modeListener );
+		controller.getGlobalMouseDispatcher().addMouseListener( mouseListener );
+		controller.getKeyboardController().addGlobalListener( keyListener );
+		control.intern().addFrontendListener( frontendListener );
+	}
+	
+	/**
+	 * Tells whether the layout may have changed since {@link #reset()} was called the last time.
+	 * @return <code>true</code> if the layout has to be written again
+	 */
+	public boolean isModified(){
+		if( modified || frontendModifications != control.intern().getModificationCount() ){
+			return true;
+		}
+		return control.getRegister().getMultipleDockables().size() > 0;
+	}
+	
+	/**
+	 * Marks the current layout as unmodified, to be called after the layout was written.
+	 */
+	public void reset(){
+		modified = false;
+		frontendModifications = control.intern().getModificationCount();
+	}
+	
+	public void destroy(){
+		DockController controller = control.getController();
+		controller.getRegister().removeDockRegisterListener( registerListener );
+		for( DockStation station : controller.getRegister().listDockStations() ){
+			station.removeDockStationListener( stationListener );
+		}
+		for( Dockable dockable : controller.getRegister().listDockables() ){
+			boundsListener.remove( dockable.getComponent() );
+		}
+		controller.removeDockableFocusListener( focusListener );
+		control.getLocationManager().removeModeManagerListener( modeListener );
+		controller.getGlobalMouseDispatcher().removeMouseListener( mouseListener );
+		controller.getKeyboardController().removeGlobalListener( keyListener );
+		control.intern().removeFrontendListener( frontendListener );
+	}
+	
+	/**
+	 * Marks the layout as modified if the size or location of a {@link Component} or of one of its
+	 * parents changes.
+	 * @author Benjamin Sigg
+	 */
+	private class Bounds implements ComponentListener, HierarchyBoundsListener{
+		/**
+		 * Starts observing <code>component</code>.
+		 * @param component the component to observe
+		 */
+		public void add( Component component ){
+			component.addComponentListener( this );
+			component.addHierarchyBoundsListener( this );
+		}
+		
+		/**
+		 * Stops observing <code>component</code>.
+		 * @param component the component to ignore
+		 */
+		public void remove( Component component ){
+			component.removeComponentListener( this );
+			component.removeHierarchyBoundsListener( this );
+		}
+		
+		public void componentResized( ComponentEvent e ){
+			modified = true;
+		}
+		
+		public void componentMoved( ComponentEvent e ){
+			modified = true;
+		}
+		
+		public void componentShown( ComponentEvent e ){
+			modified = true;
+		}
+		
+		public void componentHidden( ComponentEvent e ){
+			modified = true;
+		}
+		
+		public void ancestorMoved( HierarchyEvent e ){
+			modified = true;
+		}
+		
+		public void ancestorResized( HierarchyEvent e ){
+			modified = true;
+		}
+	}
+}
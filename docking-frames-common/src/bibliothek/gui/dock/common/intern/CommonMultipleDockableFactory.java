@@ -29,14 +29,20 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DockFactory;
 import bibliothek.gui.dock.common.CControl;
 import bibliothek.gui.dock.common.CStation;
+import bibliothek.gui.dock.common.ConcurrentMultipleCDockableFactory;
+import bibliothek.gui.dock.common.LazyMultipleCDockableFactory;
 import bibliothek.gui.dock.common.MultipleCDockable;
 import bibliothek.gui.dock.common.MultipleCDockableFactory;
 import bibliothek.gui.dock.common.MultipleCDockableLayout;
+import bibliothek.gui.dock.common.MultipleCDockableStub;
 import bibliothek.gui.dock.common.SingleCDockable;
 import bibliothek.gui.dock.common.perspective.CPerspective;
 import bibliothek.gui.dock.common.perspective.CPerspectiveMultipleIdentifierCollection;
@@ -112,7 +118,13 @@ public class CommonMultipleDockableFactory implements DockFactory<CommonDockable
 
     public CommonMultipleDockableLayout getLayout( CommonDockable element, Map<Dockable, Integer> children ) {
         MultipleCDockable dockable = (MultipleCDockable)element.getDockable();
-        MultipleCDockableLayout layout = delegate.write( dockable );
+        MultipleCDockableLayout layout;
+        if( dockable instanceof MultipleCDockableStub ){
+        	layout = ((MultipleCDockableStub)dockable).getLayout();
+        }
+        else{
+        	layout = delegate.write( dockable );
+        }
         
         CommonMultipleDockableLayout flayout = new CommonMultipleDockableLayout();
         flayout.setLayout( layout );
@@ -162,9 +174,19 @@ public class CommonMultipleDockableFactory implements DockFactory<CommonDockable
         return layout( layout, placeholders );
     }
 
+    @SuppressWarnings("unchecked")
     public CommonDockable layout( CommonMultipleDockableLayout layout, PlaceholderStrategy placeholders ) {
         // base
-        MultipleCDockable dockable = delegate.read( layout.getLayout() );
+        MultipleCDockable dockable;
+        if( delegate instanceof LazyMultipleCDockableFactory<?, ?> ){
+        	LazyMultipleCDockableFactory<MultipleCDockable, MultipleCDockableLayout> lazy = (LazyMultipleCDockableFactory<MultipleCDockable, MultipleCDockableLayout>)delegate;
+        	MultipleCDockableStub stub = new MultipleCDockableStub( lazy, layout.getLayout() );
+        	lazy.initialize( stub, layout.getLayout() );
+        	dockable = stub;
+        }
+        else{
+        	dockable = delegate.read( layout.getLayout() );
+        }
         if( dockable == null )
             return null;
         
@@ -231,8 +253,26 @@ public class CommonMultipleDockableFactory implements DockFactory<CommonDockable
 
     public CommonMultipleDockableLayout read( XElement element, PlaceholderStrategy placeholders ) {
         CommonMultipleDockableLayout layout = new CommonMultipleDockableLayout();
-        layout.setLayout( delegate.create() );
-        layout.getLayout().readXML( element.getElement( "multiple" ) );
+        final XElement xmultiple = element.getElement( "multiple" );
+        Executor decoder = null;
+        if( delegate instanceof ConcurrentMultipleCDockableFactory<?, ?> ){
+        	decoder = controlAccess.getOwner().getLayoutDecoder();
+        }
+        if( decoder == null ){
+        	layout.setLayout( delegate.create() );
+        	layout.getLayout().readXML( xmultiple );
+        }
+        else{
+        	FutureTask<MultipleCDockableLayout> task = new FutureTask<MultipleCDockableLayout>( new Callable<MultipleCDockableLayout>(){
+        		public MultipleCDockableLayout call() throws Exception{
+        			MultipleCDockableLayout result = delegate.create();
+        			result.readXML( xmultiple );
+        			return result;
+        		}
+        	});
+        	layout.setPendingLayout( task );
+        	decoder.execute( task );
+        }
         layout.setId( element.getElement( "id" ).getString() );
         XElement xarea = element.getElement( "area" );
         if( xarea != null )
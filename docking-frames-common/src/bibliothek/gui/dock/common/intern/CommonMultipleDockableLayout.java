@@ -25,8 +25,12 @@
  */
 package bibliothek.gui.dock.common.intern;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RunnableFuture;
+
 import bibliothek.gui.dock.common.MultipleCDockable;
 import bibliothek.gui.dock.common.MultipleCDockableLayout;
+import bibliothek.util.xml.XException;
 
 /**
  * An intermediate representation of the layout of a {@link CommonDockable}
@@ -36,6 +40,8 @@ import bibliothek.gui.dock.common.MultipleCDockableLayout;
 public class CommonMultipleDockableLayout {
     /** the layout of the {@link MultipleCDockable}  */
     private MultipleCDockableLayout layout;
+    /** a task that is still decoding {@link #layout}, <code>null</code> if {@link #layout} is known */
+    private RunnableFuture<? extends MultipleCDockableLayout> pending;
     
     /** the unique id of the dockable */
     private String id;
@@ -50,17 +56,69 @@ public class CommonMultipleDockableLayout {
      */
     public void setLayout( MultipleCDockableLayout layout ) {
         this.layout = layout;
+        this.pending = null;
+    }
+    
+    /**
+     * Sets a task which decodes the description of the layout of a {@link MultipleCDockable}. The
+     * task is usually executed by another thread, {@link #getLayout()} waits until the task has finished.
+     * If the task did not yet start when {@link #getLayout()} is called, then the calling thread
+     * executes the task.
+     * @param pending the task decoding the layout
+     */
+    public void setPendingLayout( RunnableFuture<? extends MultipleCDockableLayout> pending ){
+    	this.layout = null;
+    	this.pending = pending;
     }
     
     /**
      * Gets the layout of the {@link MultipleCDockable} that is associated with
-     * the {@link CommonDockable} for which this layout was created.
+     * the {@link CommonDockable} for which this layout was created. If the layout
+     * is still decoded by another thread, then this method waits until the 
+     * layout is available.
      * @return the layout
+     * @throws XException if the layout was decoded by another thread, and decoding failed
      */
     public MultipleCDockableLayout getLayout() {
+    	if( pending != null ){
+    		layout = join( pending );
+    		pending = null;
+    	}
         return layout;
     }
     
+    private <L> L join( RunnableFuture<L> task ){
+    	// does nothing if the task already started
+    	task.run();
+    	
+    	boolean interrupted = false;
+    	try{
+    		while( true ){
+    			try{
+    				return task.get();
+    			}
+    			catch( InterruptedException e ){
+    				interrupted = true;
+    			}
+    			catch( ExecutionException e ){
+    				Throwable cause = e.getCause();
+    				if( cause instanceof RuntimeException ){
+    					throw (RuntimeException)cause;
+    				}
+    				if( cause instanceof Error ){
+    					throw (Error)cause;
+    				}
+    				throw new XException( cause );
+    			}
+    		}
+    	}
+    	finally{
+    		if( interrupted ){
+    			Thread.currentThread().interrupt();
+    		}
+    	}
+    }
+    
     /**
      * Sets the unique id of the dockable.
      * @param id the unique id
@@ -41,6 +41,7 @@ import bibliothek.gui.dock.common.CControl;
 import bibliothek.gui.dock.common.MultipleCDockable;
 import bibliothek.gui.dock.common.MultipleCDockableFactory;
 import bibliothek.gui.dock.common.MultipleCDockableLayout;
+import bibliothek.gui.dock.common.MultipleCDockableStub;
 import bibliothek.gui.dock.common.SingleCDockable;
 import bibliothek.gui.dock.common.event.CVetoClosingEvent;
 import bibliothek.gui.dock.common.intern.CDockable;
@@ -260,7 +261,8 @@ public class CLayoutChangeStrategy extends DefaultLayoutChangeStrategy {
 						Iterator<MultipleCDockable> iterator = list.iterator();
 						while( iterator.hasNext() ){
 							MultipleCDockable next = iterator.next();
-							if( factory.match( next, multipleLayout )){
+							// a stub is never reused, it would have to be replaced anyway
+							if( !(next instanceof MultipleCDockableStub) && factory.match( next, multipleLayout )){
 								iterator.remove();
 								if( list.isEmpty() ){
 									remainingDockables.remove( factoryId );
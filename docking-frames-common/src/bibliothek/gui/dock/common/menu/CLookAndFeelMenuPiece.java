@@ -38,7 +38,7 @@ import bibliothek.gui.dock.facile.lookandfeel.DockableCollector;
 import bibliothek.gui.dock.facile.menu.LookAndFeelMenuPiece;
 import bibliothek.gui.dock.support.lookandfeel.ComponentCollector;
 import bibliothek.gui.dock.support.lookandfeel.LookAndFeelList;
-import bibliothek.gui.dock.support.util.ApplicationResource;
+import bibliothek.gui.dock.support.util.IncrementalApplicationResource;
 import bibliothek.util.Version;
 import bibliothek.util.xml.XElement;
 
@@ -70,8 +70,15 @@ public class CLookAndFeelMenuPiece extends LookAndFeelMenuPiece implements Destr
         dockableCollector = new DockableCollector( control.intern() );
         getList().addComponentCollector( dockableCollector );
         try {
-            control.getResources().put( "CLookAndFeelMenuPiece", new ApplicationResource(){
+            control.getResources().put( "CLookAndFeelMenuPiece", new IncrementalApplicationResource(){
+                /** the look and feel that was written the last time */
+                private LookAndFeelList.Info written;
+                
+                public boolean isModified(){
+                    return written != getList().getLookAndFeel();
+                }
                 public void write( DataOutputStream out ) throws IOException {
+                    written = getList().getLookAndFeel();
                     Version.write( out, Version.VERSION_1_0_4 );
                     getList().write( out );
                 }
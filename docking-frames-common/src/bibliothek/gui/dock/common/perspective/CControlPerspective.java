@@ -29,6 +29,7 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -140,6 +141,7 @@ public class CControlPerspective {
      * Gets the perspective which represents a layout that was stored using {@link CControl#save(String)}.
      * @param name the name of the stored layout
      * @return the perspective or <code>null</code> if <code>name</code> was not found
+     * @throws IllegalStateException if the layout is corrupt, see {@link DockFrontend#getSetting(String)}
      */
     public CPerspective getPerspective( String name ){
     	Setting setting = control.getOwner().intern().getSetting( name );
@@ -745,6 +747,13 @@ public class CControlPerspective {
     	private Map<String, SingleCDockablePerspective> dockables = new HashMap<String, SingleCDockablePerspective>();
     	private Map<String, DockLayoutComposition> stations;
     	
+    	/** maps the {@link CStationPerspective#intern() intern} representation of the stations of {@link #perspective} to their identifiers */
+    	private Map<PerspectiveElement, String> stationIds;
+    	/** the {@link CPerspective#getStationModifications() modification count} of {@link #perspective} when {@link #stationIds} was built */
+    	private int stationIdsModifications;
+    	/** the layouts of all the stations and dockables found in {@link #stations}, built lazily */
+    	private Map<String, DockLayoutComposition> predefinedStations;
+    	
     	/**
     	 * Creates a new factory.
     	 * @param perspective the perspective for which items are required
@@ -763,8 +772,27 @@ public class CControlPerspective {
     	
     	public void setStations( Map<String, DockLayoutComposition> stations ){
 			this.stations = stations;
+			this.predefinedStations = null;
 		}
     	
+    	/**
+    	 * Searches the identifier of the station whose {@link CStationPerspective#intern() intern} representation
+    	 * is <code>element</code>.
+    	 * @param element the element to search
+    	 * @return the identifier or <code>null</code> if <code>element</code> is not a station of {@link #perspective}
+    	 */
+    	private String getStationId( PerspectiveElement element ){
+    		int modifications = perspective.getStationModifications();
+    		if( stationIds == null || stationIdsModifications != modifications ){
+    			stationIds = new IdentityHashMap<PerspectiveElement, String>();
+    			stationIdsModifications = modifications;
+    			for( String key : perspective.getStationKeys() ){
+    				stationIds.put( perspective.getStation( key ).intern(), key );
+    			}
+    		}
+    		return stationIds.get( element );
+    	}
+    	
     	/**
     	 * Sets the {@link Perspective} which is using this cache.
     	 * @param basePerspective the perspective using this cache, not <code>null</code>
@@ -863,25 +891,31 @@ public class CControlPerspective {
 	     * @return the layout or <code>null</code> if not found
 	     */
 	    protected DockLayoutComposition getPredefinedStation( String id, DockSituation situation ){
-	    	if( stations != null ){
+	    	if( stations == null ){
+	    		return null;
+	    	}
+	    	
+	    	if( predefinedStations == null ){
+	    		predefinedStations = new HashMap<String, DockLayoutComposition>();
 	    		for( DockLayoutComposition station : stations.values() ){
-	    			DockLayoutComposition result = getPredefinedStation( id, station, situation );
-	    			if( result != null ){
-		    			return result;
-		    		}
+	    			collectPredefinedStations( station, situation );
 	    		}
 	    	}
 	    	
-	    	return null;
+	    	return predefinedStations.get( id );
 	    }
 	    
-	    private DockLayoutComposition getPredefinedStation( String id, DockLayoutComposition current, DockSituation situation ){
+	    /**
+	     * Recursively visits <code>current</code> and all its children and stores them in
+	     * {@link #predefinedStations}. If an identifier appears more than once, then the first
+	     * occurrence wins.
+	     * @param current the layout to visit
+	     * @param situation algorithms used to extract information from {@link DockLayoutComposition}s
+	     */
+	    private void collectPredefinedStations( DockLayoutComposition current, DockSituation situation ){
 	    	// check self
 	    	String currentId = situation.getIdentifier( current );
 	    	if( currentId != null ){
-	    		if( id.length() == DockFrontend.ROOT_KEY_PREFIX.length()+id.length() && currentId.startsWith( DockFrontend.ROOT_KEY_PREFIX ) && currentId.endsWith( id )){
-	    			return current;
-	    		}
 	    		if( currentId.startsWith( DockFrontend.DOCKABLE_KEY_PREFIX )){
 	    			currentId = currentId.substring( DockFrontend.DOCKABLE_KEY_PREFIX.length() );
 	    			if( control.getRegister().isSingleId( currentId )){
@@ -890,8 +924,8 @@ public class CControlPerspective {
 	    			else if( control.getRegister().isMultiId( currentId )){
 	    				currentId = control.getRegister().multiToNormalId( currentId );
 	    			}
-	    			if( currentId.equals( id )){
-	    				return current;
+	    			if( !predefinedStations.containsKey( currentId )){
+	    				predefinedStations.put( currentId, current );
 	    			}
 	    		}
 	    	}
@@ -900,21 +934,15 @@ public class CControlPerspective {
 	    	List<DockLayoutComposition> children = current.getChildren();
 	    	if( children != null ){
 	    		for( DockLayoutComposition child : children ){
-	    			DockLayoutComposition result = getPredefinedStation( id, child, situation );
-	    			if( result != null ){
-	    				return result;
-	    			}
+	    			collectPredefinedStations( child, situation );
 	    		}
 	    	}
-	    	return null;
 	    }
 		
 		public String get( PerspectiveElement element ){
-			for( String key : perspective.getStationKeys() ){
-				CStationPerspective station = perspective.getStation( key );
-				if( station.intern() == element ){
-					return key;
-				}
+			String key = getStationId( element );
+			if( key != null ){
+				return key;
 			}
 			
 			if( element instanceof CommonElementPerspective ){
@@ -928,13 +956,7 @@ public class CControlPerspective {
 		}
 		
 		public boolean isRootStation( PerspectiveStation element ){
-			for( String key : perspective.getStationKeys() ){
-				CStationPerspective station = perspective.getStation( key );
-				if( station.intern() == element ){
-					return true;
-				}
-			}
-			return false;
+			return getStationId( element ) != null;
 		}
     }
 }
@@ -69,6 +69,9 @@ public class CPerspective {
 	/** All the stations of this perspective */
 	private Map<String, CStationPerspective> stations = new HashMap<String, CStationPerspective>();
 	
+	/** how often {@link #stations} was modified */
+	private int stationModifications = 0;
+	
 	/** All the dockables known to this perspective, only updated on a call to {@link #storeLocations()} */
 	private Map<String, CDockablePerspective> dockables = new HashMap<String, CDockablePerspective>();
 	
@@ -185,6 +188,16 @@ public class CPerspective {
 		}
 		stations.put( station.getUniqueId(), station );
 		station.setPerspective( this );
+		stationModifications++;
+	}
+	
+	/**
+	 * Tells how often the set of stations was modified. Can be used by caches to
+	 * find out whether they are still valid.
+	 * @return the number of modifications
+	 */
+	int getStationModifications(){
+		return stationModifications;
 	}
 		
 	/**
@@ -38,8 +38,8 @@ import bibliothek.extension.gui.dock.theme.SmoothTheme;
 import bibliothek.gui.DockController;
 import bibliothek.gui.DockTheme;
 import bibliothek.gui.dock.common.CControl;
-import bibliothek.gui.dock.support.util.ApplicationResource;
 import bibliothek.gui.dock.support.util.ApplicationResourceManager;
+import bibliothek.gui.dock.support.util.IncrementalApplicationResource;
 import bibliothek.gui.dock.themes.BasicTheme;
 import bibliothek.gui.dock.themes.ThemeFactory;
 import bibliothek.gui.dock.themes.ThemePropertyFactory;
@@ -122,7 +122,15 @@ public class ThemeMap {
         });
         
         try {
-            control.getResources().put( "dock.ui.ThemeMap", new ApplicationResource(){
+            control.getResources().put( "dock.ui.ThemeMap", new IncrementalApplicationResource(){
+                /** the key that was written the last time */
+                private String writtenKey;
+                
+                public boolean isModified(){
+                    String key = getSelectedKey();
+                    return key == null ? writtenKey != null : !key.equals( writtenKey );
+                }
+                
                 public void read( DataInputStream in ) throws IOException {
                     Version.read( in ).checkCurrent();
                     if( in.readBoolean() ){
@@ -145,6 +153,7 @@ public class ThemeMap {
                 public void write( DataOutputStream out ) throws IOException {
                     Version.write( out, Version.VERSION_1_0_6 );
                     String key = getSelectedKey();
+                    writtenKey = key;
                     if( key == null ){
                         out.writeBoolean( false );
                     }
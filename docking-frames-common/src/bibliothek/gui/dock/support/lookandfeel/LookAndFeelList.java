@@ -26,15 +26,26 @@
 package bibliothek.gui.dock.support.lookandfeel;
 
 import java.awt.Component;
+import java.awt.Container;
+import java.awt.EventQueue;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 import javax.swing.JComponent;
+import javax.swing.JMenu;
+import javax.swing.JPopupMenu;
 import javax.swing.LookAndFeel;
+import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 import javax.swing.UnsupportedLookAndFeelException;
 import javax.swing.UIManager.LookAndFeelInfo;
@@ -49,6 +60,10 @@ import bibliothek.util.xml.XElement;
  * A list of {@link LookAndFeel}s, can setup a <code>LookAndFeel</code> when
  * asked. It's possible to add a {@link LookAndFeelListener} to this list and
  * receive events whenever the <code>LookAndFeel</code> changes.<br>
+ * When the <code>LookAndFeel</code> changes, only the {@link Component}s that are currently
+ * showing are updated. Hidden {@link Component}s are marked as stale and updated once they 
+ * become visible. The update of the visible {@link Component}s can be split into several
+ * slices, see {@link #setUpdateSliceDuration(int)}.<br>
  * Clients should use {@link #getDefaultList()} to get a list of {@link LookAndFeel}s
  * @author Benjamin Sigg
  */
@@ -89,6 +104,19 @@ public class LookAndFeelList{
     private List<Info> infos = new ArrayList<Info>();
     /** the list of listeners that get informed when the <code>LookAndFeel</code> changes */
     private List<LookAndFeelListener> listeners = new ArrayList<LookAndFeelListener>();
+    /** the list of listeners that get informed about the progress of updating the {@link Component}s */
+    private List<LookAndFeelUpdateListener> updateListeners = new ArrayList<LookAndFeelUpdateListener>();
+    
+    /** the maximum time in milliseconds a slice of an update may take, 0 means that there are no slices */
+    private int updateSliceDuration = 0;
+    /** whether hidden {@link Component}s are updated only once they become visible */
+    private boolean lazyUpdate = true;
+    /** the update that is currently running, may be <code>null</code> */
+    private UpdateJob currentUpdate;
+    /** {@link Component}s whose <code>LookAndFeel</code> has not yet been updated because they were not visible */
+    private Set<Component> staleComponents = Collections.newSetFromMap( new WeakHashMap<Component, Boolean>() );
+    /** the listener added to all the {@link #staleComponents} */
+    private StaleListener staleListener = new StaleListener();
     
     /** The roots of the {@link Component}-trees that need to be updated when the <code>LookAndFeel</code> changes */
     private List<ComponentCollector> componentCollectors = new ArrayList<ComponentCollector>();
@@ -186,6 +214,77 @@ public class LookAndFeelList{
         return listeners.toArray( new LookAndFeelListener[ listeners.size() ] );
     }
     
+    /**
+     * Adds a listener to this list, the listener will be informed about the
+     * progress of updating the {@link Component}s after the {@link LookAndFeel} changed.
+     * @param listener the new listener, not <code>null</code>
+     */
+    public void addLookAndFeelUpdateListener( LookAndFeelUpdateListener listener ){
+    	if( listener == null )
+    		throw new NullPointerException( "listener must not be null" );
+    	updateListeners.add( listener );
+    }
+    
+    /**
+     * Removes a listener from this list.
+     * @param listener the listener to remove
+     */
+    public void removeLookAndFeelUpdateListener( LookAndFeelUpdateListener listener ){
+    	updateListeners.remove( listener );
+    }
+    
+    /**
+     * Gets all {@link LookAndFeelUpdateListener}s that are known to this list.
+     * @return the list of listeners
+     */
+    protected LookAndFeelUpdateListener[] updateListeners(){
+    	return updateListeners.toArray( new LookAndFeelUpdateListener[ updateListeners.size() ] );
+    }
+    
+    /**
+     * Sets the maximum time a single slice of updating the {@link Component}s may take. If
+     * the update takes longer, the remaining work is postponed and executed later by the
+     * <code>EventQueue</code>, allowing the application to stay responsive. The default value
+     * is 0, meaning that all visible {@link Component}s are updated before
+     * {@link #setLookAndFeel(Info)} returns.
+     * @param duration the duration of one slice in milliseconds, 0 to update all
+     * {@link Component}s at once
+     * @see LookAndFeelUpdateListener
+     */
+    public void setUpdateSliceDuration( int duration ){
+    	if( duration < 0 )
+    		throw new IllegalArgumentException( "duration must not be negative: " + duration );
+		this.updateSliceDuration = duration;
+	}
+    
+    /**
+     * Gets the maximum time a slice of updating the {@link Component}s may take.
+     * @return the duration in milliseconds, 0 if there are no slices
+     * @see #setUpdateSliceDuration(int)
+     */
+    public int getUpdateSliceDuration(){
+		return updateSliceDuration;
+	}
+    
+    /**
+     * Sets whether {@link Component}s that are not showing are updated lazily. If
+     * <code>true</code>, then these {@link Component}s are marked as stale and updated the
+     * moment they become visible. The default value is <code>true</code>.
+     * @param lazyUpdate whether to update hidden {@link Component}s lazily
+     */
+    public void setLazyUpdate( boolean lazyUpdate ){
+		this.lazyUpdate = lazyUpdate;
+	}
+    
+    /**
+     * Tells whether hidden {@link Component}s are updated lazily.
+     * @return <code>true</code> if hidden {@link Component}s are updated when they become visible
+     * @see #setLazyUpdate(boolean)
+     */
+    public boolean isLazyUpdate(){
+		return lazyUpdate;
+	}
+    
     /**
      * Adds a set of root-{@link Component}s to this list, the set of
      * roots will be used to find all {@link JComponent}s
@@ -377,7 +476,7 @@ public class LookAndFeelList{
             lookAndFeel.setup();
             UIManager.setLookAndFeel( lookAndFeel.getClassName() );
 
-            LookAndFeelUtilities.updateUI( listComponents() );
+            updateUI( lookAndFeel );
             
             for( LookAndFeelListener listener : listeners() )
                 listener.lookAndFeelChanged( this, lookAndFeel );
@@ -526,6 +625,61 @@ public class LookAndFeelList{
         hasRead = true;
     }
     
+    /**
+     * Updates the {@link LookAndFeel} of all the {@link Component}s that can be found 
+     * through {@link #listComponents()}. Depending on the settings of this list, the update
+     * is executed lazily and in several slices.
+     * @param lookAndFeel the new <code>LookAndFeel</code>
+     */
+    protected void updateUI( Info lookAndFeel ){
+    	if( currentUpdate != null ){
+    		currentUpdate.cancel();
+    		currentUpdate = null;
+    	}
+    	
+    	List<Component> roots = LookAndFeelUtilities.listRoots( listComponents() );
+    	List<Component> visible = new ArrayList<Component>( roots.size() );
+    	
+    	for( Component root : roots ){
+    		if( !lazyUpdate || root.isShowing() ){
+    			visible.add( root );
+    		}
+    		else{
+    			markStale( root );
+    		}
+    	}
+    	
+    	UpdateJob job = new UpdateJob( lookAndFeel, visible );
+    	job.start();
+    	if( !job.isDone() ){
+    		currentUpdate = job;
+    	}
+    }
+    
+    /**
+     * Marks <code>component</code> as stale, its {@link LookAndFeel} will be updated once
+     * <code>component</code> is showing.
+     * @param component the component that is not updated now
+     */
+    private void markStale( Component component ){
+    	if( staleComponents.add( component )){
+    		component.addHierarchyListener( staleListener );
+    	}
+    }
+    
+    /**
+     * Removes the mark from a {@link Component} that was {@link #markStale(Component) marked} as stale.
+     * @param component the component that is no longer stale
+     * @return whether <code>component</code> was marked
+     */
+    private boolean unmarkStale( Component component ){
+    	if( staleComponents.remove( component )){
+    		component.removeHierarchyListener( staleListener );
+    		return true;
+    	}
+    	return false;
+    }
+    
     /**
      * Creates a list containing all root-{@link Component}s of this application,
      * the {@link ComponentCollector}s are used to build this list.
@@ -538,6 +692,159 @@ public class LookAndFeelList{
     	return list;
     }
     
+    /**
+     * Updates a stale {@link Component} the moment it becomes visible.
+     * @author Benjamin Sigg
+     */
+    private class StaleListener implements HierarchyListener{
+    	public void hierarchyChanged( HierarchyEvent e ){
+    		if( (e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 ){
+    			Component component = e.getComponent();
+    			if( component.isShowing() && unmarkStale( component )){
+    				SwingUtilities.updateComponentTreeUI( component );
+    			}
+    		}
+    	}
+    }
+    
+    /**
+     * Walks through the trees of some root-{@link Component}s and updates their {@link LookAndFeel}.
+     * The job can be split into several slices, each of them running at most 
+     * {@link LookAndFeelList#getUpdateSliceDuration()} milliseconds.
+     * @author Benjamin Sigg
+     */
+    private class UpdateJob implements Runnable{
+    	/** the new <code>LookAndFeel</code> */
+    	private Info lookAndFeel;
+    	/** the roots which have to be updated */
+    	private List<Component> roots;
+    	/** the index of the root that is currently updated */
+    	private int rootIndex = 0;
+    	/** the {@link Component}s of the current root that still need to be visited */
+    	private LinkedList<Component> pending = new LinkedList<Component>();
+    	/** whether this job has been canceled */
+    	private boolean canceled = false;
+    	
+    	/**
+    	 * Creates a new job.
+    	 * @param lookAndFeel the new <code>LookAndFeel</code>
+    	 * @param roots the roots to update
+    	 */
+    	public UpdateJob( Info lookAndFeel, List<Component> roots ){
+    		this.lookAndFeel = lookAndFeel;
+    		this.roots = roots;
+    	}
+    	
+    	/**
+    	 * Informs the listeners about this job and executes the first slice.
+    	 */
+    	public void start(){
+    		for( LookAndFeelUpdateListener listener : updateListeners() )
+    			listener.updateStarted( LookAndFeelList.this, lookAndFeel, roots.size() );
+    		
+    		if( !roots.isEmpty() ){
+    			pending.add( roots.get( 0 ) );
+    		}
+    		run();
+    	}
+    	
+    	/**
+    	 * Stops this job, no more {@link Component}s will be updated.
+    	 */
+    	public void cancel(){
+    		canceled = true;
+    	}
+    	
+    	/**
+    	 * Tells whether all the roots have been updated.
+    	 * @return whether this job is finished
+    	 */
+    	public boolean isDone(){
+    		return rootIndex >= roots.size();
+    	}
+    	
+    	public void run(){
+    		if( canceled ){
+    			return;
+    		}
+    		
+    		long deadline = updateSliceDuration == 0 ? Long.MAX_VALUE : System.currentTimeMillis() + updateSliceDuration;
+    		
+    		while( !isDone() ){
+    			if( pending.isEmpty() ){
+    				Component root = roots.get( rootIndex );
+    				root.invalidate();
+    				root.validate();
+    				root.repaint();
+    				
+    				rootIndex++;
+    				if( !isDone() ){
+    					pending.add( roots.get( rootIndex ) );
+    				}
+    			}
+    			else{
+    				update( pending.removeFirst() );
+    			}
+    			
+    			if( System.currentTimeMillis() >= deadline ){
+    				break;
+    			}
+    		}
+    		
+    		if( isDone() ){
+    			if( currentUpdate == this ){
+    				currentUpdate = null;
+    			}
+    			for( LookAndFeelUpdateListener listener : updateListeners() )
+    				listener.updateFinished( LookAndFeelList.this, lookAndFeel );
+    		}
+    		else{
+    			for( LookAndFeelUpdateListener listener : updateListeners() )
+        			listener.updateProgress( LookAndFeelList.this, lookAndFeel, rootIndex, roots.size() );
+    			EventQueue.invokeLater( this );
+    		}
+    	}
+    	
+    	/**
+    	 * Updates <code>component</code> and adds its children to the list of 
+    	 * pending {@link Component}s. Children that are not showing are marked as stale.
+    	 * This method mirrors {@link SwingUtilities#updateComponentTreeUI(Component)}.
+    	 * @param component the component to update
+    	 */
+    	private void update( Component component ){
+    		unmarkStale( component );
+    		
+    		if( component instanceof JComponent ){
+    			JComponent jcomponent = (JComponent)component;
+    			jcomponent.updateUI();
+    			JPopupMenu popup = jcomponent.getComponentPopupMenu();
+    			if( popup != null ){
+    				SwingUtilities.updateComponentTreeUI( popup );
+    			}
+    		}
+    		
+    		Component[] children = null;
+    		if( component instanceof JMenu ){
+    			children = ((JMenu)component).getMenuComponents();
+    		}
+    		else if( component instanceof Container ){
+    			children = ((Container)component).getComponents();
+    		}
+    		
+    		if( children != null ){
+    			for( int i = children.length-1; i >= 0; i-- ){
+    				Component child = children[i];
+    				if( lazyUpdate && component.isShowing() && !child.isShowing() ){
+    					markStale( child );
+    				}
+    				else{
+    					pending.addFirst( child );
+    				}
+    			}
+    		}
+    	}
+    }
+    
     /**
      * A wrapper around an {@link Info}.
      * @author Benjamin Sigg
@@ -0,0 +1,68 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.support.lookandfeel;
+
+import java.awt.Component;
+
+import javax.swing.LookAndFeel;
+
+import bibliothek.gui.dock.support.lookandfeel.LookAndFeelList.Info;
+
+/**
+ * A listener which observes how a {@link LookAndFeelList} updates the {@link Component}s
+ * of the application after the {@link LookAndFeel} changed. If the list is allowed to split 
+ * the update into several slices, then these events are the only way to find out when the 
+ * update is completed.
+ * @author Benjamin Sigg
+ * @see LookAndFeelList#setUpdateSliceDuration(int)
+ */
+public interface LookAndFeelUpdateListener {
+	/**
+	 * Called before the first {@link Component} gets updated.
+	 * @param list the source of the event
+	 * @param lookAndFeel the new {@link LookAndFeel}
+	 * @param roots the number of visible roots that are going to be updated
+	 */
+	public void updateStarted( LookAndFeelList list, Info lookAndFeel, int roots );
+	
+	/**
+	 * Called after a slice of the update was executed.
+	 * @param list the source of the event
+	 * @param lookAndFeel the new {@link LookAndFeel}
+	 * @param done the number of roots that are completely updated
+	 * @param roots the total number of visible roots that are going to be updated
+	 */
+	public void updateProgress( LookAndFeelList list, Info lookAndFeel, int done, int roots );
+	
+	/**
+	 * Called after all the visible {@link Component}s were updated. Hidden {@link Component}s
+	 * may still be updated later, when they become visible. This method is not called if 
+	 * the update was interrupted by yet another change of the {@link LookAndFeel}.
+	 * @param list the source of the event
+	 * @param lookAndFeel the new {@link LookAndFeel}
+	 */
+	public void updateFinished( LookAndFeelList list, Info lookAndFeel );
+}
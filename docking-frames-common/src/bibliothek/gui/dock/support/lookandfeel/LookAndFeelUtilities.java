@@ -3,8 +3,10 @@ package bibliothek.gui.dock.support.lookandfeel;
 import java.awt.Component;
 import java.awt.Container;
 import java.awt.Window;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import javax.swing.LookAndFeel;
@@ -21,16 +23,31 @@ public class LookAndFeelUtilities {
 	 * @param components a set of known components
 	 */
 	public static void updateUI( Collection<Component> components ){
-		Set<Component> visit = new HashSet<Component>();
+		for( Component root : listRoots( components )){
+			SwingUtilities.updateComponentTreeUI( root );
+		}
+	}
+	
+	/**
+	 * Searches the roots of all the {@link Component}-trees that can be found through 
+	 * <code>components</code>. This includes all the {@link Window}s that are owned by another 
+	 * root.
+	 * @param components a set of known components
+	 * @return the roots, each root is in the list only once
+	 */
+	public static List<Component> listRoots( Collection<Component> components ){
+		Set<Component> visit = new LinkedHashSet<Component>();
 		
 		for( Component component : components ){
 		    component = getAncestor( component );
 			Window window = SwingUtilities.getWindowAncestor( component );
 			if( window != null )
-				change( window, visit );
+				collect( window, visit );
 			else
-				change( component, visit );
+				collect( component, visit );
 		}
+		
+		return new ArrayList<Component>( visit );
 	}
 	
 	/**
@@ -48,8 +65,7 @@ public class LookAndFeelUtilities {
 	}
 	
 	/**
-	 * Updates the look and feel of <code>base</code> and all its
-	 * children. Recursively goes through all {@link Window}s that
+	 * Adds <code>base</code> to <code>visit</code>. Recursively goes through all {@link Window}s that
 	 * are owned by <code>base</code> (assuming <code>base</code>
 	 * is itself a <code>Window</code>).<br>
 	 * @param base the root of a component-tree
@@ -57,14 +73,13 @@ public class LookAndFeelUtilities {
 	 * is added to this set and if <code>base</code> was already in the set,
 	 * then this method returns immediately
 	 */
-    private static void change( Component base, Set<Component> visit ){
+    private static void collect( Component base, Set<Component> visit ){
         if( visit.add( base )){
-            SwingUtilities.updateComponentTreeUI( base );
             if( base instanceof Window ){
                 Window window = (Window)base;
                 
                 for( Window child : window.getOwnedWindows() )
-                    change( child, visit );
+                    collect( child, visit );
             }
         }
     }
@@ -31,6 +31,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -88,6 +89,12 @@ public abstract class ModeManager<H, M extends Mode<H>> {
 	/** how often the {@link #affected} set was opened */
 	private int affectedCount = 0;
 	
+	/** how many {@link Dockable}s were refreshed when the last {@link #affected} set was closed */
+	private int lastRefreshCount = 0;
+	
+	/** how many {@link Dockable}s were not refreshed when the last {@link #affected} set was closed */
+	private int lastSkippedRefreshCount = 0;
+	
 	/** used to change the history of {@link Dockable}s before applying a new mode */
 	private HistoryRewriter<H,M> historyRewriter;
 	
@@ -496,7 +503,9 @@ public abstract class ModeManager<H, M extends Mode<H>> {
     /**
      * Runs <code>run</code> as transaction, the {@link DockRegister} is stalled
      * and {@link #isOnTransaction()} returns <code>true</code> while 
-     * <code>run</code> runs. 
+     * <code>run</code> runs. All the {@link Dockable}s that are affected by nested
+     * transactions are collected and refreshed only once the outermost transaction
+     * completes.
      * @param run the runnable to execute
      * @param continuous if set to <code>true</code> the transaction should run without changing
      * the internal cache storing the position of all {@link Dockable}s. This can be important
@@ -506,6 +515,7 @@ public abstract class ModeManager<H, M extends Mode<H>> {
      */
     public void runTransaction( Runnable run, boolean continuous ){
     	try{
+    		openAffected();
     		controller.getRegister().setStalled( true );
     		onTransaction++;
     		if( continuous ){
@@ -519,6 +529,7 @@ public abstract class ModeManager<H, M extends Mode<H>> {
     		if( continuous ){
     			onContinuous--;
     		}
+    		closeAffected();
     	}
     }
 
@@ -753,14 +764,42 @@ public abstract class ModeManager<H, M extends Mode<H>> {
 
     /**
      * Updates the modes of all {@link Dockable}s that
-     * are registered at this {@link ModeManager}.
+     * are registered at this {@link ModeManager}. If called during a transaction, then
+     * the update is delayed until the transaction completes.
      */
     public void refresh(){
-    	for( Dockable dockable : dockables.keySet() ){
-    		refresh( dockable, false );
+    	if( affected != null ){
+    		for( Dockable dockable : dockables.keySet() ){
+    			affected.force( dockable );
+    		}
+    	}
+    	else{
+	    	for( Dockable dockable : dockables.keySet() ){
+	    		refresh( dockable, false );
+	    	}
     	}
     }
     
+    /**
+     * Tells how many {@link Dockable}s were refreshed when the last transaction completed. {@link Dockable}s
+     * which were affected by a transaction, but whose mode and parents did not change, are not refreshed.
+     * @return the number of refreshed {@link Dockable}s
+     * @see #getLastSkippedRefreshCount()
+     */
+    public int getLastRefreshCount(){
+		return lastRefreshCount;
+	}
+    
+    /**
+     * Tells how many {@link Dockable}s were affected by the last transaction, but were not refreshed
+     * because neither their mode nor their parents changed.
+     * @return the number of {@link Dockable}s that were not refreshed
+     * @see #getLastRefreshCount()
+     */
+    public int getLastSkippedRefreshCount(){
+		return lastSkippedRefreshCount;
+	}
+    
     /**
      * Updates the mode of <code>dockable</code> and updates the actions
      * associated with <code>dockable</code>. This method is intended to be
@@ -774,6 +813,7 @@ public abstract class ModeManager<H, M extends Mode<H>> {
     	DockableHandle handle = getHandle( dockable );
     	if( handle != null ){
     		handle.putMode( access( getCurrentMode( dockable ) ) );
+    		handle.refreshedParents = parents( dockable );
     	}
     	if( recursive ){
 	    	DockStation station = dockable.asDockStation();
@@ -785,6 +825,22 @@ public abstract class ModeManager<H, M extends Mode<H>> {
     	}
     }
     
+    /**
+     * Lists all the parents of <code>dockable</code>.
+     * @param dockable some element
+     * @return the parents, starting with the direct parent of <code>dockable</code>
+     */
+    private List<DockStation> parents( Dockable dockable ){
+    	List<DockStation> result = new ArrayList<DockStation>();
+    	DockStation parent = dockable.getDockParent();
+    	while( parent != null ){
+    		result.add( parent );
+    		Dockable next = parent.asDockable();
+    		parent = next == null ? null : next.getDockParent();
+    	}
+    	return result;
+    }
+    
     /**
      * Removes the properties that belong to <code>dockable</code>.
      * @param dockable the element to remove
@@ -1375,6 +1431,9 @@ public abstract class ModeManager<H, M extends Mode<H>> {
         /** if <code>true</code>, then this entry is not deleted automatically */
         private boolean empty = false;
         
+        /** the parents of {@link #dockable} when it was refreshed the last time, <code>null</code> if never refreshed */
+        private List<DockStation> refreshedParents;
+        
         /**
          * Creates a new entry
          * @param dockable the element whose properties are stores in this entry
@@ -1487,7 +1546,10 @@ public abstract class ModeManager<H, M extends Mode<H>> {
      */
     private class ChangeSet implements AffectedSet{
         /** the changed elements */
-        private Set<Dockable> set = new HashSet<Dockable>();
+        private Set<Dockable> set = new LinkedHashSet<Dockable>();
+        
+        /** the elements that have to be refreshed in any case */
+        private Set<Dockable> forced = new HashSet<Dockable>();
 
         /**
          * Creates a new set
@@ -1498,7 +1560,7 @@ public abstract class ModeManager<H, M extends Mode<H>> {
         
         public void add( Dockable dockable ){
         	if( dockable != null ){
-	            set.add( dockable );
+        		set.add( dockable );
 	            DockStation station = dockable.asDockStation();
 	            if( station != null ){
 	                for( int i = 0, n = station.getDockableCount(); i<n; i++ ){
@@ -1508,15 +1570,57 @@ public abstract class ModeManager<H, M extends Mode<H>> {
         	}
         }
         
+        /**
+         * Adds <code>dockable</code> to this set, <code>dockable</code> will be refreshed
+         * even if its mode and its parents did not change.
+         * @param dockable the element to refresh
+         */
+        public void force( Dockable dockable ){
+        	add( dockable );
+        	forced.add( dockable );
+        }
+        
         /**
          * Performs the clean up operations that are required after some
          * <code>Dockable</code>s have changed their mode.<br>
-         * for each element known to this set.
+         * for each element known to this set. Elements whose parents and whose mode did not
+         * change since they were refreshed the last time are not refreshed. Since the parents
+         * are compared with the parents of the last refresh, it does not matter whether an
+         * element was added to this set before or after it was moved.
          */
         public void finish(){
+        	int refreshed = 0;
+        	int skipped = 0;
+        	
             for( Dockable dockable : set ){
-            	refresh( dockable, false );
+            	if( forced.contains( dockable ) || changed( dockable )){
+            		refresh( dockable, false );
+            		refreshed++;
+            	}
+            	else{
+            		skipped++;
+            	}
             }
+            
+            lastRefreshCount = refreshed;
+            lastSkippedRefreshCount = skipped;
+        }
+        
+        /**
+         * Tells whether the mode or the parents of <code>dockable</code> changed since
+         * <code>dockable</code> was refreshed the last time.
+         * @param dockable the element to check
+         * @return <code>true</code> if <code>dockable</code> needs to be refreshed
+         */
+        private boolean changed( Dockable dockable ){
+        	DockableHandle handle = getHandle( dockable );
+        	if( handle == null ){
+        		return false;
+        	}
+        	if( handle.refreshedParents == null || !handle.refreshedParents.equals( parents( dockable ) )){
+        		return true;
+        	}
+        	return handle.peekMode() != access( getCurrentMode( dockable ) );
         }
     }
 }
@@ -26,10 +26,17 @@
 package bibliothek.gui.dock.support.util;
 
 import java.io.*;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.prefs.Preferences;
 
+import bibliothek.util.FileReplacer;
 import bibliothek.util.Version;
 import bibliothek.util.xml.XElement;
 
@@ -41,7 +48,9 @@ import bibliothek.util.xml.XElement;
  * stream of bytes belongs to which resource. If data is loaded, the byte-streams
  * for missing resources will be stored in a buffer that is read as soon as
  * a missing resource is registered. Additional resources are ignored.<br>
- * Note that there is no order how the resources are stored in the file. 
+ * Note that there is no order how the resources are stored in the file.<br>
+ * The bytes written by an {@link IncrementalApplicationResource} are cached, if the resource
+ * is not modified the next time this manager is written, then the cached bytes are used again. 
  * @author Benjamin Sigg
  *
  */
@@ -52,6 +61,9 @@ public class ApplicationResourceManager {
     /** buffer for streams which are not yet read */
     private Map<String, Object> buffer = new HashMap<String, Object>();
     
+    /** the bytes that were written the last time by the {@link IncrementalApplicationResource}s */
+    private Map<String, byte[]> written = new HashMap<String, byte[]>();
+    
     /**
      * Stores a resource that might be read or written at any time. If a stream
      * was already read by this manager, and if there was an entry in that stream
@@ -71,6 +83,7 @@ public class ApplicationResourceManager {
             throw new NullPointerException( "resource must not be null" );
         
         resources.put( name, resource );
+        written.remove( name );
         Object buffered = buffer.get( name );
         if( buffered != null ){
             if( buffered instanceof byte[] ){
@@ -91,6 +104,7 @@ public class ApplicationResourceManager {
      */
     public void remove( String name ){
         resources.remove( name );
+        written.remove( name );
     }
     
     /**
@@ -100,25 +114,46 @@ public class ApplicationResourceManager {
      * @throws IOException if the operation can't be completed
      */
     public void writeStream( DataOutputStream out ) throws IOException{
-        // version
-        Version.write( out, Version.VERSION_1_0_4 );
-        
-        // number of elements
-        out.writeInt( resources.size() );
+        createSnapshot().write( out );
+    }
+    
+    /**
+     * Asks all {@link ApplicationResource}s to write themselves into an array of bytes. Unmodified
+     * {@link IncrementalApplicationResource}s are not asked, instead the bytes they wrote the last time
+     * are used.
+     * @return the content of all the resources
+     * @throws IOException if the operation can't be completed
+     */
+    private Snapshot createSnapshot() throws IOException{
+        Snapshot snapshot = new Snapshot();
         
-        // elements
         for( Map.Entry<String, ApplicationResource> resource : resources.entrySet() ){
-            out.writeUTF( resource.getKey() );
+            String key = resource.getKey();
+            ApplicationResource value = resource.getValue();
             
-            ByteArrayOutputStream array = new ByteArrayOutputStream();
-            DataOutputStream data = new DataOutputStream( array );
-            resource.getValue().write( data );
-            data.close();
+            byte[] content = null;
+            if( value instanceof IncrementalApplicationResource ){
+                if( !((IncrementalApplicationResource)value).isModified() ){
+                    content = written.get( key );
+                }
+            }
+            
+            if( content == null ){
+                ByteArrayOutputStream array = new ByteArrayOutputStream();
+                DataOutputStream data = new DataOutputStream( array );
+                value.write( data );
+                data.close();
+                content = array.toByteArray();
+                
+                if( value instanceof IncrementalApplicationResource ){
+                    written.put( key, content );
+                }
+            }
             
-            // write out the array
-            out.writeInt( array.size() );
-            array.writeTo( out );
+            snapshot.add( key, content );
         }
+        
+        return snapshot;
     }
     
     /**
@@ -139,6 +174,7 @@ public class ApplicationResourceManager {
             in.readFully( input );
             ApplicationResource resource = resources.get( key );
             if( resource != null ){
+                written.remove( key );
                 ByteArrayInputStream array = new ByteArrayInputStream( input );
                 DataInputStream data = new DataInputStream( array );
                 resource.read( data );
@@ -171,6 +207,7 @@ public class ApplicationResourceManager {
             String name = xresource.getString( "name" );
             ApplicationResource resource = resources.get( name );
             if( resource != null ){
+                written.remove( name );
                 resource.readXML( xresource );
             }
             else
@@ -179,18 +216,40 @@ public class ApplicationResourceManager {
     }
     
     /**
-     * Writes the contents of this manager into <code>file</code>.
+     * Writes the contents of this manager into <code>file</code>. The contents are first written
+     * into a temporary file, which then replaces <code>file</code>. Hence <code>file</code> is never
+     * left in a partially written state.
      * @param file the file to write into
      * @throws IOException if the operation can't be completed
      */
     public void writeFile( File file ) throws IOException{
-        DataOutputStream out = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( file )));
-        try{
-            writeStream( out );
-        }
-        finally{
-            out.close();
+        createSnapshot().writeFile( file );
+    }
+    
+    /**
+     * Writes the contents of this manager into <code>file</code> without blocking the current thread for
+     * long. The {@link ApplicationResource}s are asked to write themselves by the current thread, this should 
+     * be the thread that is allowed to access them, usually the EDT. Writing the bytes into the file happens
+     * in a task that is given to <code>executor</code>, the file is replaced the same way as by {@link #writeFile(File)}.
+     * @param file the file to write into
+     * @param executor the executor that will write the file, not <code>null</code>
+     * @return the task that writes the file, clients can use it to wait for the result
+     * @throws IOException if one of the resources can't be written
+     */
+    public Future<File> writeFile( final File file, Executor executor ) throws IOException{
+        if( executor == null ){
+            throw new IllegalArgumentException( "executor must not be null" );
         }
+        
+        final Snapshot snapshot = createSnapshot();
+        FutureTask<File> task = new FutureTask<File>( new Callable<File>(){
+            public File call() throws IOException{
+                snapshot.writeFile( file );
+                return file;
+            }
+        });
+        executor.execute( task );
+        return task;
     }
     
     /**
@@ -199,6 +258,7 @@ public class ApplicationResourceManager {
      * @throws IOException if the operation can't be completed
      */
     public void readFile( File file ) throws IOException{
+        FileReplacer.recover( file );
         DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( file )));
         try{
             readStream( in );
@@ -254,6 +314,85 @@ public class ApplicationResourceManager {
         if( array != null )
             readArray( array );
     }
+    
+    /**
+     * The content of all {@link ApplicationResource}s at a specific point in time.
+     * @author Benjamin Sigg
+     */
+    private static class Snapshot{
+        /** the names of the resources */
+        private List<String> keys = new ArrayList<String>();
+        
+        /** the content of the resources */
+        private List<byte[]> contents = new ArrayList<byte[]>();
+        
+        /**
+         * Adds the content of one resource to this snapshot.
+         * @param key the name of the resource
+         * @param content the bytes written by the resource
+         */
+        public void add( String key, byte[] content ){
+            keys.add( key );
+            contents.add( content );
+        }
+        
+        /**
+         * Writes this snapshot into <code>out</code>.
+         * @param out the stream to write into
+         * @throws IOException if the operation can't be completed
+         */
+        public void write( DataOutputStream out ) throws IOException{
+            // version
+            Version.write( out, Version.VERSION_1_0_4 );
+            
+            // number of elements
+            out.writeInt( keys.size() );
+            
+            // elements
+            for( int i = 0, n = keys.size(); i < n; i++ ){
+                out.writeUTF( keys.get( i ) );
+                
+                byte[] content = contents.get( i );
+                out.writeInt( content.length );
+                out.write( content );
+            }
+        }
+        
+        /**
+         * Writes this snapshot into a temporary file and flushes the file to the disk. Then
+         * the temporary file replaces <code>file</code>, see {@link FileReplacer#replace(File, File)}.
+         * If <code>file</code> cannot be replaced, then the temporary file is kept.
+         * @param file the file to replace
+         * @throws IOException if the operation can't be completed
+         */
+        public void writeFile( File file ) throws IOException{
+            File directory = file.getAbsoluteFile().getParentFile();
+            File temp = File.createTempFile( "." + file.getName() + ".", ".tmp", directory );
+            boolean keep = false;
+            
+            try{
+                FileOutputStream stream = new FileOutputStream( temp );
+                try{
+                    DataOutputStream out = new DataOutputStream( new BufferedOutputStream( stream ));
+                    write( out );
+                    out.flush();
+                    stream.getFD().sync();
+                }
+                finally{
+                    stream.close();
+                }
+                
+                keep = true;
+                FileReplacer.replace( temp, file );
+                keep = false;
+            }
+            finally{
+                if( !keep ){
+                    temp.delete();
+                }
+            }
+        }
+    }
 }
 
 
@@ -0,0 +1,68 @@
+package bibliothek.gui.dock;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.event.DockStationAdapter;
+
+public class StackDockStationTest {
+	@Test
+	public void batchSelectsLastAddedChild(){
+		StackDockStation station = new StackDockStation();
+		Dockable a = new DefaultDockable( "a" );
+		Dockable b = new DefaultDockable( "b" );
+		Dockable c = new DefaultDockable( "c" );
+		Dockable d = new DefaultDockable( "d" );
+		station.drop( a );
+		station.drop( b );
+		station.setFrontDockable( a );
+		
+		SelectionCounter counter = new SelectionCounter();
+		station.addDockStationListener( counter );
+		
+		station.beginBatch();
+		station.drop( c );
+		station.drop( d );
+		Assert.assertSame( a, station.getFrontDockable() );
+		Assert.assertEquals( 0, counter.count );
+		station.endBatch();
+		
+		Assert.assertEquals( 4, station.getDockableCount() );
+		Assert.assertSame( d, station.getFrontDockable() );
+		Assert.assertEquals( 1, counter.count );
+		Assert.assertSame( d, counter.selection );
+	}
+	
+	@Test
+	public void batchKeepsExplicitSelection(){
+		StackDockStation station = new StackDockStation();
+		Dockable a = new DefaultDockable( "a" );
+		Dockable b = new DefaultDockable( "b" );
+		Dockable c = new DefaultDockable( "c" );
+		station.drop( a );
+		station.drop( b );
+		station.setFrontDockable( a );
+		
+		station.beginBatch();
+		station.drop( c );
+		station.setFrontDockable( b );
+		Assert.assertSame( b, station.getFrontDockable() );
+		station.endBatch();
+		
+		Assert.assertSame( b, station.getFrontDockable() );
+	}
+	
+	private static class SelectionCounter extends DockStationAdapter{
+		private int count = 0;
+		private Dockable selection;
+		
+		@Override
+		public void dockableSelected( DockStation station, Dockable oldSelection, Dockable newSelection ){
+			count++;
+			selection = newSelection;
+		}
+	}
+}
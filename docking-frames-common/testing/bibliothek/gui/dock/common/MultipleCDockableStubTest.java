@@ -0,0 +1,292 @@
+package bibliothek.gui.dock.common;
+
+import java.awt.EventQueue;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashSet;
+import java.util.Set;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.StackDockStation;
+import bibliothek.gui.dock.common.intern.CDockable;
+import bibliothek.gui.dock.common.intern.CommonDockable;
+import bibliothek.gui.dock.control.focus.DefaultFocusRequest;
+import bibliothek.util.xml.XElement;
+
+public class MultipleCDockableStubTest {
+	@Test
+	public void applyingLayoutCreatesStubs() throws Throwable{
+		runOnEventQueue( new Runnable(){
+			public void run(){
+				checkStubs();
+			}
+		});
+	}
+	
+	private void checkStubs(){
+		XElement layout = createLayout( 5 );
+		
+		Factory factory = new Factory();
+		CControl control = createControl( factory );
+		try{
+			control.readXML( layout );
+			
+			Assert.assertEquals( 0, factory.reads );
+			Assert.assertEquals( 5, control.getRegister().getMultipleDockables().size() );
+			
+			Set<String> names = new HashSet<String>();
+			for( MultipleCDockable dockable : control.getRegister().getMultipleDockables() ){
+				Assert.assertTrue( dockable instanceof MultipleCDockableStub );
+				MultipleCDockableStub stub = (MultipleCDockableStub)dockable;
+				String name = ((Layout)stub.getLayout()).name;
+				Assert.assertEquals( name, stub.getTitleText() );
+				names.add( name );
+			}
+			Assert.assertEquals( 5, names.size() );
+			
+			// writing uses the stored layouts and does not create the real dockables
+			XElement written = new XElement( "root" );
+			control.writeXML( written );
+			Assert.assertEquals( 0, factory.reads );
+			Assert.assertEquals( 0, factory.writes );
+			
+			Factory copyFactory = new Factory();
+			CControl copy = createControl( copyFactory );
+			try{
+				copy.readXML( written );
+				
+				Set<String> copyNames = new HashSet<String>();
+				for( MultipleCDockable dockable : copy.getRegister().getMultipleDockables() ){
+					copyNames.add( ((Layout)((MultipleCDockableStub)dockable).getLayout()).name );
+				}
+				Assert.assertEquals( names, copyNames );
+				Assert.assertEquals( 0, copyFactory.reads );
+			}
+			finally{
+				copy.destroy();
+			}
+		}
+		finally{
+			control.destroy();
+		}
+	}
+	
+	@Test
+	public void materializeCreatesRealDockable() throws Throwable{
+		runOnEventQueue( new Runnable(){
+			public void run(){
+				checkMaterialize();
+			}
+		});
+	}
+	
+	private void checkMaterialize(){
+		Factory factory = new Factory();
+		CControl control = createControl( factory );
+		try{
+			control.readXML( createLayout( 3 ) );
+			
+			MultipleCDockableStub stub = (MultipleCDockableStub)control.getRegister().getMultipleDockables().get( 0 );
+			String name = ((Layout)stub.getLayout()).name;
+			
+			MultipleCDockable real = stub.materialize();
+			Assert.assertEquals( 1, factory.reads );
+			Assert.assertTrue( real instanceof Document );
+			Assert.assertEquals( name, ((Document)real).layout.name );
+			Assert.assertNull( stub.getControl() );
+			Assert.assertSame( control, real.getControl() );
+			Assert.assertTrue( real.isVisible() );
+			Assert.assertEquals( 3, control.getRegister().getMultipleDockables().size() );
+		}
+		finally{
+			control.destroy();
+		}
+	}
+	
+	@Test
+	public void focusingStubReplacesItInPlace() throws Throwable{
+		final Factory factory = new Factory();
+		final CControl control = createControl( factory );
+		try{
+			runOnEventQueue( new Runnable(){
+				public void run(){
+					control.readXML( createLayout( 4 ) );
+				}
+			});
+			// applying the layout may focus, and hence replace, one of the stubs
+			runOnEventQueue( new Runnable(){
+				public void run(){
+					// nothing
+				}
+			});
+			
+			final MultipleCDockableStub[] stub = new MultipleCDockableStub[1];
+			final StackDockStation[] station = new StackDockStation[1];
+			final int[] index = new int[1];
+			final String[] id = new String[1];
+			final int[] reads = new int[1];
+			
+			runOnEventQueue( new Runnable(){
+				public void run(){
+					for( MultipleCDockable dockable : control.getRegister().getMultipleDockables() ){
+						if( dockable instanceof MultipleCDockableStub && dockable.intern().getDockParent() instanceof StackDockStation ){
+							StackDockStation parent = (StackDockStation)dockable.intern().getDockParent();
+							if( parent.getFrontDockable() != dockable.intern() ){
+								stub[0] = (MultipleCDockableStub)dockable;
+								station[0] = parent;
+							}
+						}
+					}
+					Assert.assertNotNull( stub[0] );
+					
+					index[0] = station[0].indexOf( stub[0].intern() );
+					id[0] = control.getUniqueId( stub[0] );
+					reads[0] = factory.reads;
+					Assert.assertNotNull( id[0] );
+					
+					control.getController().setFocusedDockable( new DefaultFocusRequest( stub[0].intern(), null, true ) );
+				}
+			});
+			
+			runOnEventQueue( new Runnable(){
+				public void run(){
+					Assert.assertEquals( reads[0] + 1, factory.reads );
+					Assert.assertNull( stub[0].getControl() );
+					
+					Dockable replacement = station[0].getDockable( index[0] );
+					Assert.assertTrue( replacement instanceof CommonDockable );
+					CDockable real = ((CommonDockable)replacement).getDockable();
+					Assert.assertTrue( real instanceof Document );
+					Assert.assertEquals( ((Layout)stub[0].getLayout()).name, ((Document)real).layout.name );
+					
+					Assert.assertEquals( 4, station[0].getDockableCount() );
+					Assert.assertSame( replacement, station[0].getFrontDockable() );
+					Assert.assertEquals( id[0], control.getUniqueId( (MultipleCDockable)real ) );
+					Assert.assertEquals( 4, control.getRegister().getMultipleDockables().size() );
+				}
+			});
+		}
+		finally{
+			control.destroy();
+		}
+	}
+	
+	/**
+	 * Runs <code>run</code> on the EventQueue, the stubs replace themselves on the EventQueue as well.
+	 */
+	private void runOnEventQueue( Runnable run ) throws Throwable{
+		try{
+			EventQueue.invokeAndWait( run );
+		}
+		catch( InvocationTargetException e ){
+			throw e.getCause();
+		}
+	}
+	
+	/**
+	 * Creates a {@link CControl} with one {@link CGridArea} "grid", the content area is not used
+	 * because it does not work in a headless environment.
+	 */
+	private CControl createControl( Factory factory ){
+		CControl control = new CControl();
+		control.createGridArea( "grid" );
+		control.addMultipleDockableFactory( "factory", factory );
+		return control;
+	}
+	
+	/**
+	 * Creates a layout with <code>count</code> dockables in one stack, using a factory that
+	 * creates the dockables eagerly.
+	 */
+	private XElement createLayout( int count ){
+		Factory factory = new Factory();
+		CControl control = createControl( factory );
+		try{
+			
+			Document[] dockables = new Document[ count ];
+			for( int i = 0; i < count; i++ ){
+				dockables[i] = factory.read( new Layout( "dockable " + i ) );
+			}
+			CGrid grid = new CGrid( control );
+			grid.add( 0, 0, 1, 1, dockables );
+			((CGridArea)control.getStation( "grid" )).deploy( grid );
+			
+			XElement layout = new XElement( "root" );
+			control.writeXML( layout );
+			return layout;
+		}
+		finally{
+			control.destroy();
+		}
+	}
+	
+	private static class Layout implements MultipleCDockableLayout{
+		private String name;
+		
+		public Layout(){
+			// nothing
+		}
+		
+		public Layout( String name ){
+			this.name = name;
+		}
+		
+		public void readStream( DataInputStream in ) throws IOException{
+			name = in.readUTF();
+		}
+		
+		public void writeStream( DataOutputStream out ) throws IOException{
+			out.writeUTF( name );
+		}
+		
+		public void readXML( XElement element ){
+			name = element.getString();
+		}
+		
+		public void writeXML( XElement element ){
+			element.setString( name );
+		}
+	}
+	
+	private static class Document extends DefaultMultipleCDockable{
+		private Layout layout;
+		
+		public Document( Factory factory, Layout layout ){
+			super( factory, layout.name );
+			this.layout = layout;
+		}
+	}
+	
+	private static class Factory implements LazyMultipleCDockableFactory<Document, Layout>{
+		private int reads = 0;
+		private int writes = 0;
+		
+		public Layout create(){
+			return new Layout();
+		}
+		
+		public Document read( Layout layout ){
+			reads++;
+			return new Document( this, layout );
+		}
+		
+		public Layout write( Document dockable ){
+			writes++;
+			return dockable.layout;
+		}
+		
+		public boolean match( Document dockable, Layout layout ){
+			return false;
+		}
+		
+		public void initialize( MultipleCDockableStub stub, Layout layout ){
+			stub.setTitleText( layout.name );
+		}
+	}
+}
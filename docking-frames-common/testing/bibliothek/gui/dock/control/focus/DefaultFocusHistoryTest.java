@@ -0,0 +1,80 @@
+package bibliothek.gui.dock.control.focus;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.StackDockStation;
+
+public class DefaultFocusHistoryTest {
+	@Test
+	public void newestOnFollowsFocusAndMoves(){
+		DockController controller = createController();
+		try{
+			SplitDockStation root = new SplitDockStation();
+			controller.add( root );
+			
+			// a SplitDockStation replaces stacks with less than two children by their child
+			StackDockStation first = new StackDockStation();
+			StackDockStation second = new StackDockStation();
+			StackDockStation third = new StackDockStation();
+			
+			Dockable a = new DefaultDockable( "a" );
+			Dockable b = new DefaultDockable( "b" );
+			Dockable c = new DefaultDockable( "c" );
+			first.drop( a );
+			first.drop( b );
+			first.drop( new DefaultDockable( "a2" ) );
+			second.drop( c );
+			second.drop( new DefaultDockable( "c2" ) );
+			third.drop( new DefaultDockable( "d" ) );
+			third.drop( new DefaultDockable( "e" ) );
+			
+			root.drop( first );
+			root.drop( second );
+			root.drop( third );
+			
+			focus( controller, a );
+			focus( controller, c );
+			focus( controller, b );
+			
+			FocusHistory history = controller.getFocusHistory();
+			Assert.assertSame( b, history.getNewestOn( first ) );
+			Assert.assertSame( c, history.getNewestOn( second ) );
+			Assert.assertSame( b, history.getNewestOn( root ) );
+			Assert.assertSame( c, history.getNewestOn( second, third ) );
+			
+			// moving the newest child away must not leave a stale index behind
+			first.drag( b );
+			second.drop( b );
+			Assert.assertSame( a, history.getNewestOn( first ) );
+			Assert.assertSame( b, history.getNewestOn( second ) );
+			
+			second.drag( b );
+			Assert.assertSame( c, history.getNewestOn( second ) );
+			
+			focus( controller, a );
+			Assert.assertSame( a, history.getNewestOn( root ) );
+		}
+		finally{
+			controller.kill();
+		}
+	}
+	
+	private void focus( DockController controller, Dockable dockable ){
+		controller.setFocusedDockable( new DefaultFocusRequest( dockable, null, true, false, false ) );
+	}
+	
+	private DockController createController(){
+		return new DockController(){
+			@Override
+			protected void showCoreWarning(){
+				// do not show the warning
+			}
+		};
+	}
+}
@@ -0,0 +1,59 @@
+package bibliothek.gui.dock.support.mode;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.common.CControl;
+import bibliothek.gui.dock.common.CGridArea;
+import bibliothek.gui.dock.common.DefaultSingleCDockable;
+import bibliothek.gui.dock.common.mode.CLocationModeManager;
+import bibliothek.gui.dock.common.mode.ExtendedMode;
+
+public class ModeManagerTest {
+	@Test
+	public void refreshAfterMoveBetweenNormalStations(){
+		CControl control = new CControl();
+		try{
+			CGridArea first = control.createGridArea( "first" );
+			CGridArea second = control.createGridArea( "second" );
+			
+			DefaultSingleCDockable dockable = new DefaultSingleCDockable( "dockable", "Dockable" );
+			control.addDockable( dockable );
+			dockable.setLocation( first.getStationLocation() );
+			dockable.setVisible( true );
+			
+			final Dockable element = dockable.intern();
+			final DockStation target = second.getStation();
+			Assert.assertSame( first.getStation(), element.getDockParent() );
+			
+			CLocationModeManager manager = control.getLocationManager();
+			manager.runTransaction( new AffectingRunnable(){
+				public void run( AffectedSet set ){
+					element.getDockParent().drag( element );
+					target.drop( element );
+					set.add( element );
+				}
+			});
+			
+			Assert.assertSame( target, element.getDockParent() );
+			Assert.assertEquals( ExtendedMode.NORMALIZED, dockable.getExtendedMode() );
+			Assert.assertEquals( 1, manager.getLastRefreshCount() );
+			Assert.assertEquals( 0, manager.getLastSkippedRefreshCount() );
+			
+			manager.runTransaction( new AffectingRunnable(){
+				public void run( AffectedSet set ){
+					set.add( element );
+				}
+			});
+			
+			Assert.assertEquals( 0, manager.getLastRefreshCount() );
+			Assert.assertEquals( 1, manager.getLastSkippedRefreshCount() );
+		}
+		finally{
+			control.destroy();
+		}
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2013 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.test.benchmark;
+
+import java.awt.EventQueue;
+import java.lang.reflect.InvocationTargetException;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.FlapDockStation;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.StackDockStation;
+import bibliothek.gui.dock.event.DockStationAdapter;
+import bibliothek.gui.dock.station.AbstractDockableStation;
+
+/**
+ * Measures how long it takes to add many children to a {@link StackDockStation}, a {@link FlapDockStation}
+ * and a {@link SplitDockStation}, once by calling {@link DockStation#drop(Dockable)} for each child, and 
+ * once by calling {@link DockStation#drop(Dockable)} inside a batch (see {@link AbstractDockableStation#beginBatch()}
+ * and {@link SplitDockStation#beginBatch()}). The stations are never shown.
+ * @author Benjamin Sigg
+ */
+public class BatchInsertBenchmark {
+	/** the number of children added to each station */
+	private static final int CHILDREN = 1000;
+
+	public static void main( String[] args ) throws InterruptedException, InvocationTargetException{
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				// warm up
+				measure( new StackTarget(), false );
+				measure( new StackTarget(), true );
+				
+				System.out.println( "children: " + CHILDREN );
+				Target[] targets = { new StackTarget(), new FlapTarget(), new SplitTarget() };
+				for( Target target : targets ){
+					measure( target, false );
+				}
+				targets = new Target[]{ new StackTarget(), new FlapTarget(), new SplitTarget() };
+				for( Target target : targets ){
+					measure( target, true );
+				}
+			}
+		});
+	}
+
+	private static void measure( Target target, boolean batch ){
+		DockController controller = new BenchmarkDockController();
+		DockStation station = target.create();
+		controller.add( station );
+		
+		EventCounter counter = new EventCounter();
+		station.addDockStationListener( counter );
+		
+		long start = System.nanoTime();
+		if( batch ){
+			target.begin();
+		}
+		try{
+			for( int i = 0; i < CHILDREN; i++ ){
+				station.drop( new DefaultDockable( "Dockable " + i ) );
+			}
+		}
+		finally{
+			if( batch ){
+				target.end();
+			}
+		}
+		long duration = System.nanoTime() - start;
+		
+		System.out.println( station.getClass().getSimpleName() + (batch ? ", batch: " : ", single: ") + 
+				(duration / 1000000) + " ms, children: " + station.getDockableCount() + 
+				", added events: " + counter.added + ", repositioned events: " + counter.repositioned + 
+				", selection events: " + counter.selected );
+		
+		controller.kill();
+	}
+	
+	/**
+	 * Counts the events a station fires.
+	 */
+	private static class EventCounter extends DockStationAdapter{
+		private int added = 0;
+		private int repositioned = 0;
+		private int selected = 0;
+		
+		@Override
+		public void dockableAdded( DockStation station, Dockable dockable ){
+			added++;
+		}
+		
+		@Override
+		public void dockablesRepositioned( DockStation station, Dockable[] dockables ){
+			repositioned++;
+		}
+		
+		@Override
+		public void dockableSelected( DockStation station, Dockable oldSelection, Dockable newSelection ){
+			selected++;
+		}
+	}
+	
+	/**
+	 * A kind of station that is measured.
+	 */
+	private static abstract class Target{
+		public abstract DockStation create();
+		public abstract void begin();
+		public abstract void end();
+	}
+	
+	private static class AbstractTarget extends Target{
+		protected AbstractDockableStation station;
+		
+		public DockStation create(){
+			return station;
+		}
+		
+		public void begin(){
+			station.beginBatch();
+		}
+		
+		public void end(){
+			station.endBatch();
+		}
+	}
+	
+	private static class StackTarget extends AbstractTarget{
+		public StackTarget(){
+			station = new StackDockStation();
+		}
+	}
+	
+	private static class FlapTarget extends AbstractTarget{
+		public FlapTarget(){
+			station = new FlapDockStation();
+		}
+	}
+	
+	private static class SplitTarget extends Target{
+		private SplitDockStation station = new SplitDockStation();
+		
+		public DockStation create(){
+			return station;
+		}
+		
+		public void begin(){
+			station.beginBatch();
+		}
+		
+		public void end(){
+			station.endBatch();
+		}
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2013 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.test.benchmark;
+
+import java.awt.EventQueue;
+import java.lang.reflect.InvocationTargetException;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.common.CControl;
+import bibliothek.gui.dock.util.extension.ExtensionManager;
+
+/**
+ * Measures how long it takes to create a {@link CControl}, and how much of that time is spent
+ * by the {@link ExtensionManager} searching and loading extensions.
+ * @author Benjamin Sigg
+ */
+public class ControllerStartupBenchmark {
+	/** how many controls are created */
+	private static final int CONTROLS = 50;
+
+	public static void main( String[] args ) throws InterruptedException, InvocationTargetException{
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				// warm up
+				for( int i = 0; i < 10; i++ ){
+					new CControl().destroy();
+				}
+
+				long total = 0;
+				long discovery = 0;
+				long load = 0;
+				int loadCount = 0;
+				int cacheHits = 0;
+
+				for( int i = 0; i < CONTROLS; i++ ){
+					long start = System.nanoTime();
+					CControl control = new CControl();
+					total += System.nanoTime() - start;
+
+					ExtensionManager extensions = control.getController().getExtensions();
+					discovery += extensions.getDiscoveryTime();
+					load += extensions.getLoadTime();
+					loadCount += extensions.getLoadCount();
+					cacheHits += extensions.getCacheHits();
+
+					control.destroy();
+				}
+
+				System.out.println( "controls: " + CONTROLS );
+				System.out.println( "creation: " + (total / CONTROLS / 1000) + " us per control" );
+				System.out.println( "extension discovery: " + (discovery / CONTROLS / 1000) + " us per control" );
+				System.out.println( "extension loading: " + (load / CONTROLS / 1000) + " us per control" );
+				System.out.println( "load calls: " + (loadCount / CONTROLS) + " per control, " + (cacheHits / CONTROLS) + " of them cached" );
+			}
+		});
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2013 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.test.benchmark;
+
+import java.awt.EventQueue;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.StackDockStation;
+import bibliothek.gui.dock.control.focus.DefaultFocusRequest;
+import bibliothek.gui.dock.control.focus.FocusHistory;
+
+/**
+ * Measures how fast the {@link FocusHistory} of a {@link DockController} answers
+ * {@link FocusHistory#getNewestOn(bibliothek.gui.DockStation...)}, which is called for example
+ * whenever a tab of a {@link StackDockStation} is closed. Many {@link Dockable}s are distributed on
+ * some stations, and each of them gains the focus once before the measurement starts. One additional
+ * station contains only {@link Dockable}s that never had the focus.
+ * @author Benjamin Sigg
+ */
+public class FocusHistoryBenchmark {
+	/** the number of {@link Dockable}s in the history */
+	private static final int DOCKABLES = 5000;
+	/** the number of {@link StackDockStation}s */
+	private static final int STACKS = 50;
+	/** how often the focus is transferred and the history is queried */
+	private static final int ROUNDS = 20000;
+	
+	public static void main( String[] args ) throws InterruptedException, InvocationTargetException{
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				// warm up
+				measure();
+				measure();
+			}
+		});
+	}
+	
+	private static void measure(){
+		DockController controller = new BenchmarkDockController();
+		SplitDockStation root = new SplitDockStation();
+		controller.add( root );
+		
+		List<StackDockStation> stacks = new ArrayList<StackDockStation>();
+		for( int i = 0; i < STACKS; i++ ){
+			StackDockStation stack = new StackDockStation();
+			root.drop( stack );
+			stacks.add( stack );
+		}
+		
+		Random random = new Random( 42 );
+		List<Dockable> dockables = new ArrayList<Dockable>();
+		for( int i = 0; i < DOCKABLES; i++ ){
+			Dockable dockable = new DefaultDockable( "Dockable " + i );
+			stacks.get( random.nextInt( STACKS ) ).drop( dockable );
+			dockables.add( dockable );
+			controller.setFocusedDockable( new DefaultFocusRequest( dockable, null, true, false, false ));
+		}
+		
+		StackDockStation unfocused = new StackDockStation();
+		root.drop( unfocused );
+		for( int i = 0; i < 10; i++ ){
+			unfocused.drop( new DefaultDockable( "Unfocused " + i ) );
+		}
+		
+		FocusHistory history = controller.getFocusHistory();
+		
+		long start = System.nanoTime();
+		for( int i = 0; i < ROUNDS; i++ ){
+			Dockable dockable = dockables.get( random.nextInt( DOCKABLES ));
+			controller.setFocusedDockable( new DefaultFocusRequest( dockable, null, true, false, false ));
+		}
+		long focusDuration = System.nanoTime() - start;
+		
+		start = System.nanoTime();
+		int found = 0;
+		for( int i = 0; i < ROUNDS; i++ ){
+			if( history.getNewestOn( stacks.get( random.nextInt( STACKS ) )) != null ){
+				found++;
+			}
+			if( history.getNewestOn( unfocused ) != null ){
+				found++;
+			}
+		}
+		long queryDuration = System.nanoTime() - start;
+		
+		start = System.nanoTime();
+		for( int i = 0; i < STACKS; i++ ){
+			StackDockStation stack = stacks.get( i );
+			stack.remove( stack.getDockableCount()-1 );
+		}
+		long closeDuration = System.nanoTime() - start;
+		
+		System.out.println( "history: " + history.getHistory().length + ", focus changes: " + (focusDuration / 1000000) + " ms, " + 
+				"queries: " + (queryDuration / 1000000) + " ms (" + found + " found), " +
+				"close one tab on each stack: " + (closeDuration / 1000000) + " ms" );
+		
+		controller.kill();
+	}
+}
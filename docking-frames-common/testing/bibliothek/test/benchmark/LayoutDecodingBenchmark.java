@@ -0,0 +1,185 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.test.benchmark;
+
+import java.awt.EventQueue;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.common.CControl;
+import bibliothek.gui.dock.common.CGrid;
+import bibliothek.gui.dock.common.ConcurrentMultipleCDockableFactory;
+import bibliothek.gui.dock.common.DefaultMultipleCDockable;
+import bibliothek.gui.dock.common.MultipleCDockable;
+import bibliothek.gui.dock.common.MultipleCDockableLayout;
+import bibliothek.util.xml.XElement;
+
+/**
+ * Measures how long it takes to read a layout with many {@link MultipleCDockable}s whose layouts are expensive
+ * to decode. The layout is read once with the default {@link CControl#getLayoutDecoder() layout decoder}, and once
+ * without any layout decoder.
+ * @author Benjamin Sigg
+ */
+public class LayoutDecodingBenchmark {
+	/** the number of documents in the layout */
+	private static final int DOCUMENTS = 200;
+	/** how often the metadata of a document is hashed while decoding its layout */
+	private static final int WORK = 100000;
+
+	public static void main( String[] args ) throws InterruptedException, InvocationTargetException{
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				XElement layout = createLayout();
+				
+				// warm up
+				measure( layout, false );
+				measure( layout, true );
+				
+				System.out.println( "documents: " + DOCUMENTS + ", processors: " + Runtime.getRuntime().availableProcessors() );
+				measure( layout, false );
+				measure( layout, true );
+			}
+		});
+	}
+	
+	private static XElement createLayout(){
+		CControl control = new CControl();
+		control.getContentArea();
+		DocumentFactory factory = new DocumentFactory();
+		control.addMultipleDockableFactory( "document", factory );
+		
+		CGrid grid = new CGrid( control );
+		for( int i = 0; i < DOCUMENTS; i++ ){
+			DocumentLayout layout = new DocumentLayout();
+			layout.path = "/home/user/projects/project" + (i % 10) + "/src/document" + i + ".txt";
+			layout.metadata = "document " + i + ", modified " + (i * 7919L);
+			
+			grid.add( 0, 0, 1, 1, factory.read( layout ) );
+		}
+		control.getContentArea().deploy( grid );
+		
+		XElement root = new XElement( "root" );
+		control.writeXML( root );
+		control.destroy();
+		return root;
+	}
+	
+	private static void measure( XElement layout, boolean parallel ){
+		CControl control = new CControl();
+		control.getContentArea();
+		control.addMultipleDockableFactory( "document", new DocumentFactory() );
+		if( !parallel ){
+			control.setLayoutDecoder( null );
+		}
+		
+		long start = System.nanoTime();
+		control.readXML( layout );
+		long duration = System.nanoTime() - start;
+		
+		List<MultipleCDockable> dockables = control.getRegister().getMultipleDockables();
+		long checksum = 0;
+		for( MultipleCDockable dockable : dockables ){
+			checksum += ((Document)dockable).layout.hash;
+		}
+		
+		System.out.println( (parallel ? "layout decoder: " : "no layout decoder: ") + (duration / 1000000) + " ms, " + 
+				dockables.size() + " documents, checksum " + checksum );
+		control.destroy();
+	}
+	
+	/**
+	 * A dockable showing a document.
+	 */
+	private static class Document extends DefaultMultipleCDockable{
+		private DocumentLayout layout;
+		
+		public Document( DocumentFactory factory, DocumentLayout layout ){
+			super( factory, layout.path );
+			this.layout = layout;
+		}
+	}
+	
+	/**
+	 * Describes a {@link Document}, computing the hash of the metadata simulates the work a real
+	 * application would do when decoding its layouts.
+	 */
+	private static class DocumentLayout implements MultipleCDockableLayout{
+		private String path;
+		private String metadata;
+		private long hash;
+		
+		public void readXML( XElement element ){
+			path = element.getElement( "path" ).getString();
+			metadata = element.getElement( "metadata" ).getString();
+			hash = 0;
+			for( int i = 0; i < WORK; i++ ){
+				for( int j = 0, n = metadata.length(); j < n; j++ ){
+					hash = hash * 31 + metadata.charAt( j ) + i;
+				}
+			}
+		}
+		
+		public void writeXML( XElement element ){
+			element.addElement( "path" ).setString( path );
+			element.addElement( "metadata" ).setString( metadata );
+		}
+		
+		public void readStream( DataInputStream in ) throws IOException{
+			path = in.readUTF();
+			metadata = in.readUTF();
+		}
+		
+		public void writeStream( DataOutputStream out ) throws IOException{
+			out.writeUTF( path );
+			out.writeUTF( metadata );
+		}
+	}
+	
+	/**
+	 * A factory for {@link Document}s whose layouts can be decoded on any thread.
+	 */
+	private static class DocumentFactory implements ConcurrentMultipleCDockableFactory<Document, DocumentLayout>{
+		public DocumentLayout create(){
+			return new DocumentLayout();
+		}
+		
+		public Document read( DocumentLayout layout ){
+			return new Document( this, layout );
+		}
+		
+		public DocumentLayout write( Document dockable ){
+			return dockable.layout;
+		}
+		
+		public boolean match( Document dockable, DocumentLayout layout ){
+			return dockable.layout.path.equals( layout.path );
+		}
+	}
+}
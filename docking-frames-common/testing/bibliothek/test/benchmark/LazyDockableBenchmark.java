@@ -0,0 +1,209 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.test.benchmark;
+
+import java.awt.EventQueue;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.common.CControl;
+import bibliothek.gui.dock.common.CGrid;
+import bibliothek.gui.dock.common.DefaultMultipleCDockable;
+import bibliothek.gui.dock.common.LazyMultipleCDockableFactory;
+import bibliothek.gui.dock.common.MultipleCDockable;
+import bibliothek.gui.dock.common.MultipleCDockableFactory;
+import bibliothek.gui.dock.common.MultipleCDockableLayout;
+import bibliothek.gui.dock.common.MultipleCDockableStub;
+import bibliothek.util.xml.XElement;
+
+/**
+ * Measures how long it takes to apply a layout with many {@link MultipleCDockable}s that are 
+ * expensive to create, and how much memory they use. The layout is applied once with a factory that creates all
+ * the dockables immediately, and once with a {@link LazyMultipleCDockableFactory} which creates 
+ * {@link MultipleCDockableStub}s.
+ * @author Benjamin Sigg
+ */
+public class LazyDockableBenchmark {
+	/** the number of documents in the layout */
+	private static final int DOCUMENTS = 500;
+	/** the number of stacks onto which the documents are distributed */
+	private static final int STACKS = 5;
+	/** the number of lines of each document */
+	private static final int LINES = 500;
+
+	public static void main( String[] args ) throws InterruptedException, InvocationTargetException{
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				XElement layout = createLayout();
+				
+				// warm up
+				measure( layout, false ).destroy();
+				measure( layout, true ).destroy();
+				
+				System.out.println( "documents: " + DOCUMENTS + ", stacks: " + STACKS );
+				CControl eager = measure( layout, false );
+				eager.destroy();
+				CControl lazy = measure( layout, true );
+				lazy.destroy();
+			}
+		});
+	}
+	
+	private static XElement createLayout(){
+		CControl control = new CControl();
+		control.getContentArea();
+		DocumentFactory factory = new DocumentFactory();
+		control.addMultipleDockableFactory( "document", factory );
+		
+		CGrid grid = new CGrid( control );
+		for( int i = 0; i < DOCUMENTS; i++ ){
+			DocumentLayout layout = new DocumentLayout();
+			layout.name = "document" + i + ".txt";
+			grid.add( i % STACKS, 0, 1, 1, factory.read( layout ) );
+		}
+		control.getContentArea().deploy( grid );
+		
+		XElement root = new XElement( "root" );
+		control.writeXML( root );
+		control.destroy();
+		return root;
+	}
+	
+	private static CControl measure( XElement layout, boolean lazy ){
+		DocumentFactory factory = lazy ? new LazyDocumentFactory() : new DocumentFactory();
+		long memory = usedMemory();
+		
+		CControl control = new CControl();
+		control.getContentArea();
+		control.addMultipleDockableFactory( "document", factory );
+		
+		long start = System.nanoTime();
+		control.readXML( layout );
+		long duration = System.nanoTime() - start;
+		
+		memory = usedMemory() - memory;
+		
+		int stubs = 0;
+		for( MultipleCDockable dockable : control.getRegister().getMultipleDockables() ){
+			if( dockable instanceof MultipleCDockableStub ){
+				stubs++;
+			}
+		}
+		
+		System.out.println( (lazy ? "lazy: " : "eager: ") + (duration / 1000000) + " ms, " + (memory / 1024) + " KB, " + 
+				control.getRegister().getMultipleDockables().size() + " dockables, " + factory.created + " created, " + stubs + " stubs" );
+		return control;
+	}
+	
+	private static long usedMemory(){
+		Runtime runtime = Runtime.getRuntime();
+		for( int i = 0; i < 3; i++ ){
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+	
+	/**
+	 * Describes a {@link Document}.
+	 */
+	private static class DocumentLayout implements MultipleCDockableLayout{
+		private String name;
+		
+		public void readXML( XElement element ){
+			name = element.getString();
+		}
+		
+		public void writeXML( XElement element ){
+			element.setString( name );
+		}
+		
+		public void readStream( DataInputStream in ) throws IOException{
+			name = in.readUTF();
+		}
+		
+		public void writeStream( DataOutputStream out ) throws IOException{
+			out.writeUTF( name );
+		}
+	}
+	
+	/**
+	 * A dockable showing the content of a document, creating this dockable is expensive.
+	 */
+	private static class Document extends DefaultMultipleCDockable{
+		private DocumentLayout layout;
+		
+		public Document( DocumentFactory factory, DocumentLayout layout ){
+			super( factory, layout.name );
+			this.layout = layout;
+			
+			StringBuilder text = new StringBuilder();
+			for( int i = 0; i < LINES; i++ ){
+				text.append( "line " ).append( i ).append( " of " ).append( layout.name ).append( '\n' );
+			}
+			add( new JScrollPane( new JTextArea( text.toString() ) ) );
+		}
+	}
+	
+	/**
+	 * Creates {@link Document}s immediately.
+	 */
+	private static class DocumentFactory implements MultipleCDockableFactory<Document, DocumentLayout>{
+		/** how many documents were created by this factory */
+		protected int created = 0;
+		
+		public DocumentLayout create(){
+			return new DocumentLayout();
+		}
+		
+		public Document read( DocumentLayout layout ){
+			created++;
+			return new Document( this, layout );
+		}
+		
+		public DocumentLayout write( Document dockable ){
+			return dockable.layout;
+		}
+		
+		public boolean match( Document dockable, DocumentLayout layout ){
+			return dockable.layout.name.equals( layout.name );
+		}
+	}
+	
+	/**
+	 * Creates {@link MultipleCDockableStub}s, the {@link Document}s are only created once they are shown.
+	 */
+	private static class LazyDocumentFactory extends DocumentFactory implements LazyMultipleCDockableFactory<Document, DocumentLayout>{
+		public void initialize( MultipleCDockableStub stub, DocumentLayout layout ){
+			stub.setTitleText( layout.name );
+		}
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2013 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.test.benchmark;
+
+import java.awt.EventQueue;
+import java.lang.reflect.InvocationTargetException;
+
+import bibliothek.extension.gui.dock.theme.FlatTheme;
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.StackDockStation;
+import bibliothek.gui.dock.station.DockableDisplayer;
+
+/**
+ * Measures how much memory a hidden tab of a {@link StackDockStation} requires, once with
+ * a {@link DockableDisplayer} for each child, once with the displayers of unselected children
+ * released (see {@link StackDockStation#setHiddenDisplayerLimit(int)}).
+ * @author Benjamin Sigg
+ */
+public class StackMemoryBenchmark {
+	/** the number of children on the station */
+	private static final int TABS = 500;
+
+	/** the station that is measured, kept alive until the measurement is finished */
+	private static StackDockStation station;
+
+	/** the controller of {@link #station} */
+	private static DockController controller;
+
+	public static void main( String[] args ) throws InterruptedException, InvocationTargetException{
+		// warm up
+		measure( -1 );
+		measure( 0 );
+
+		long eager = measure( -1 );
+		long lazy = measure( 0 );
+
+		System.out.println( "tabs: " + TABS );
+		System.out.println( "all displayers: " + (eager / TABS) + " bytes per tab" );
+		System.out.println( "released displayers: " + (lazy / TABS) + " bytes per tab" );
+		System.out.println( "saved: " + ((eager - lazy) / TABS) + " bytes per hidden tab" );
+	}
+
+	/**
+	 * Creates a station with {@link #TABS} children and measures how much memory it requires.
+	 * @param limit the {@link StackDockStation#setHiddenDisplayerLimit(int) limit} of displayers
+	 * @return the number of bytes the station uses
+	 */
+	private static long measure( final int limit ) throws InterruptedException, InvocationTargetException{
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				controller = new BenchmarkDockController();
+				controller.setTheme( new FlatTheme() );
+			}
+		});
+
+		long before = usedMemory();
+
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				station = new StackDockStation();
+				station.setHiddenDisplayerLimit( limit );
+				controller.add( station );
+				for( int i = 0; i < TABS; i++ ){
+					station.drop( new DefaultDockable( "Dockable " + i ) );
+				}
+			}
+		});
+
+		long after = usedMemory();
+
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				controller.kill();
+				controller = null;
+				station = null;
+			}
+		});
+
+		return after - before;
+	}
+
+	private static long usedMemory() throws InterruptedException{
+		Runtime runtime = Runtime.getRuntime();
+		for( int i = 0; i < 5; i++ ){
+			System.gc();
+			Thread.sleep( 50 );
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
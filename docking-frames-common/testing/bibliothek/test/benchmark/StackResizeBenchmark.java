@@ -0,0 +1,104 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2013 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.test.benchmark;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.EventQueue;
+import java.lang.reflect.InvocationTargetException;
+
+import bibliothek.extension.gui.dock.theme.FlatTheme;
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.StackDockStation;
+import bibliothek.gui.dock.station.stack.tab.MenuLineLayout;
+
+/**
+ * Measures how long it takes to resize a {@link StackDockStation} with
+ * many children. The station is never shown, only its layout is calculated. The
+ * {@link FlatTheme} is used because its tabs are laid out by a {@link MenuLineLayout}.
+ * @author Benjamin Sigg
+ */
+public class StackResizeBenchmark {
+	/** the number of children on the station */
+	private static final int TABS = 500;
+
+	/** how many pixels the station is resized */
+	private static final int STEPS = 400;
+
+	public static void main( String[] args ) throws InterruptedException, InvocationTargetException{
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				DockController controller = new BenchmarkDockController();
+				controller.setTheme( new FlatTheme() );
+				StackDockStation station = new StackDockStation();
+				controller.add( station );
+
+				for( int i = 0; i < TABS; i++ ){
+					station.drop( new DefaultDockable( "Dockable " + i ) );
+				}
+
+				Component component = station.getComponent();
+
+				// warm up
+				resize( component, 50 );
+
+				long start = System.nanoTime();
+				resize( component, STEPS );
+				long duration = System.nanoTime() - start;
+
+				System.out.println( "tabs: " + TABS );
+				System.out.println( "resize steps: " + STEPS );
+				System.out.println( "total: " + (duration / 1000000) + " ms" );
+				System.out.println( "per step: " + (duration / STEPS / 1000) + " us" );
+
+				controller.kill();
+			}
+		});
+	}
+
+	private static void resize( Component component, int steps ){
+		for( int i = 0; i < steps; i++ ){
+			component.setSize( 400 + i * 5, 300 );
+			layout( component );
+		}
+	}
+
+	/**
+	 * Lays out <code>component</code> and all its children. The component is not displayable,
+	 * hence {@link Component#validate()} would not do anything.
+	 * @param component the component to lay out
+	 */
+	private static void layout( Component component ){
+		if( component instanceof Container ){
+			Container container = (Container)component;
+			container.doLayout();
+			for( int i = 0, n = container.getComponentCount(); i < n; i++ ){
+				layout( container.getComponent( i ) );
+			}
+		}
+	}
+}
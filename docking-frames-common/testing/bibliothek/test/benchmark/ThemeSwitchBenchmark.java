@@ -0,0 +1,105 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.test.benchmark;
+
+import java.awt.EventQueue;
+import java.lang.reflect.InvocationTargetException;
+
+import bibliothek.extension.gui.dock.theme.BubbleTheme;
+import bibliothek.extension.gui.dock.theme.EclipseTheme;
+import bibliothek.extension.gui.dock.theme.FlatTheme;
+import bibliothek.extension.gui.dock.theme.SmoothTheme;
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockTheme;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.StackDockStation;
+import bibliothek.gui.dock.station.split.SplitDockGrid;
+import bibliothek.gui.dock.themes.BasicTheme;
+import bibliothek.gui.dock.themes.ThemeManager;
+
+/**
+ * Measures how long it takes to switch the {@link DockTheme} of a {@link DockController} with
+ * many {@link StackDockStation}s and children. The stations are never shown.
+ * @see ThemeManager#setTheme(DockTheme)
+ * @author Benjamin Sigg
+ */
+public class ThemeSwitchBenchmark {
+	/** the number of stacks on the split station */
+	private static final int STACKS = 20;
+	
+	/** the number of children on each stack */
+	private static final int TABS = 25;
+	
+	/** how many times the theme is changed */
+	private static final int SWITCHES = 20;
+
+	public static void main( String[] args ) throws InterruptedException, InvocationTargetException{
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				DockController controller = new BenchmarkDockController();
+				SplitDockStation station = new SplitDockStation();
+				controller.add( station );
+
+				SplitDockGrid grid = new SplitDockGrid();
+				for( int i = 0; i < STACKS; i++ ){
+					for( int j = 0; j < TABS; j++ ){
+						grid.addDockable( i % 5, i / 5, 1, 1, new DefaultDockable( "Dockable " + i + "/" + j ) );
+					}
+				}
+				station.dropTree( grid.toTree() );
+
+				DockTheme[] themes = {
+						new BasicTheme(),
+						new SmoothTheme(),
+						new FlatTheme(),
+						new BubbleTheme(),
+						new EclipseTheme()
+				};
+
+				// warm up
+				switchThemes( controller, themes, themes.length );
+
+				long start = System.nanoTime();
+				switchThemes( controller, themes, SWITCHES );
+				long duration = System.nanoTime() - start;
+
+				System.out.println( "dockables: " + (STACKS * TABS) );
+				System.out.println( "theme switches: " + SWITCHES );
+				System.out.println( "total: " + (duration / 1000000) + " ms" );
+				System.out.println( "per switch: " + (duration / SWITCHES / 1000) + " us" );
+
+				controller.kill();
+			}
+		});
+	}
+
+	private static void switchThemes( DockController controller, DockTheme[] themes, int count ){
+		for( int i = 0; i < count; i++ ){
+			controller.setTheme( themes[ i % themes.length ] );
+		}
+	}
+}
@@ -106,6 +106,9 @@ public class PreferenceStorage {
     /** the root of all nodes */
     private Node root = new Node( null );
     
+    /** counts how many times the content of this storage changed */
+    private int modifications = 0;
+    
     /**
      * Creates a new preference storage with some default factories set.
      */
@@ -140,6 +143,16 @@ public class PreferenceStorage {
            throw new IllegalArgumentException( "the root path is not a valid path for this metho" );
        
        factories.put( type, factory );
+       modifications++;
+    }
+    
+    /**
+     * Gets a number that changes whenever the content of this storage changes. Clients can compare
+     * this number with an older value to find out whether they have to write this storage again.
+     * @return the number of modifications that happened so far
+     */
+    public int getModificationCount(){
+    	return modifications;
     }
     
     /**
@@ -152,8 +165,18 @@ public class PreferenceStorage {
     public void store( PreferenceModel model ){
         for( int i = 0, n = model.getSize(); i<n; i++ ){
             if( !model.isNatural( i )){
-                Node node = root.getNode( model.getPath( i ), true );
-                node.put( model.getTypePath( i ), model.getValue( i ) );
+                Path path = model.getPath( i );
+                Node node = root.getNode( path, false );
+                if( node == null ){
+                	node = root.getNode( path, true );
+                	modifications++;
+                }
+                Path type = model.getTypePath( i );
+                Object value = model.getValue( i );
+                if( !equals( type, node.getType() ) || !equals( value, node.getValue() )){
+                	node.put( type, value );
+                	modifications++;
+                }
             }
         }
     }
@@ -239,6 +262,7 @@ public class PreferenceStorage {
         Version version = Version.read( in );
         version.checkCurrent();
         
+        modifications++;
         read( root, in );
     }
     
@@ -311,6 +335,7 @@ public class PreferenceStorage {
      * @throws XException if <code>element</code> is not correct
      */
     public void readXML( XElement element ){
+        modifications++;
         readXML( root, element );
     }
     
@@ -344,6 +369,11 @@ public class PreferenceStorage {
      */
     public void clear(){
         root = new Node( null );
+        modifications++;
+    }
+    
+    private boolean equals( Object a, Object b ){
+    	return a == null ? b == null : a.equals( b );
     }
     
     /**
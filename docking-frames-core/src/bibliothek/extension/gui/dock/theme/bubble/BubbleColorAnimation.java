@@ -156,6 +156,14 @@ public class BubbleColorAnimation {
 		return duration;
 	}
     
+    /**
+     * Tells whether the colors are currently changing.
+     * @return <code>true</code> if the animation is running
+     */
+    public boolean isRunning(){
+    	return timer.isRunning();
+    }
+    
     /**
      * Stops the animation immediately, possibly leaving the animation
      * in an unfinished state.
@@ -48,6 +48,7 @@ import javax.swing.JComponent;
 import javax.swing.event.MouseInputListener;
 
 import bibliothek.extension.gui.dock.theme.BubbleTheme;
+import bibliothek.extension.gui.dock.util.BackgroundImageCache;
 import bibliothek.gui.DockController;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DockElement;
@@ -455,56 +456,82 @@ public class BubbleTab extends ConfiguredBackgroundPanel implements CombinedTab,
 	@Override
 	public void paintBackground( Graphics g ){
 		if( getTransparency() != Transparency.TRANSPARENT ){
-			Graphics2D g2 = (Graphics2D)g.create();
-			g2.setRenderingHint( RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON );
-			
-			Color bottom = animation.getColor( "bottom" );
-			Color top = animation.getColor( "top" );
-			Color border = animation.getColor( "border" );
+			final Color bottom = animation.getColor( "bottom" );
+			final Color top = animation.getColor( "top" );
+			final Color border = animation.getColor( "border" );
 	
 			int w = getWidth();
 			int h = getHeight();
 	
-			// Rectangle clip = g.getClipBounds();
-		
-			// draw border
-			g2.setColor( border );
-			switch( orientation ){
-				case TOP_OF_DOCKABLE:
-					g2.fillRoundRect( 0, 0, w, h+arc, 2*arc, 2*arc );
-					break;
-				case BOTTOM_OF_DOCKABLE:
-					g2.fillRoundRect( 0, -arc, w, h+arc, 2*arc, 2*arc );
-					break;
-				case LEFT_OF_DOCKABLE:
-					g2.fillRoundRect( 0, 0, w+arc, h, 2*arc, 2*arc );
-					break;
-				case RIGHT_OF_DOCKABLE:
-					g2.fillRoundRect( -arc, 0, w+arc, h, 2*arc, 2*arc );
-					break;
-			}
-		
-			// draw background
-			if( orientation.isHorizontal() )
-				g2.setPaint( new GradientPaint( 0, 0, top, 0, h-borderSize, bottom ) );
-			else
-				g2.setPaint( new GradientPaint( 0, 0, top, w-borderSize, 0, bottom ) );
-			switch( orientation ){
-				case TOP_OF_DOCKABLE:
-					g2.fillRoundRect( borderSize, borderSize, w-2*borderSize, h+arc-borderSize, 2*arc, 2*arc );
-					break;
-				case BOTTOM_OF_DOCKABLE:
-					g2.fillRoundRect( borderSize, -arc, w-2*borderSize, h+arc-borderSize, 2*arc, 2*arc );
-					break;
-				case LEFT_OF_DOCKABLE:
-					g2.fillRoundRect( borderSize, borderSize, w+arc-borderSize, h-2*borderSize, 2*arc, 2*arc );
-					break;
-				case RIGHT_OF_DOCKABLE:
-					g2.fillRoundRect( -arc, borderSize, w+arc-borderSize, h-2*borderSize, 2*arc, 2*arc );
-					break;
+			// while the colors are animated each image would be used only once
+			BackgroundImageCache cache = null;
+			if( controller != null && !animation.isRunning() ){
+				cache = controller.getProperties().get( BackgroundImageCache.BACKGROUND_IMAGE_CACHE );
 			}
 			
-			g2.dispose();
+			if( cache == null ){
+				Graphics2D g2 = (Graphics2D)g.create();
+				paintBackground( g2, w, h, top, bottom, border );
+				g2.dispose();
+			}
+			else{
+				Object key = BackgroundImageCache.key( "bubble", orientation, w, h, top, bottom, border, arc, borderSize );
+				cache.paint( g, 0, 0, w, h, false, key, new BackgroundImageCache.Renderer(){
+					public void render( Graphics2D g, int width, int height ){
+						paintBackground( g, width, height, top, bottom, border );
+					}
+				});
+			}
+		}
+	}
+	
+	/**
+	 * Paints the background of this tab.
+	 * @param g2 the graphics context to use
+	 * @param w the width of this tab
+	 * @param h the height of this tab
+	 * @param top the color at the top of the gradient
+	 * @param bottom the color at the bottom of the gradient
+	 * @param border the color of the border
+	 */
+	private void paintBackground( Graphics2D g2, int w, int h, Color top, Color bottom, Color border ){
+		g2.setRenderingHint( RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON );
+	
+		// draw border
+		g2.setColor( border );
+		switch( orientation ){
+			case TOP_OF_DOCKABLE:
+				g2.fillRoundRect( 0, 0, w, h+arc, 2*arc, 2*arc );
+				break;
+			case BOTTOM_OF_DOCKABLE:
+				g2.fillRoundRect( 0, -arc, w, h+arc, 2*arc, 2*arc );
+				break;
+			case LEFT_OF_DOCKABLE:
+				g2.fillRoundRect( 0, 0, w+arc, h, 2*arc, 2*arc );
+				break;
+			case RIGHT_OF_DOCKABLE:
+				g2.fillRoundRect( -arc, 0, w+arc, h, 2*arc, 2*arc );
+				break;
+		}
+	
+		// draw background
+		if( orientation.isHorizontal() )
+			g2.setPaint( new GradientPaint( 0, 0, top, 0, h-borderSize, bottom ) );
+		else
+			g2.setPaint( new GradientPaint( 0, 0, top, w-borderSize, 0, bottom ) );
+		switch( orientation ){
+			case TOP_OF_DOCKABLE:
+				g2.fillRoundRect( borderSize, borderSize, w-2*borderSize, h+arc-borderSize, 2*arc, 2*arc );
+				break;
+			case BOTTOM_OF_DOCKABLE:
+				g2.fillRoundRect( borderSize, -arc, w-2*borderSize, h+arc-borderSize, 2*arc, 2*arc );
+				break;
+			case LEFT_OF_DOCKABLE:
+				g2.fillRoundRect( borderSize, borderSize, w+arc-borderSize, h-2*borderSize, 2*arc, 2*arc );
+				break;
+			case RIGHT_OF_DOCKABLE:
+				g2.fillRoundRect( -arc, borderSize, w+arc-borderSize, h-2*borderSize, 2*arc, 2*arc );
+				break;
 		}
 	}
 
@@ -121,6 +121,7 @@ public class ArchGradientPainter extends BaseTabComponent {
 		super( pane, dockable );
 
 		setOpaque( false );
+		registerStateRegions();
 
 		update();
 		updateFont();
@@ -216,6 +217,11 @@ public class ArchGradientPainter extends BaseTabComponent {
 		updateFont();
 	}
 	
+	@Override
+	protected void updateForeground(){
+		getLabel().setForeground( getTextColor() );
+	}
+	
 	@Override
 	protected void updateColors(){
 		update();	
@@ -347,15 +353,7 @@ public class ArchGradientPainter extends BaseTabComponent {
 		}
 		else{
 			if( getTransparency() != Transparency.TRANSPARENT ){
-				GradientPaint gradient = color1.equals( color2 ) ? null : new GradientPaint( x, y, color1, x, y + h, color2 );
-				Paint old = g2d.getPaint();
-				if( gradient != null )
-					g2d.setPaint(gradient);
-				else
-					g2d.setPaint( color1 );
-	
-				g2d.fillRect( x, y, w, h-1 );
-				g2d.setPaint(old);
+				paintGradient( g2d, x, y, w, h-1, color1, color2, x, y + h );
 			}
 		}
 	}
@@ -28,7 +28,11 @@ package bibliothek.extension.gui.dock.theme.eclipse.stack.tab;
 import java.awt.Color;
 import java.awt.Component;
 import java.awt.Dimension;
+import java.awt.GradientPaint;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.Insets;
+import java.awt.Paint;
 import java.awt.Point;
 import java.awt.Window;
 import java.awt.event.MouseListener;
@@ -42,6 +46,7 @@ import bibliothek.extension.gui.dock.theme.eclipse.EclipseDockActionSource;
 import bibliothek.extension.gui.dock.theme.eclipse.EclipseTabStateInfo;
 import bibliothek.extension.gui.dock.theme.eclipse.stack.EclipseTab;
 import bibliothek.extension.gui.dock.theme.eclipse.stack.EclipseTabPane;
+import bibliothek.extension.gui.dock.util.BackgroundImageCache;
 import bibliothek.gui.DockController;
 import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
@@ -61,11 +66,13 @@ import bibliothek.gui.dock.themes.color.TabColor;
 import bibliothek.gui.dock.themes.font.TabFont;
 import bibliothek.gui.dock.util.BackgroundAlgorithm;
 import bibliothek.gui.dock.util.ConfiguredBackgroundPanel;
+import bibliothek.gui.dock.util.RepaintRegions;
 import bibliothek.gui.dock.util.Transparency;
 import bibliothek.gui.dock.util.color.ColorCodes;
 import bibliothek.gui.dock.util.font.DockFont;
 import bibliothek.gui.dock.util.font.FontModifier;
 import bibliothek.gui.dock.util.swing.OrientedLabel;
+import bibliothek.util.Condition;
 
 /**
  * A base implementation of {@link TabComponent}. This component contains
@@ -153,6 +160,9 @@ public abstract class BaseTabComponent extends ConfiguredBackgroundPanel impleme
     
     private OrientedLabel label = new OrientedLabel();
     
+    /** tells which parts of this tab depend on which colors */
+    private RepaintRegions repaintRegions = new RepaintRegions( this );
+    
     private TabPlacement orientation = TabPlacement.TOP_OF_DOCKABLE;
     
     private boolean previousTabSelectedSet = false;
@@ -272,6 +282,51 @@ public abstract class BaseTabComponent extends ConfiguredBackgroundPanel impleme
     	return this;
     }
     
+    /**
+     * Tells the {@link #getRepaintRegions() repaint regions} that the top, bottom and text colors are
+     * only painted while this tab is in the state the colors belong to, e.g. {@link #colorStackTabTopSelected}
+     * is only painted if this tab is selected but not focused. Changes of colors that are not painted
+     * are then ignored until the state of this tab changes. Subclasses should only call this method if their
+     * {@link #updateColors()} and paint methods read these colors in the same way as the {@link ArchGradientPainter}
+     * does.
+     */
+    protected void registerStateRegions(){
+    	repaintRegions.putAll( RepaintRegions.conditional( new Condition(){
+    		public boolean getState(){
+    			return isEnabled() && isFocused();
+    		}
+    	}, RepaintRegions.EVERYTHING ), colorStackTabTopSelectedFocused, colorStackTabTopSelectedFocusLost, 
+    			colorStackTabBottomSelectedFocused, colorStackTabBottomSelectedFocusLost,
+    			colorStackTabTextSelectedFocused, colorStackTabTextSelectedFocusLost );
+    	
+    	repaintRegions.putAll( RepaintRegions.conditional( new Condition(){
+    		public boolean getState(){
+    			return isEnabled() && !isFocused() && isSelected();
+    		}
+    	}, RepaintRegions.EVERYTHING ), colorStackTabTopSelected, colorStackTabBottomSelected, colorStackTabTextSelected );
+    	
+    	repaintRegions.putAll( RepaintRegions.conditional( new Condition(){
+    		public boolean getState(){
+    			return isEnabled() && !isFocused() && !isSelected();
+    		}
+    	}, RepaintRegions.EVERYTHING ), colorStackTabTop, colorStackTabBottom, colorStackTabText );
+    	
+    	repaintRegions.putAll( RepaintRegions.conditional( new Condition(){
+    		public boolean getState(){
+    			return !isEnabled();
+    		}
+    	}, RepaintRegions.EVERYTHING ), colorStackTabTopDisabled, colorStackTabBottomDisabled, colorStackTabTextDisabled );
+    }
+    
+    /**
+     * Gets the {@link RepaintRegions} which tell which parts of this tab need to be repainted if
+     * one of its colors changes.
+     * @return the regions, not <code>null</code>
+     */
+    protected RepaintRegions getRepaintRegions(){
+		return repaintRegions;
+	}
+    
     /**
      * Adds an additional set of colors to this tab. This method should be called before this
      * tab is {@link #bind() bound}.
@@ -339,6 +394,15 @@ public abstract class BaseTabComponent extends ConfiguredBackgroundPanel impleme
      */
     protected abstract void updateColors();
     
+    /**
+     * Called when a color of this tab changed that is currently not painted. Subclasses should apply the
+     * colors that are used by the children of this tab, e.g. the foreground of the label, but do not
+     * need to repaint this tab.
+     */
+    protected void updateForeground(){
+    	// nothing to do
+    }
+    
     /**
      * Called when the enabled state of this tab changed.
      */
@@ -394,6 +458,7 @@ public abstract class BaseTabComponent extends ConfiguredBackgroundPanel impleme
         }
         setBackground( background );
         buttons.setController( controller );
+        repaintRegions.setController( controller );
         
         for( TabColor color : colors ){
             color.connect( controller );
@@ -418,6 +483,7 @@ public abstract class BaseTabComponent extends ConfiguredBackgroundPanel impleme
         }
         setBackground( background );
         buttons.setController( null );
+        repaintRegions.setController( null );
         
         for( TabColor color : colors )
             color.connect( null );
@@ -502,6 +568,59 @@ public abstract class BaseTabComponent extends ConfiguredBackgroundPanel impleme
         return pane.getController();
     }
     
+    /**
+     * Gets the cache of pre-rendered images that can be used to paint the background of this tab.
+     * @return the cache or <code>null</code> if this tab is not connected to a {@link DockController}
+     */
+    protected BackgroundImageCache getBackgroundImageCache(){
+    	DockController controller = getController();
+    	if( controller == null ){
+    		return null;
+    	}
+    	return controller.getProperties().get( BackgroundImageCache.BACKGROUND_IMAGE_CACHE );
+    }
+    
+    /**
+     * Fills a rectangle with a gradient that goes from <code>top</code> at <code>0/0</code> to <code>bottom</code>
+     * at <code>gradientX/gradientY</code>. The gradient is copied from the {@link #getBackgroundImageCache() cache} 
+     * if possible.
+     * @param g the graphics context to paint on
+     * @param x the x coordinate of the rectangle
+     * @param y the y coordinate of the rectangle
+     * @param width the width of the rectangle
+     * @param height the height of the rectangle
+     * @param top the first color of the gradient
+     * @param bottom the second color of the gradient
+     * @param gradientX the x coordinate where the gradient reaches <code>bottom</code>
+     * @param gradientY the y coordinate where the gradient reaches <code>bottom</code>
+     */
+    protected void paintGradient( Graphics g, final int x, final int y, int width, int height, final Color top, final Color bottom, final int gradientX, final int gradientY ){
+    	BackgroundImageCache cache = getBackgroundImageCache();
+    	if( cache == null || top.equals( bottom )){
+    		Graphics2D g2 = (Graphics2D)g;
+    		Paint old = g2.getPaint();
+    		if( top.equals( bottom )){
+    			g2.setPaint( top );
+    		}
+    		else{
+    			g2.setPaint( new GradientPaint( 0, 0, top, gradientX, gradientY, bottom ));
+    		}
+    		g2.fillRect( x, y, width, height );
+    		g2.setPaint( old );
+    	}
+    	else{
+    		Object key = BackgroundImageCache.key( "gradient", x, y, width, height, top, bottom, gradientX, gradientY );
+    		boolean opaque = top.getAlpha() == 255 && bottom.getAlpha() == 255;
+    		cache.paint( g, x, y, width, height, opaque, key, new BackgroundImageCache.Renderer(){
+    			public void render( Graphics2D g, int width, int height ){
+    				g.translate( -x, -y );
+    				g.setPaint( new GradientPaint( 0, 0, top, gradientX, gradientY, bottom ));
+    				g.fillRect( x, y, width, height );
+    			}
+    		});
+    	}
+    }
+    
     public DockStation getStation() {
         return pane.getStation();
     }
@@ -880,7 +999,13 @@ public abstract class BaseTabComponent extends ConfiguredBackgroundPanel impleme
         }
         @Override
         protected void changed( Color oldColor, Color newColor ) {
-            updateColors();
+            if( repaintRegions.isPainted( this ) ){
+            	updateColors();
+            }
+            else{
+            	updateForeground();
+            	repaintRegions.repaint( this );
+            }
         }
     }
 
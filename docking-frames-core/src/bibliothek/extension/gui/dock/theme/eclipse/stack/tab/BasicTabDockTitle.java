@@ -42,6 +42,7 @@ import bibliothek.gui.dock.title.DockTitleEvent;
 import bibliothek.gui.dock.title.DockTitleFactory;
 import bibliothek.gui.dock.title.DockTitleRequest;
 import bibliothek.gui.dock.title.DockTitleVersion;
+import bibliothek.gui.dock.util.RepaintRegions;
 import bibliothek.gui.dock.util.color.ColorCodes;
 import bibliothek.gui.dock.util.color.ColorManager;
 import bibliothek.gui.dock.util.font.DockFont;
@@ -107,9 +108,11 @@ public class BasicTabDockTitle extends BasicDockTitle {
         borderColor = new TitleColor( "stack.border", this, Color.BLACK ){
             @Override
             protected void changed( Color oldColor, Color newColor ) {
-                repaint();
+                getRepaintRegions().repaint( this );
             }
         };
+        // the border is painted by the BorderModifier, not by this color
+        getRepaintRegions().put( borderColor, RepaintRegions.NOTHING );
         
         addConditionalFont( DockFont.ID_TAB_FOCUSED, TitleFont.KIND_TAB_TITLE_FONT,
                 new Condition(){
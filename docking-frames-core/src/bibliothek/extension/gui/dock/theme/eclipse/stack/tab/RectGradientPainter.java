@@ -102,6 +102,7 @@ public class RectGradientPainter extends BaseTabComponent {
 	    super( pane, dockable );
 	    
 		setOpaque( false );
+		registerStateRegions();
 		
         update();
         updateBorder();
@@ -130,6 +131,11 @@ public class RectGradientPainter extends BaseTabComponent {
 		updateFont();
 	}
 	
+	@Override
+	protected void updateForeground(){
+		getLabel().setForeground( getTextColor() );
+	}
+	
 	@Override
 	protected void updateColors(){
 		update();
@@ -274,42 +280,46 @@ public class RectGradientPainter extends BaseTabComponent {
         	color2 = temp;
         }
 		
-        GradientPaint gradient = null;
-        if( !color1.equals( color2 )){
-        	if( orientation.isHorizontal() ){
-        		gradient = new GradientPaint( 0, 0, color1, 0, height, color2 );		
-        	}
-        	else{
-        		gradient = new GradientPaint( 0, 0, color1, width, 0, color2 );
-        	}
-        }
-        
 		int tabIndex = getTabIndex();
 		
 		g2d.setColor( lineColor );
 		Paint old = g2d.getPaint();
-        if( gradient != null )
-            g2d.setPaint(gradient);
-        else
-            g2d.setPaint( color1 );
 		
 		if (isSelected) {
+	        GradientPaint gradient = null;
+	        if( !color1.equals( color2 )){
+	        	if( orientation.isHorizontal() ){
+	        		gradient = new GradientPaint( 0, 0, color1, 0, height, color2 );		
+	        	}
+	        	else{
+	        		gradient = new GradientPaint( 0, 0, color1, width, 0, color2 );
+	        	}
+	        }
+	        
+	        if( gradient != null )
+	            g2d.setPaint(gradient);
+	        else
+	            g2d.setPaint( color1 );
+	        
 			paintSelected( g2d, tabIndex, old );
 		}
 		else{
 			if( getTransparency() != Transparency.TRANSPARENT ){
+				int gradientX = orientation.isHorizontal() ? 0 : width;
+				int gradientY = orientation.isHorizontal() ? height : 0;
+				
 				switch( orientation ){
 					case TOP_OF_DOCKABLE:
-						g.fillRect( 0, 0, getWidth(), getHeight()-1 );
+						paintGradient( g, 0, 0, width, height-1, color1, color2, gradientX, gradientY );
 						break;
 					case BOTTOM_OF_DOCKABLE:
-						g.fillRect( 0, 1, getWidth(), getHeight()-1 );
+						paintGradient( g, 0, 1, width, height-1, color1, color2, gradientX, gradientY );
 						break;
 					case LEFT_OF_DOCKABLE:
-						g.fillRect( 0, 0, getWidth()-1, getHeight() );
+						paintGradient( g, 0, 0, width-1, height, color1, color2, gradientX, gradientY );
 						break;
 					case RIGHT_OF_DOCKABLE:
-						g.fillRect( 1, 0, getWidth()-1, getHeight() );
+						paintGradient( g, 1, 0, width-1, height, color1, color2, gradientX, gradientY );
 						break;
 				}
 			}
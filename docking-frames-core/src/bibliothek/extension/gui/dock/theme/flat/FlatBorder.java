@@ -35,6 +35,7 @@ import javax.swing.border.Border;
 
 import bibliothek.gui.DockController;
 import bibliothek.gui.dock.station.DockableDisplayer;
+import bibliothek.gui.dock.themes.basic.BasicDockableDisplayer;
 import bibliothek.gui.dock.themes.color.DisplayerColor;
 import bibliothek.gui.dock.util.color.ColorCodes;
 
@@ -62,6 +63,10 @@ public class FlatBorder implements Border{
      */
     public FlatBorder( DockableDisplayer owner ){
         this.owner = owner;
+        if( owner instanceof BasicDockableDisplayer ){
+        	BasicDockableDisplayer displayer = (BasicDockableDisplayer)owner;
+        	displayer.getRepaintRegions().putAll( displayer.getBorderRegion(), background, light, dark, middle );
+        }
     }
     
     /**
@@ -138,7 +143,12 @@ public class FlatBorder implements Border{
 
         @Override
         protected void changed( Color oldColor, Color newColor ) {
-            owner.getComponent().repaint();
+        	if( owner instanceof BasicDockableDisplayer ){
+        		((BasicDockableDisplayer)owner).getRepaintRegions().repaint( this );
+        	}
+        	else{
+        		owner.getComponent().repaint();
+        	}
         }
     }
 }
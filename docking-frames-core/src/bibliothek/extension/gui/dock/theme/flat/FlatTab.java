@@ -9,6 +9,7 @@ import java.awt.Graphics2D;
 import java.awt.Insets;
 import java.awt.Paint;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
@@ -41,6 +42,7 @@ import bibliothek.gui.dock.themes.color.TabColor;
 import bibliothek.gui.dock.themes.font.TabFont;
 import bibliothek.gui.dock.util.BackgroundAlgorithm;
 import bibliothek.gui.dock.util.ConfiguredBackgroundPanel;
+import bibliothek.gui.dock.util.RepaintRegions;
 import bibliothek.gui.dock.util.Transparency;
 import bibliothek.gui.dock.util.color.ColorCodes;
 import bibliothek.gui.dock.util.font.DockFont;
@@ -144,6 +146,9 @@ public class FlatTab extends ConfiguredBackgroundPanel implements CombinedTab, D
 	/** all the {@link MouseInputListener}s that were added to this tab */
 	private List<MouseInputListener> mouseInputListeners = new ArrayList<MouseInputListener>();
 	
+	/** tells which parts of this tab depend on which colors */
+	private RepaintRegions repaintRegions = new RepaintRegions( this );
+	
     /**
      * Constructs a new button
      * @param pane the owner of this tab
@@ -218,6 +223,21 @@ public class FlatTab extends ConfiguredBackgroundPanel implements CombinedTab, D
         	}
         };
         
+        // the border colors are only used to paint two lines at the edges of this tab
+        repaintRegions.putAll( new RepaintRegions.Region(){
+			public Rectangle[] getRegions( JComponent component ){
+				int w = component.getWidth();
+				int h = component.getHeight();
+				if( orientation.isHorizontal() ){
+					return new Rectangle[]{ new Rectangle( 0, 0, 1, h ), new Rectangle( w-1, 0, 1, h ) };
+				}
+				else{
+					return new Rectangle[]{ new Rectangle( 0, 0, w, 1 ), new Rectangle( 0, h-1, w, 1 ) };
+				}
+			}
+		}, borderSelectedOut, borderSelectedCenter, borderFocusedOut, borderFocusedCenter, borderOut, borderCenter, 
+		borderDisabledOut, borderDisabledCenter, border );
+        
         fontFocused = new FlatTabFont( DockFont.ID_TAB_FOCUSED, dockable );
         fontSelected = new FlatTabFont( DockFont.ID_TAB_SELECTED, dockable );
         fontUnselected = new FlatTabFont( DockFont.ID_TAB_UNSELECTED, dockable );
@@ -394,6 +414,7 @@ public class FlatTab extends ConfiguredBackgroundPanel implements CombinedTab, D
         this.controller = controller;
     	
         actions.setController( controller );
+        repaintRegions.setController( controller );
 		if( controller == null ){
 			if( actionsSource != null ){
 				actions.set( null );
@@ -702,7 +723,7 @@ public class FlatTab extends ConfiguredBackgroundPanel implements CombinedTab, D
         }
         @Override
         protected void changed( Color oldColor, Color newColor ) {
-            repaint();
+            repaintRegions.repaint( this );
         }
     }
     
@@ -0,0 +1,281 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.extension.gui.dock.util;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import bibliothek.gui.dock.util.DockProperties;
+import bibliothek.gui.dock.util.PropertyKey;
+import bibliothek.gui.dock.util.property.DynamicPropertyFactory;
+
+/**
+ * A cache of pre-rendered images, used by tabs and similar components that paint the same 
+ * gradients and shapes over and over again. Each image is identified by a key that describes everything 
+ * that has an influence on its content, e.g. its size, colors and orientation. The cache has a limited
+ * size, the least recently used images are discarded once the cache is full.<br>
+ * Images are rendered in the resolution of the device, if the {@link Graphics2D} scales its content (e.g.
+ * on a screen with a high resolution) then the scale factor becomes part of the key. If the graphics context
+ * rotates or shears its content, then the cache is not used.<br>
+ * This class is intended to be used only by the EventDispatchThread.
+ * @author Benjamin Sigg
+ */
+public class BackgroundImageCache {
+	/** The cache that is shared by all the components using the same {@link DockProperties} */
+	public static final PropertyKey<BackgroundImageCache> BACKGROUND_IMAGE_CACHE = new PropertyKey<BackgroundImageCache>( "dock.backgroundImageCache", 
+			new DynamicPropertyFactory<BackgroundImageCache>(){
+				public BackgroundImageCache getDefault( PropertyKey<BackgroundImageCache> key, DockProperties properties ){
+					return new BackgroundImageCache();
+				}
+			}, true );
+	
+	/**
+	 * Paints the content of an image of the {@link BackgroundImageCache}.
+	 * @author Benjamin Sigg
+	 */
+	public static interface Renderer{
+		/**
+		 * Paints the content of the image, the image has its origin at <code>0/0</code>.
+		 * @param g the graphics context to use
+		 * @param width the width of the image
+		 * @param height the height of the image
+		 */
+		public void render( Graphics2D g, int width, int height );
+	}
+	
+	/** all the images, ordered by the time they were accessed the last time */
+	private Map<Object, BufferedImage> images = new LinkedHashMap<Object, BufferedImage>( 16, 0.75f, true );
+	
+	/** the total number of pixels in {@link #images} */
+	private int pixels = 0;
+	
+	/** the maximum number of pixels */
+	private int maximumPixels = 512 * 1024;
+	
+	/** how many times an image was found in the cache */
+	private int hits = 0;
+	
+	/** how many times an image had to be rendered */
+	private int misses = 0;
+	
+	/**
+	 * Creates a key that consists of all the elements of <code>parts</code>, two
+	 * keys are equal if all their parts are equal.
+	 * @param parts the parts of the key
+	 * @return the new key
+	 */
+	public static Object key( Object... parts ){
+		return Arrays.asList( parts );
+	}
+	
+	/**
+	 * Sets the maximum number of pixels all the images together may have. 
+	 * @param maximumPixels the maximum number of pixels, 0 disables this cache
+	 */
+	public void setMaximumPixels( int maximumPixels ){
+		if( maximumPixels < 0 ){
+			throw new IllegalArgumentException( "maximumPixels must not be negative: " + maximumPixels );
+		}
+		this.maximumPixels = maximumPixels;
+		evict();
+	}
+	
+	/**
+	 * Gets the maximum number of pixels all the images together may have.
+	 * @return the maximum number of pixels
+	 */
+	public int getMaximumPixels(){
+		return maximumPixels;
+	}
+	
+	/**
+	 * Removes all images from this cache.
+	 */
+	public void clear(){
+		images.clear();
+		pixels = 0;
+	}
+	
+	/**
+	 * Gets the number of images that are currently stored.
+	 * @return the number of images
+	 */
+	public int getImageCount(){
+		return images.size();
+	}
+	
+	/**
+	 * Tells how many times {@link #paint(Graphics, int, int, int, int, boolean, Object, Renderer) paint} could
+	 * use an image that was already rendered.
+	 * @return the number of cache hits
+	 */
+	public int getHits(){
+		return hits;
+	}
+	
+	/**
+	 * Tells how many times {@link #paint(Graphics, int, int, int, int, boolean, Object, Renderer) paint} had
+	 * to render a new image.
+	 * @return the number of cache misses
+	 */
+	public int getMisses(){
+		return misses;
+	}
+	
+	/**
+	 * Paints the image that is described by <code>key</code> at <code>x/y</code>. If the image is not
+	 * yet cached, then it is created and <code>renderer</code> is asked to paint its content. If the image 
+	 * is too big to be cached, or if <code>g</code> is rotated or sheared, then <code>renderer</code> paints directly
+	 * onto <code>g</code>.
+	 * @param g the graphics context to paint on
+	 * @param x the x coordinate of the image
+	 * @param y the y coordinate of the image
+	 * @param width the width of the image
+	 * @param height the height of the image
+	 * @param opaque whether the image is completely opaque, an opaque image is cheaper to paint
+	 * @param key describes the content of the image, must include <code>width</code> and <code>height</code> 
+	 * and anything else that has an influence on the content of the image
+	 * @param renderer paints the content of the image
+	 */
+	public void paint( Graphics g, int x, int y, int width, int height, boolean opaque, Object key, Renderer renderer ){
+		if( width <= 0 || height <= 0 ){
+			return;
+		}
+		
+		double scaleX = 1.0;
+		double scaleY = 1.0;
+		if( g instanceof Graphics2D ){
+			AffineTransform transform = ((Graphics2D)g).getTransform();
+			if( (transform.getType() & (AffineTransform.TYPE_MASK_ROTATION | AffineTransform.TYPE_FLIP | AffineTransform.TYPE_GENERAL_TRANSFORM)) != 0 ){
+				renderDirectly( g, x, y, width, height, renderer );
+				return;
+			}
+			scaleX = transform.getScaleX();
+			scaleY = transform.getScaleY();
+		}
+		
+		boolean scaled = scaleX != 1.0 || scaleY != 1.0;
+		if( scaled ){
+			key = key( key, scaleX, scaleY );
+		}
+		
+		BufferedImage image = images.get( key );
+		if( image == null ){
+			int imageWidth = (int)Math.ceil( width * scaleX );
+			int imageHeight = (int)Math.ceil( height * scaleY );
+			int size = imageWidth * imageHeight;
+			if( size <= 0 || size > maximumPixels / 4 ){
+				renderDirectly( g, x, y, width, height, renderer );
+				return;
+			}
+			
+			misses++;
+			image = createImage( g, imageWidth, imageHeight, opaque );
+			Graphics2D g2 = image.createGraphics();
+			try{
+				if( scaled ){
+					g2.scale( imageWidth / (double)width, imageHeight / (double)height );
+				}
+				renderer.render( g2, width, height );
+			}
+			finally{
+				g2.dispose();
+			}
+			images.put( key, image );
+			pixels += size;
+			evict();
+		}
+		else{
+			hits++;
+		}
+		
+		if( scaled ){
+			g.drawImage( image, x, y, width, height, null );
+		}
+		else{
+			g.drawImage( image, x, y, null );
+		}
+	}
+	
+	/**
+	 * Lets <code>renderer</code> paint directly onto <code>g</code>, without using the cache.
+	 * @param g the graphics context to paint on
+	 * @param x the x coordinate of the image
+	 * @param y the y coordinate of the image
+	 * @param width the width of the image
+	 * @param height the height of the image
+	 * @param renderer paints the content of the image
+	 */
+	private void renderDirectly( Graphics g, int x, int y, int width, int height, Renderer renderer ){
+		Graphics2D g2 = (Graphics2D)g.create( x, y, width, height );
+		try{
+			renderer.render( g2, width, height );
+		}
+		finally{
+			g2.dispose();
+		}
+	}
+	
+	/**
+	 * Creates a new image that can be painted fast onto <code>g</code>.
+	 * @param g the graphics context onto which the image will be painted
+	 * @param width the width of the image in pixels of the device
+	 * @param height the height of the image in pixels of the device
+	 * @param opaque whether the image will be completely opaque
+	 * @return the new image
+	 */
+	protected BufferedImage createImage( Graphics g, int width, int height, boolean opaque ){
+		int transparency = opaque ? Transparency.OPAQUE : Transparency.TRANSLUCENT;
+		if( g instanceof Graphics2D ){
+			GraphicsConfiguration configuration = ((Graphics2D)g).getDeviceConfiguration();
+			if( configuration != null ){
+				return configuration.createCompatibleImage( width, height, transparency );
+			}
+		}
+		return new BufferedImage( width, height, opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB );
+	}
+	
+	/**
+	 * Removes the least recently used images until the total number of pixels is
+	 * no longer greater than {@link #getMaximumPixels()}.
+	 */
+	private void evict(){
+		Iterator<BufferedImage> iterator = images.values().iterator();
+		while( pixels > maximumPixels && iterator.hasNext() ){
+			BufferedImage image = iterator.next();
+			pixels -= image.getWidth() * image.getHeight();
+			iterator.remove();
+		}
+	}
+}
@@ -27,16 +27,20 @@
 package bibliothek.gui;
 
 import java.awt.Window;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.security.KeyStore;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -69,6 +73,7 @@ import bibliothek.gui.dock.frontend.DockFrontendPerspective;
 import bibliothek.gui.dock.frontend.FrontendEntry;
 import bibliothek.gui.dock.frontend.FrontendPerspectiveCache;
 import bibliothek.gui.dock.frontend.LayoutChangeStrategy;
+import bibliothek.gui.dock.frontend.LayoutStore;
 import bibliothek.gui.dock.frontend.MissingDockableStrategy;
 import bibliothek.gui.dock.frontend.Setting;
 import bibliothek.gui.dock.frontend.SettingsBlop;
@@ -194,6 +199,22 @@ public class DockFrontend {
     /** A map of all known settings */
     private Map<String, Setting> settings = new HashMap<String, Setting>();
     
+    /** 
+     * Settings that were read by {@link #read(DataInputStream, boolean)} but not yet decoded. A setting is
+     * decoded when it is accessed for the first time, and the bytes of a setting that was never decoded 
+     * are written again unchanged.
+     */
+    private Map<String, byte[]> encodedSettings = new HashMap<String, byte[]>();
+    
+    /** Persistent storage for the named settings, can be <code>null</code> */
+    private LayoutStore layoutStore;
+    
+    /** 
+     * The content of the settings in {@link #layoutStore} as it was read or written by this frontend the last time,
+     * allows to find out whether a setting changed without reading the store again
+     */
+    private Map<String, byte[]> storedSettings = new HashMap<String, byte[]>();
+    
     /** A list of observers */
     private List<DockFrontendListener> listeners = new ArrayList<DockFrontendListener>();
     
@@ -225,6 +246,9 @@ public class DockFrontend {
     /** the default value for {@link DockInfo#hideActionVisible} */
     private boolean defaultHideable = false;
     
+    /** counts how many times a setting or a property of this frontend changed without firing an event */
+    private int modifications = 0;
+    
     /**
      * Whether the {@link DockFrontendListener} and the {@link VetoableDockFrontendListener}
      * should be called automatically when triggered by a {@link DockRegister}-event or not.
@@ -1027,23 +1051,174 @@ public class DockFrontend {
         return lastAppliedEntrySetting;
     }
    	
+    /**
+     * Sets the persistent storage for the named {@link Setting}s of this frontend. Settings that are in 
+     * <code>store</code> are only read when they are {@link #getSetting(String) accessed}, and any setting
+     * that is {@link #save(String) saved}, {@link #read(DataInputStream) read} or {@link #delete(String) deleted}
+     * is immediately written to or removed from <code>store</code>. Settings that were known before the store
+     * was set remain in memory and are not copied to <code>store</code>.<br>
+     * The settings in <code>store</code> are persisted independently of {@link #write(DataOutputStream)} and
+     * {@link #read(DataInputStream)}: they are not written into the stream, and reading a stream does not
+     * remove them from <code>store</code>.
+     * @param store the new storage, can be <code>null</code>
+     */
+    public void setLayoutStore( LayoutStore store ){
+    	this.layoutStore = store;
+    	storedSettings.clear();
+    	modifications++;
+    }
+    
+    /**
+     * Gets a number that changes whenever a setting, the name of the current setting or a property of
+     * an entry is changed by a method that does not fire an event, e.g. by {@link #setSetting(String, Setting)}.
+     * Together with the events of this frontend and of the {@link DockStation}s clients can find out
+     * whether they have to write this frontend again.
+     * @return the number of silent modifications that happened so far
+     */
+    public int getModificationCount(){
+    	return modifications;
+    }
+    
+    /**
+     * Gets the persistent storage for the named {@link Setting}s.
+     * @return the storage, can be <code>null</code>
+     * @see #setLayoutStore(LayoutStore)
+     */
+    public LayoutStore getLayoutStore(){
+    	return layoutStore;
+    }
+    
     /**
      * Gets a set of the names of all known settings.
      * @return the set of names
      */
     public Set<String> getSettings(){
         Set<String> keys = settings.keySet();
+        if( !encodedSettings.isEmpty() || layoutStore != null ){
+        	keys = new HashSet<String>( keys );
+        	keys.addAll( encodedSettings.keySet() );
+        	if( layoutStore != null ){
+        		Collections.addAll( keys, layoutStore.getNames() );
+        	}
+        }
         return Collections.unmodifiableSet( keys );
     }
+    
+    /**
+     * Tells whether there is a setting with name <code>name</code>, this method does not decode the setting.
+     * @param name the name of the setting
+     * @return whether the setting is known
+     */
+    private boolean containsSetting( String name ){
+    	return settings.containsKey( name ) || encodedSettings.containsKey( name ) || (layoutStore != null && layoutStore.contains( name ));
+    }
     
     /**
-     * Gets the {@link Setting} which stores locations and other information under the key <code>name</code>.
+     * Gets the {@link Setting} which stores locations and other information under the key <code>name</code>.<br>
+     * Settings that were read by {@link #read(DataInputStream, boolean)}, or that are in the
+     * {@link #setLayoutStore(LayoutStore) layout store}, are only decoded when they are accessed for the first time.
+     * Hence a corrupt setting is not reported by {@link #read(DataInputStream, boolean)}, but by this method. A corrupt 
+     * setting that was read from a stream is discarded, afterwards this method returns <code>null</code> for <code>name</code>.
+     * A corrupt setting in the layout store remains in the store.
      * @param name a key that was used for calling {@link #save(String)}
      * @return the setting or <code>null</code> if not found
+     * @throws IllegalStateException if the setting cannot be read from the layout store or cannot be decoded,
+     * the cause of the exception is the original {@link IOException}
      */
     public Setting getSetting( String name ){
+    	decode( name );
     	return settings.get( name );
     }
+    
+    /**
+     * Decodes the setting <code>name</code> if it was read by {@link #read(DataInputStream, boolean)} or if it
+     * is in the {@link #setLayoutStore(LayoutStore) layout store}, but not yet decoded.
+     * @param name the name of the setting
+     * @throws IllegalStateException if the setting cannot be decoded
+     */
+    private void decode( String name ){
+    	byte[] content = encodedSettings.remove( name );
+    	if( content == null && layoutStore != null && !settings.containsKey( name )){
+    		try{
+    			content = layoutStore.read( name );
+    			if( content != null ){
+    				storedSettings.put( name, content );
+    			}
+    		}
+    		catch( IOException e ){
+    			throw new IllegalStateException( "cannot read setting '" + name + "'", e );
+    		}
+    	}
+    	if( content != null ){
+    		try{
+    			DataInputStream in = new DataInputStream( new ByteArrayInputStream( content ));
+	    		settings.put( name, read( true, in ) );
+	    		in.close();
+    		}
+    		catch( IOException e ){
+    			throw new IllegalStateException( "cannot read setting '" + name + "'", e );
+    		}
+    	}
+    }
+    
+    /**
+     * Decodes all the settings that were read by {@link #read(DataInputStream, boolean)}, but not yet decoded. Settings
+     * that are in the {@link #setLayoutStore(LayoutStore) layout store} are not decoded.
+     */
+    private void decodeAll(){
+    	for( String name : encodedSettings.keySet().toArray( new String[ encodedSettings.size() ] )){
+    		decode( name );
+    	}
+    }
+    
+    /**
+     * Tells whether the setting <code>name</code> is persisted by the {@link #setLayoutStore(LayoutStore) layout store}.
+     * @param name the name of the setting
+     * @return whether there is a layout store that contains <code>name</code>
+     */
+    private boolean isStored( String name ){
+    	return layoutStore != null && layoutStore.contains( name );
+    }
+    
+    /**
+     * Writes <code>content</code> into the {@link #setLayoutStore(LayoutStore) layout store}, unless
+     * the store already contains exactly <code>content</code> for <code>name</code>. The store is only
+     * read if this frontend did not yet read or write <code>name</code>.
+     * @param name the name of the setting
+     * @param content the encoded setting
+     * @return <code>true</code> if the store was changed
+     * @throws IOException if the store cannot be accessed
+     */
+    private boolean store( String name, byte[] content ) throws IOException{
+    	byte[] stored = null;
+    	if( layoutStore.contains( name )){
+    		stored = storedSettings.get( name );
+    		if( stored == null ){
+    			stored = layoutStore.read( name );
+    		}
+    	}
+    	if( Arrays.equals( content, stored )){
+    		storedSettings.put( name, stored );
+    		return false;
+    	}
+    	layoutStore.write( name, content );
+    	storedSettings.put( name, content );
+    	return true;
+    }
+    
+    /**
+     * Encodes <code>setting</code> as ordinary entry.
+     * @param setting the setting to encode
+     * @return the encoded setting
+     * @throws IOException if the setting cannot be written
+     */
+    private byte[] encode( Setting setting ) throws IOException{
+    	ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    	DataOutputStream out = new DataOutputStream( bytes );
+    	write( setting, true, out );
+    	out.close();
+    	return bytes.toByteArray();
+    }
     
     /**
      * Gets the name of the setting which was loaded or saved the last time.
@@ -1063,7 +1238,7 @@ public class DockFrontend {
     	if( setting == null )
     		throw new IllegalArgumentException( "the name of a setting must not be null" );
     	
-    	if( settings.containsKey( setting ))
+    	if( containsSetting( setting ))
     		load( setting );
     	else
     		save( setting );
@@ -1077,18 +1252,32 @@ public class DockFrontend {
      */
     public void setCurrentSettingName( String setting ){
     	currentSetting = setting;
+    	modifications++;
     }
 
     /**
-     * Stores the setting <code>setting</code> with the given name.
+     * Stores the setting <code>setting</code> with the given name. If there is a 
+     * {@link #setLayoutStore(LayoutStore) layout store}, then the setting is written into the store as well,
+     * unless the store already contains the same setting.
      * @param name the name of the setting
      * @param setting the new setting, not <code>null</code>
+     * @throws IllegalStateException if the setting cannot be written into the layout store
      */
     public void setSetting( String name, Setting setting ){
     	if( setting == null ){
     		throw new IllegalArgumentException( "setting is null" );
     	}
+    	if( layoutStore != null ){
+    		try{
+    			store( name, encode( setting ) );
+    		}
+    		catch( IOException e ){
+    			throw new IllegalStateException( "cannot write setting '" + name + "'", e );
+    		}
+    	}
+    	encodedSettings.remove( name );
     	settings.put( name, setting );
+    	modifications++;
     }
     
     /**
@@ -1145,6 +1334,7 @@ public class DockFrontend {
      */
     public void setDefaultHideable( boolean defaultHideable ) {
         this.defaultHideable = defaultHideable;
+        modifications++;
     }
     
     /**
@@ -1230,6 +1420,7 @@ public class DockFrontend {
      */
     public void setDefaultEntryLayout( boolean defaultEntryLayout ) {
         this.defaultEntryLayout = defaultEntryLayout;
+        modifications++;
     }
     
     /**
@@ -1255,6 +1446,7 @@ public class DockFrontend {
             throw new IllegalArgumentException( "dockable not registered" );
         
         info.setEntryLayout( layout );
+        modifications++;
     }
     
     /**
@@ -1272,6 +1464,7 @@ public class DockFrontend {
             throw new IllegalArgumentException( "no entry present for: " + id );
         
         info.setEntryLayout( layout );
+        modifications++;
     }
     
     /**
@@ -1514,6 +1707,7 @@ public class DockFrontend {
      * Loads a setting of this frontend.
      * @param name the name of the setting
      * @throws IllegalArgumentException if no setting <code>name</code> could be found
+     * @throws IllegalStateException if the setting is corrupt, see {@link #getSetting(String)}
      */
     public void load( String name ){
     	load( name, true );
@@ -1525,12 +1719,13 @@ public class DockFrontend {
      * @param entry <code>true</code> if only information for normal entries should be extracted, <code>false</code> if
      * as much information as possible should be read. Should be the same value as was used for {@link #save(String, boolean)}
      * @throws IllegalArgumentException if no setting <code>name</code> could be found
+     * @throws IllegalStateException if the setting is corrupt, see {@link #getSetting(String)}
      */
     public void load( String name, boolean entry ){
         if( name == null )
     		throw new IllegalArgumentException( "name must not be null" );
     	
-    	Setting setting = settings.get( name );
+    	Setting setting = getSetting( name );
         if( setting == null )
             throw new IllegalArgumentException( "Unknown setting \""+ name +"\"");
         
@@ -1896,6 +2091,23 @@ public class DockFrontend {
     	return count;
     }
     
+    /**
+     * Deletes all settings that are not persisted by the {@link #setLayoutStore(LayoutStore) layout store}. If
+     * there is no layout store, then this method is equivalent to {@link #deleteAll()}.
+     * @return the number of settings that were deleted
+     */
+    private int deleteUnstored(){
+    	int count = 0;
+    	Set<String> settings = getSettings();
+    	String[] array = settings.toArray( new String[ settings.size() ] );
+    	for( String name : array ){
+    		if( !isStored( name ) && delete( name ) ){
+    			count++;
+    		}
+    	}
+    	return count;
+    }
+    
     /**
      * Deletes the setting with the given <code>name</code>.
      * @param name the name of the setting to delete
@@ -1908,6 +2120,16 @@ public class DockFrontend {
     		throw new IllegalArgumentException( "name must not be null" );
     	
         boolean deleted = settings.remove( name ) != null;
+        deleted = encodedSettings.remove( name ) != null || deleted;
+        if( layoutStore != null ){
+        	storedSettings.remove( name );
+        	try{
+        		deleted = layoutStore.delete( name ) || deleted;
+        	}
+        	catch( IOException e ){
+        		throw new IllegalStateException( "cannot delete setting '" + name + "'", e );
+        	}
+        }
         if( deleted ){
         	if( name.equals( currentSetting ))
         		currentSetting = null;
@@ -1919,22 +2141,44 @@ public class DockFrontend {
     
     /**
      * Writes all settings of this frontend, including the current layout,
-     * into <code>out</code>.
+     * into <code>out</code>. Settings that were read but never used are
+     * written without decoding them. Settings that are persisted by the 
+     * {@link #setLayoutStore(LayoutStore) layout store} are not written.
      * @param out the stream to write into
      * @throws IOException if there are any problems
      */
     public void write( DataOutputStream out ) throws IOException{
-        writeBlop( writeBlop(), out );
+    	SettingsBlop blop = new SettingsBlop();
+    	for( Map.Entry<String, Setting> entry : settings.entrySet() ){
+    		if( !isStored( entry.getKey() )){
+    			blop.put( entry.getKey(), entry.getValue() );
+    		}
+    	}
+    	blop.setCurrent( currentSetting, getSetting( false ) );
+        writeBlop( blop, encodedSettings, out );
     }
     
     /**
-     * Writes the contents of <code>blop</code> into <code>out</code>.
+     * Writes the contents of <code>blop</code> into <code>out</code>. The ordinary
+     * {@link Setting}s are written as separate sections, a table of contents at the
+     * beginning tells the size of each section.
      * @param blop the {@link Setting}s to write
      * @param out the stream to write into
      * @throws IOException if there are any problems
      */
     public void writeBlop( SettingsBlop blop, DataOutputStream out ) throws IOException{
-    	Version.write( out, Version.VERSION_1_1_1a );
+    	writeBlop( blop, null, out );
+    }
+    
+    /**
+     * Writes the contents of <code>blop</code> and of <code>encoded</code> into <code>out</code>.
+     * @param blop the {@link Setting}s to write
+     * @param encoded additional settings that are already encoded, can be <code>null</code>
+     * @param out the stream to write into
+     * @throws IOException if there are any problems
+     */
+    private void writeBlop( SettingsBlop blop, Map<String, byte[]> encoded, DataOutputStream out ) throws IOException{
+    	Version.write( out, Version.VERSION_1_1_2 );
     	
     	String currentSetting = blop.getCurrentName();
     	
@@ -1945,11 +2189,24 @@ public class DockFrontend {
             out.writeUTF( currentSetting );
         }
         
-        String[] names = blop.getNames();
-        out.writeInt( names.length );
-        for( String name : names ){
-            out.writeUTF( name );
-            write( blop.getSetting( name ), true, out );
+        Map<String, byte[]> sections = new LinkedHashMap<String, byte[]>();
+        for( String name : blop.getNames() ){
+        	sections.put( name, encode( blop.getSetting( name ) ) );
+        }
+        if( encoded != null ){
+        	sections.putAll( encoded );
+        }
+        
+        // table of contents
+        out.writeInt( sections.size() );
+        for( Map.Entry<String, byte[]> section : sections.entrySet() ){
+        	out.writeUTF( section.getKey() );
+        	out.writeInt( section.getValue().length );
+        }
+        
+        // sections
+        for( byte[] section : sections.values() ){
+        	out.write( section );
         }
         
         write( blop.getCurrentSetting(), false, out );
@@ -1973,7 +2230,8 @@ public class DockFrontend {
     /**
      * Reads the settings of this frontend from <code>in</code>. The layout
      * will be changed according to the contents that are read. All existing
-     * settings are deleted by this method.
+     * settings, except the ones persisted by the {@link #setLayoutStore(LayoutStore) layout store},
+     * are deleted by this method.
      * @param in the stream to read from
      * @throws IOException if there are any problems
      */
@@ -1983,14 +2241,37 @@ public class DockFrontend {
 
     /**
      * Reads the settings of this frontend from <code>in</code>. The layout
-     * will be changed according to the contents that are read.
+     * will be changed according to the contents that are read. Settings that are read and that
+     * are already in the {@link #setLayoutStore(LayoutStore) layout store} are only written
+     * into the store if they changed.<br>
+     * Only the current layout is decoded by this method, the named settings are decoded when they are
+     * accessed for the first time. A corrupt named setting is therefore not reported by this method, but
+     * by an {@link IllegalStateException} thrown by {@link #getSetting(String)}, {@link #load(String)} or
+     * {@link #writeBlop()}.
      * @param in the stream to read from
      * @param keepExistingSettings whether to keep or to delete (see {@link #deleteAll()}) the
-     * existing settings.
+     * existing settings. Settings that are persisted by the layout store are never deleted.
      * @throws IOException if there are any problems
      */
     public void read( DataInputStream in, boolean keepExistingSettings ) throws IOException{
-	    readBlop( readBlop( in ), keepExistingSettings );
+    	Map<String, byte[]> encoded = new LinkedHashMap<String, byte[]>();
+    	SettingsBlop blop = readBlop( in, encoded );
+    	
+    	if( !keepExistingSettings ){
+    		deleteUnstored();
+    	}
+    	for( Map.Entry<String, byte[]> entry : encoded.entrySet() ){
+    		if( layoutStore == null ){
+    			settings.remove( entry.getKey() );
+    			encodedSettings.put( entry.getKey(), entry.getValue() );
+    		}
+    		else if( store( entry.getKey(), entry.getValue() )){
+    			settings.remove( entry.getKey() );
+    		}
+    		fireRead( entry.getKey() );
+    	}
+    	
+	    readBlop( blop, true );
     }
     
     /**
@@ -2001,6 +2282,19 @@ public class DockFrontend {
      * @throws IOException if <code>in</code> cannot be read properbly
      */
     public SettingsBlop readBlop( DataInputStream in ) throws IOException{
+    	return readBlop( in, null );
+    }
+    
+    /**
+     * Reads the contents of <code>in</code>. If <code>encoded</code> is not <code>null</code>, then the
+     * ordinary {@link Setting}s are not decoded but stored in <code>encoded</code>, this is only possible
+     * if <code>in</code> was written in the sectioned format.
+     * @param in the stream to read from
+     * @param encoded a map to store the settings that are not yet decoded, can be <code>null</code>
+     * @return the {@link Setting}s that were decoded
+     * @throws IOException if <code>in</code> cannot be read properbly
+     */
+    private SettingsBlop readBlop( DataInputStream in, Map<String, byte[]> encoded ) throws IOException{
     	SettingsBlop blop = new SettingsBlop();
     	
     	Version version = Version.read( in );
@@ -2012,10 +2306,32 @@ public class DockFrontend {
             currentSetting = in.readUTF();
         
         int count = in.readInt();
-        for( int i = 0; i < count; i++ ){
-            String key = in.readUTF();
-            Setting setting = read( true, in );
-            blop.put( key, setting );
+        if( Version.VERSION_1_1_2.compareTo( version ) <= 0 ){
+        	String[] keys = new String[ count ];
+        	int[] lengths = new int[ count ];
+        	for( int i = 0; i < count; i++ ){
+        		keys[i] = in.readUTF();
+        		lengths[i] = in.readInt();
+        	}
+        	for( int i = 0; i < count; i++ ){
+        		byte[] content = new byte[ lengths[i] ];
+        		in.readFully( content );
+        		if( encoded == null ){
+        			DataInputStream section = new DataInputStream( new ByteArrayInputStream( content ));
+        			blop.put( keys[i], read( true, section ) );
+        			section.close();
+        		}
+        		else{
+        			encoded.put( keys[i], content );
+        		}
+        	}
+        }
+        else{
+	        for( int i = 0; i < count; i++ ){
+	            String key = in.readUTF();
+	            Setting setting = read( true, in );
+	            blop.put( key, setting );
+	        }
         }
         
         blop.setCurrent( currentSetting, read( false, in ) );
@@ -2045,6 +2361,7 @@ public class DockFrontend {
      * Writes all properties of this frontend into an xml element.
      * @param element the element to write into, this method will not
      * change the attributes of <code>element</code>
+     * @throws IllegalStateException if a setting that was not yet decoded is corrupt, see {@link #getSetting(String)}
      */
     public void writeXML( XElement element ){
     	writeBlopXML( writeBlop(), element );
@@ -2094,8 +2411,9 @@ public class DockFrontend {
     }
     
     /**
-     * Reads the contents of this frontend from an xml element. All existing settings
-     * are deleted (see {@link #deleteAll()}) by this method.
+     * Reads the contents of this frontend from an xml element. All existing settings, except the
+     * ones persisted by the {@link #setLayoutStore(LayoutStore) layout store}, are deleted 
+     * (see {@link #deleteAll()}) by this method.
      * @param element the element to read
      */
     public void readXML( XElement element ){
@@ -2162,13 +2480,18 @@ public class DockFrontend {
     }
     
     /**
-     * Stores all the current {@link Setting}s of this {@link DockFrontend} in a new {@link SettingsBlop}.
+     * Stores all the current {@link Setting}s of this {@link DockFrontend} in a new {@link SettingsBlop}. Settings
+     * that are persisted by the {@link #setLayoutStore(LayoutStore) layout store} are not included.
      * @return the blop that contains all the settings of this frontend
+     * @throws IllegalStateException if a setting that was not yet decoded is corrupt, see {@link #getSetting(String)}
      */
     public SettingsBlop writeBlop(){
+    	decodeAll();
     	SettingsBlop blop = new SettingsBlop();
     	for( Map.Entry<String, Setting> entry : settings.entrySet() ){
-    		blop.put( entry.getKey(), entry.getValue() );
+    		if( !isStored( entry.getKey() )){
+    			blop.put( entry.getKey(), entry.getValue() );
+    		}
     	}
     	blop.setCurrent( currentSetting, getSetting( false ) );
     	return blop;
@@ -2179,14 +2502,15 @@ public class DockFrontend {
      * @param blop the settings to read
      * @param keepExistingSettings whether {@link #deleteAll()} should be called, which would
      * result in deleting all existing {@link Setting}s, a value of <code>false</code> will
-     * call {@link #deleteAll()}
+     * call {@link #deleteAll()}. Settings that are persisted by the {@link #setLayoutStore(LayoutStore) layout store}
+     * are never deleted.
      */
     public void readBlop( SettingsBlop blop, boolean keepExistingSettings ){
     	if( !keepExistingSettings ){
-    		deleteAll();
+    		deleteUnstored();
     	}
     	for( String name : blop.getNames() ){
-    		settings.put( name, blop.getSetting( name ) );
+    		setSetting( name, blop.getSetting( name ) );
     		fireRead( name );
     	}
     	currentSetting = blop.getCurrentName();
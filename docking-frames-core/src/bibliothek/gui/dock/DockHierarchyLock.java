@@ -27,8 +27,13 @@
 package bibliothek.gui.dock;
 
 import java.awt.EventQueue;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import bibliothek.gui.DockController;
@@ -58,6 +63,9 @@ public class DockHierarchyLock {
 	/** whether a {@link Runnable} from {@link #onRelease} is currently executed */
 	private boolean onReleaseRunning = false;
 	
+	/** the stations whose consistency checks are currently delayed, see {@link #beginBatch(DockStation)} */
+	private Map<DockStation, Batch> batches = new HashMap<DockStation, Batch>();
+	
 	/**
 	 * Sets whether exceptions should be thrown or only printed.
 	 * @param hardExceptions <code>true</code> if the exceptions should be thrown
@@ -337,11 +345,85 @@ public class DockHierarchyLock {
 		return token;
 	}
 	
+	/**
+	 * Informs this lock that <code>station</code> is going to add or remove many children. Until
+	 * {@link #endBatch(DockStation)} is called, this lock does not search through all the children of
+	 * <code>station</code> each time a child is added or removed. Instead the checks are made in one
+	 * go when the batch ends. Batches can be nested.
+	 * @param station the station that is going to be modified
+	 */
+	public synchronized void beginBatch( DockStation station ){
+		Batch batch = batches.get( station );
+		if( batch == null ){
+			batch = new Batch();
+			batches.put( station, batch );
+		}
+		batch.depth++;
+	}
+	
+	/**
+	 * Ends a batch that was started with {@link #beginBatch(DockStation)}. If this was the
+	 * outermost batch, then all the checks that were delayed are executed now.
+	 * @param station the station that was modified
+	 * @throws IllegalStateException if there is no batch for <code>station</code>
+	 */
+	public void endBatch( DockStation station ){
+		Batch batch;
+		synchronized( this ){
+			batch = batches.get( station );
+			if( batch == null ){
+				throw new IllegalStateException( "no batch running for station '" + station + "'" );
+			}
+			batch.depth--;
+			if( batch.depth > 0 ){
+				return;
+			}
+			batches.remove( station );
+		}
+		
+		Set<Dockable> children = new HashSet<Dockable>();
+		for( int i = 0, n = station.getDockableCount(); i<n; i++ ){
+			children.add( station.getDockable( i ) );
+		}
+		
+		for( Map.Entry<Dockable, Boolean> entry : batch.expected.entrySet() ){
+			Dockable dockable = entry.getKey();
+			if( entry.getValue() ){
+				if( dockable.getDockParent() != station ){
+					throwException( new IllegalStateException( "the parent of '" + dockable + "' is not '" + station + "' but '" + dockable.getDockParent() + "'" ) );
+				}
+				else if( !children.contains( dockable )){
+					throwException( new IllegalStateException( "the station '" + station + "' does not know '" + dockable + "'" ) );
+				}
+			}
+			else if( children.contains( dockable )){
+				throwException( new IllegalStateException( "The station '" + station + "' knows of '" + dockable + "'" ) );
+			}
+		}
+	}
+	
+	/**
+	 * Gets the batch that is currently running for <code>station</code>.
+	 * @param station the station whose batch is searched
+	 * @return the batch or <code>null</code>
+	 */
+	private synchronized Batch getBatch( DockStation station ){
+		if( batches.isEmpty() ){
+			return null;
+		}
+		return batches.get( station );
+	}
+	
 	private void ensureLinked( DockStation station, Dockable dockable ){
 		if( dockable.getDockParent() != station ){
 			throwException( new IllegalStateException( "the parent of '" + dockable + "' is not '" + station + "' but '" + dockable.getDockParent() + "'" ) );
 			return;
 		}
+		Batch batch = getBatch( station );
+		if( batch != null ){
+			batch.expected.put( dockable, Boolean.TRUE );
+			return;
+		}
 		boolean found = false;
 		for( int i = 0, n = station.getDockableCount(); i<n && !found; i++ ){
 			if( station.getDockable( i ) == dockable ){
@@ -359,6 +441,11 @@ public class DockHierarchyLock {
 			throwException( new IllegalStateException( "The parent of '" + dockable + "' is not null but '" + dockable.getDockParent() + "'" ) );
 			return;
 		}
+		Batch batch = getBatch( station );
+		if( batch != null ){
+			batch.expected.put( dockable, Boolean.FALSE );
+			return;
+		}
 		for( int i = 0, n = station.getDockableCount(); i<n; i++ ){
 			if( station.getDockable( i ) == dockable ){
 				throwException( new IllegalStateException( "The station '" + station + "' knows of '" + dockable + "'" ) );
@@ -376,6 +463,16 @@ public class DockHierarchyLock {
 		}
 	}
 	
+	/**
+	 * The checks that were delayed because a {@link DockStation} is modified in a batch.
+	 */
+	private static class Batch{
+		/** how often {@link DockHierarchyLock#beginBatch(DockStation)} was called */
+		private int depth = 0;
+		/** for each {@link Dockable} whether it is expected to be a child of the station when the batch ends */
+		private Map<Dockable, Boolean> expected = new LinkedHashMap<Dockable, Boolean>();
+	}
+	
 	/**
 	 * Is acquired from a {@link DockHierarchyLock} and releases the lock.
 	 */
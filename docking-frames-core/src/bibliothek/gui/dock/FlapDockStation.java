@@ -82,6 +82,7 @@ import bibliothek.gui.dock.station.StationDropOperation;
 import bibliothek.gui.dock.station.StationPaint;
 import bibliothek.gui.dock.station.flap.ButtonPane;
 import bibliothek.gui.dock.station.flap.DefaultFlapLayoutManager;
+import bibliothek.gui.dock.station.flap.DefaultFlapWindow;
 import bibliothek.gui.dock.station.flap.DefaultFlapWindowFactory;
 import bibliothek.gui.dock.station.flap.FlapDockHoldToggle;
 import bibliothek.gui.dock.station.flap.FlapDockProperty;
@@ -205,6 +206,15 @@ public class FlapDockStation extends AbstractDockableStation {
     public static final PropertyKey<FlapWindowFactory> WINDOW_FACTORY = new PropertyKey<FlapWindowFactory>("flap dock station window factory",
     		new ConstantPropertyFactory<FlapWindowFactory>( new DefaultFlapWindowFactory() ), true );
     
+    /**
+     * Key for the behavior of the {@link ButtonPane} if there is not enough space to show all the buttons. If
+     * <code>false</code>, then the buttons are made smaller. If <code>true</code>, then only the buttons that
+     * fit into the available space are shown, all the other buttons can be reached through a menu. The
+     * default value is <code>false</code>.
+     */
+    public static final PropertyKey<Boolean> BUTTON_OVERFLOW = new PropertyKey<Boolean>( "flap dock station button overflow",
+    		new ConstantPropertyFactory<Boolean>( false ), true );
+    
 
     /**
      * A listener that is added to the current {@link #layoutManager}
@@ -860,6 +870,33 @@ public class FlapDockStation extends AbstractDockableStation {
 	            updateWindowBounds();
 	        }
     	}
+    }
+    
+    /**
+     * Creates the {@link FlapWindow} of this station in advance, without showing it. If the window is a
+     * {@link DefaultFlapWindow}, then the {@link DockableDisplayer}s and {@link DockTitle}s of the children are 
+     * created as well. Clients may call this method once the station is visible, e.g. at the startup of the application,
+     * to avoid creating these components the first time the window is opened. The window and the displayers are not
+     * realized or laid out by this method, this still happens when they are shown for the first time.
+     * @see DefaultFlapWindow#DISPLAYER_CACHE_SIZE
+     */
+    public void prepareFlapWindow(){
+    	if( getController() == null || SwingUtilities.getWindowAncestor( getComponent() ) == null ){
+    		return;
+    	}
+    	if( window == null ){
+    		FlapWindow window = createFlapWindow( buttonPane );
+    		if( window == null ){
+    			return;
+    		}
+    		setFlapWindow( window );
+    	}
+    	if( window instanceof DefaultFlapWindow ){
+    		DefaultFlapWindow defaultWindow = (DefaultFlapWindow)window;
+    		for( int i = 0, n = getDockableCount(); i < n; i++ ){
+    			defaultWindow.prepare( getDockable( i ) );
+    		}
+    	}
     }
     
     /**
@@ -1305,7 +1342,7 @@ public class FlapDockStation extends AbstractDockableStation {
      * @throws IllegalStateException if there are children left on this station
      */
     public void setPlaceholders( PlaceholderMap map, final Map<Integer, Dockable> children ){
-    	DockUtilities.checkLayoutLocked();
+    	checkLayoutLocked();
     	if( getDockableCount() > 0 ){
     		throw new IllegalStateException( "must not have any children" );
     	}
@@ -1594,7 +1631,7 @@ public class FlapDockStation extends AbstractDockableStation {
      * <code>false</code> if the child has been rejected
      */
     public boolean drop( final Dockable dockable, FlapDockProperty property ) {
-    	DockUtilities.checkLayoutLocked();
+    	checkLayoutLocked();
     	boolean result = false;
         
         final Path placeholder = property.getPlaceholder();
@@ -1724,7 +1761,7 @@ public class FlapDockStation extends AbstractDockableStation {
     }
     
     public void move( Dockable dockable, DockableProperty property ) {
-    	DockUtilities.checkLayoutLocked();
+    	checkLayoutLocked();
         if( property instanceof FlapDockProperty ){
             int index = indexOf( dockable );
             if( index < 0 )
@@ -1826,7 +1863,7 @@ public class FlapDockStation extends AbstractDockableStation {
      * @param index the index of the child that will be removed
      */
     public void remove( int index ){
-    	DockUtilities.checkLayoutLocked();
+    	checkLayoutLocked();
         Dockable dockable = getDockable( index );
         if( getFrontDockable() == dockable )
             setFrontDockable( null );
@@ -1873,7 +1910,7 @@ public class FlapDockStation extends AbstractDockableStation {
     }
     
     private void add( Dockable dockable, int index, int listIndex ){
-    	DockUtilities.checkLayoutLocked();
+    	checkLayoutLocked();
         DockUtilities.ensureTreeValidity( this, dockable );
         
         DockHierarchyLock.Token token = DockHierarchyLock.acquireLinking( this, dockable );
@@ -1959,7 +1996,7 @@ public class FlapDockStation extends AbstractDockableStation {
      * on this station)
      */
     public boolean combine( final Dockable child, Dockable append, DockableProperty property ){
-    	DockUtilities.checkLayoutLocked();
+    	checkLayoutLocked();
     	int index = indexOf( child );
         if( index < 0 )
             throw new IllegalArgumentException( "Child must be a child of this station" );
@@ -1999,7 +2036,7 @@ public class FlapDockStation extends AbstractDockableStation {
     }
     
     private boolean combine( CombinerSource source, CombinerTarget target, DockableProperty property ){
-    	DockUtilities.checkLayoutLocked();
+    	checkLayoutLocked();
     	
     	DockController controller = getController();
     	Dockable child = source.getOld();
@@ -2077,7 +2114,7 @@ public class FlapDockStation extends AbstractDockableStation {
     }
     
     private void replace( Dockable child, Dockable append, boolean station ){
-    	DockUtilities.checkLayoutLocked();
+    	checkLayoutLocked();
     	DockController controller = getController();
     	try{
     		if( controller != null )
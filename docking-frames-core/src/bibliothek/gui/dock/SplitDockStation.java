@@ -135,6 +135,7 @@ import bibliothek.gui.dock.station.split.layer.SplitOverrideDropLayer;
 import bibliothek.gui.dock.station.support.CombinerSource;
 import bibliothek.gui.dock.station.support.CombinerTarget;
 import bibliothek.gui.dock.station.support.ComponentDragOperation;
+import bibliothek.gui.dock.station.support.DockStationBatch;
 import bibliothek.gui.dock.station.support.DockStationListenerManager;
 import bibliothek.gui.dock.station.support.DockableShowingManager;
 import bibliothek.gui.dock.station.support.Enforcement;
@@ -393,6 +394,25 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 
 	/** Access to the private and protected methods for some friends of this station */
 	private Access access = new Access();
+	
+	/** the batch started by {@link #beginBatch()} */
+	private DockStationBatch batch = new DockStationBatch( this ){
+		@Override
+		protected void started(){
+			access.arm();
+		}
+		
+		@Override
+		protected void finished(){
+			try{
+				revalidate();
+				repaint();
+			}
+			finally{
+				access.fire();
+			}
+		}
+	};
 
 	/** The root of the tree which determines the structure of this station */
 	private Root root;
@@ -1768,7 +1788,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 	private void move( PutInfo putInfo, StationDropItem item ){
 		try{
 			access.arm();
-			DockUtilities.checkLayoutLocked();
+			checkLayoutLocked();
 			Root root = access.getOwner().getRoot();
 			Leaf leaf = root.getLeaf(putInfo.getDockable());
 	
@@ -1824,7 +1844,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 		try{
 			boolean fire = token == null;
 			access.arm();
-			DockUtilities.checkLayoutLocked();
+			checkLayoutLocked();
 			if( putInfo.getNode() == null ) {
 				if( fire ) {
 					DockUtilities.ensureTreeValidity(SplitDockStation.this, putInfo.getDockable());
@@ -1912,7 +1932,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 	private boolean drop( final Dockable dockable, final SplitDockProperty property, SplitNode root ){
 		try{
 			access.arm();
-			DockUtilities.checkLayoutLocked();
+			checkLayoutLocked();
 			if( getDockableCount() == 0 ) {
 				if( !DockUtilities.acceptable( this, dockable ) ){
 					return false;
@@ -2149,7 +2169,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 	public boolean drop( Dockable dockable, SplitDockPathProperty property ){
 		try{
 			access.arm();
-			DockUtilities.checkLayoutLocked();
+			checkLayoutLocked();
 	
 			// use the ids of the topmost nodes in the path to find a node of this station
 			Tuple<Integer, SplitNode> startNode = getLowestNode( property );
@@ -2218,7 +2238,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 	public boolean drop( Dockable dockable, SplitDockPlaceholderProperty property ){
 		try{
 			access.arm();
-			DockUtilities.checkLayoutLocked();
+			checkLayoutLocked();
 			validate();
 			return root().insert(property, dockable);
 		}
@@ -2237,7 +2257,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 	public boolean drop( Dockable dockable, SplitDockFullScreenProperty property ){
 		try{
 			access.arm();
-			DockUtilities.checkLayoutLocked();
+			checkLayoutLocked();
 	
 			DockableProperty successor = property.getSuccessor();
 			if( dockable.getDockParent() == this ) {
@@ -2321,7 +2341,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 		
 		try{
 			access.arm();
-			DockUtilities.checkLayoutLocked();
+			checkLayoutLocked();
 			DockUtilities.ensureTreeValidity(this, dockable);
 	
 			if( source == null || target == null ){
@@ -2399,7 +2419,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 		try{
 			boolean fire = token == null;
 			access.arm();
-			DockUtilities.checkLayoutLocked();
+			checkLayoutLocked();
 			if( fire ) {
 				DockUtilities.ensureTreeValidity(this, dockable);
 				token = DockHierarchyLock.acquireLinking( this, dockable );
@@ -2522,7 +2542,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 	public void dropTree( SplitDockTree<Dockable> tree, boolean checkValidity ){
 		if( tree == null )
 			throw new IllegalArgumentException("Tree must not be null");
-		DockUtilities.checkLayoutLocked();
+		checkLayoutLocked();
 		DockController controller = getController();
 		try {
 			access.arm();
@@ -2750,7 +2770,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 		try{
 			boolean fire = token == null;
 			access.arm();
-			DockUtilities.checkLayoutLocked();
+			checkLayoutLocked();
 			
 			if( fire ){
 				DockUtilities.ensureTreeValidity(this, dockable);
@@ -2808,7 +2828,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 	private void replace( Dockable previous, Dockable next, boolean station ){
 		try{
 			access.arm();
-			DockUtilities.checkLayoutLocked();
+			checkLayoutLocked();
 			if( previous == null )
 				throw new NullPointerException("previous must not be null");
 			if( next == null )
@@ -2916,6 +2936,47 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 		return -1;
 	}
 
+	/**
+	 * Starts a batch of modifications, this station does not revalidate itself and delays the events that are sent to 
+	 * {@link DockStationListener#dockablesRepositioned(DockStation, Dockable[])} until {@link #endBatch()} is called.
+	 * @see DockStationBatch#begin()
+	 */
+	public void beginBatch(){
+		batch.begin();
+	}
+	
+	/**
+	 * Ends a batch that was started by {@link #beginBatch()}.
+	 * @throws IllegalStateException if no batch is running
+	 * @see DockStationBatch#end()
+	 */
+	public void endBatch(){
+		batch.end();
+	}
+	
+	/**
+	 * Tells whether a batch started by {@link #beginBatch()} is currently running.
+	 * @return whether modifications are currently collected
+	 */
+	public boolean isBatching(){
+		return batch != null && batch.isRunning();
+	}
+	
+	/**
+	 * Calls {@link DockUtilities#checkLayoutLocked()} unless a batch is running.
+	 * @see DockStationBatch#checkLayoutLocked()
+	 */
+	protected void checkLayoutLocked(){
+		batch.checkLayoutLocked();
+	}
+	
+	@Override
+	public void revalidate(){
+		if( !isBatching() ){
+			super.revalidate();
+		}
+	}
+	
 	/**
 	 * Removes all children from this station.<br>
 	 * Note: clients may need to invoke {@link DockController#freezeLayout()}
@@ -2926,7 +2987,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 		DockController controller = getController();
 		try {
 			access.arm();
-			DockUtilities.checkLayoutLocked();
+			checkLayoutLocked();
 			if( controller != null )
 				controller.freezeLayout();
 
@@ -2954,7 +3015,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 	public void removeDockable( Dockable dockable ){
 		try{
 			access.arm();
-			DockUtilities.checkLayoutLocked();
+			checkLayoutLocked();
 			Leaf leaf = root().getLeaf(dockable);
 			if( leaf != null ) {
 				leaf.setDockable(null, null, true, dockable.asDockStation() != null);
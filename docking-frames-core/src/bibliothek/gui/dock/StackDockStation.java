@@ -37,6 +37,7 @@ import java.awt.event.HierarchyEvent;
 import java.awt.event.HierarchyListener;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -244,6 +245,18 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
     /** whether the result of {@link Component#getMinimumSize()} should be a small value */
     private boolean smallMinimumSize = true;
     
+    /** how many displayers of unselected children are kept alive, <code>-1</code> if there is no limit */
+    private int hiddenDisplayerLimit = -1;
+    
+    /** the children which currently have a displayer, the least recently selected child is the first entry */
+    private LinkedList<StationChildHandle> shownDisplayers = new LinkedList<StationChildHandle>();
+    
+    /** <code>true</code> while a new tab is inserted into the {@link #stackComponent} */
+    private boolean insertingTab = false;
+    
+    /** the child that is selected once the current batch ends, see {@link #beginBatch()} */
+    private Dockable batchSelection;
+    
     /** strategy for selecting placeholders */
     private PropertyValue<PlaceholderStrategy> placeholderStrategy = new PropertyValue<PlaceholderStrategy>( PlaceholderStrategy.PLACEHOLDER_STRATEGY ) {
 		@Override
@@ -540,9 +553,8 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
                 panel.removeAll();
                 
                 for( StationChildHandle handle : dockables.dockables() ){
-                	DockableDisplayer displayer = handle.getDisplayer();
                     int index = stackComponent.getTabCount();
-                    insertTab( displayer, index );
+                    insertTab( handle, index );
                 }
                 
                 panel.add( stackComponent.getComponent() );
@@ -563,6 +575,7 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
             	autoSelectSupport.install( this, this.stackComponent );
             }
             updateConfigurableDisplayerHints();
+            updateHiddenDisplayers();
         }
     }
     
@@ -656,7 +669,7 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
             }
             
             for( StationChildHandle handle : dockables.dockables() ){
-            	handle.setTitleRequest( title, true );
+            	handle.setTitleRequest( title, handle.getDisplayer() != null );
             }
             
             visibility.fire();
@@ -748,6 +761,13 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
     	request.answer( new StackDockProperty( index, newPlaceholder ));
     }
     
+    /**
+     * Gets the selected child of this station. While a batch started by {@link #beginBatch()}
+     * is running, added children are not selected: this method keeps returning the child that
+     * was selected before the batch started, unless {@link #setFrontDockable(Dockable)} is called.
+     * The last added child is selected once the batch ends.
+     * @return the selected child or <code>null</code>
+     */
     public Dockable getFrontDockable() {
         if( dockables.dockables().size() == 0 )
             return null;
@@ -762,6 +782,8 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
     }
     
     public void setFrontDockable( Dockable dockable ) {
+    	// an explicit selection made during a batch is not replaced once the batch ends
+    	batchSelection = null;
         if( dockables.dockables().size() > 1 && dockable != null )
             stackComponent.setSelectedIndex( indexOf( dockable ));
         
@@ -773,6 +795,9 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
      * This method only fires if there really is a change, hence it can be safely called multiple times.
      */
     protected void fireDockableSelected(){
+    	if( isBatching() ){
+    		return;
+    	}
     	Dockable selection = getFrontDockable();
     	if( lastSelectedDockable != selection ){
     		listeners.fireDockableSelected( lastSelectedDockable, selection );
@@ -875,7 +900,7 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
      * @throws IllegalStateException if there are still children on this station
      */
     public void setPlaceholders( PlaceholderMap placeholders, final Map<Integer, Dockable> children ){
-    	DockUtilities.checkLayoutLocked();
+    	checkLayoutLocked();
     	if( getDockableCount() > 0 ){
     		throw new IllegalStateException( "there are children on this station" );
     	}
@@ -919,7 +944,9 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
 	    			try{
 		    			Dockable dockable = handle.getDockable();
 		    			dockable.setDockParent( StackDockStation.this );
-		    			handle.updateDisplayer();
+		    			if( hiddenDisplayerLimit < 0 ){
+		    				handle.updateDisplayer();
+		    			}
 		    			addToPanel( handle, size, size );
 		    			size++;
 		    			listeners.fireDockableAdded( dockable );
@@ -978,6 +1005,125 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
     public boolean isSmallMinimumSize(){
 		return smallMinimumSize;
 	}
+    
+    /**
+     * Sets how many {@link DockableDisplayer}s of children that are not selected are kept alive. If there
+     * are more of them, then the displayer of the child that was not selected for the longest time is released, and
+     * its tab shows an empty placeholder until the child is selected again. The {@link Component} of an
+     * unselected child without displayer is not part of the tree of {@link Component}s. A limit of <code>-1</code>, which
+     * is the default value, means that all children always have a displayer.
+     * @param limit the maximum number of displayers of unselected children, at least <code>-1</code>
+     */
+    public void setHiddenDisplayerLimit( int limit ){
+    	if( limit < -1 ){
+    		throw new IllegalArgumentException( "limit must be at least -1: " + limit );
+    	}
+    	if( hiddenDisplayerLimit != limit ){
+    		hiddenDisplayerLimit = limit;
+    		if( limit == -1 ){
+    			shownDisplayers.clear();
+    			for( StationChildHandle handle : dockables.dockables() ){
+    				ensureDisplayer( handle );
+    			}
+    		}
+    		else{
+    			shownDisplayers.clear();
+    			for( StationChildHandle handle : dockables.dockables() ){
+    				if( handle.getDisplayer() != null ){
+    					shownDisplayers.add( handle );
+    				}
+    			}
+    			updateHiddenDisplayers();
+    		}
+    	}
+    }
+    
+    /**
+     * Tells how many {@link DockableDisplayer}s of unselected children are kept alive.
+     * @return the limit, <code>-1</code> if all children always have a displayer
+     * @see #setHiddenDisplayerLimit(int)
+     */
+    public int getHiddenDisplayerLimit(){
+    	return hiddenDisplayerLimit;
+    }
+    
+    /**
+     * Creates the {@link DockableDisplayer} of <code>handle</code> if it does not yet exist, and
+     * shows the displayer in the tab of <code>handle</code>.
+     * @param handle the child that needs a displayer
+     */
+    private void ensureDisplayer( StationChildHandle handle ){
+    	if( handle.getDisplayer() == null ){
+    		handle.updateDisplayer();
+    		if( hiddenDisplayerLimit >= 0 ){
+    			shownDisplayers.addLast( handle );
+    		}
+    		if( getDockableCount() > 1 || singleTabStackDockComponent() ){
+    			int index = indexOfTab( handle );
+    			if( index >= 0 ){
+    				stackComponent.setComponentAt( index, handle.getDisplayer().getComponent() );
+    			}
+    		}
+    	}
+    }
+    
+    /**
+     * Gets the index of the tab that shows <code>handle</code>.
+     * @param handle the child to search
+     * @return the index of the tab or -1 if not found
+     */
+    private int indexOfTab( StationChildHandle handle ){
+    	int index = indexOf( handle.getDockable() );
+    	if( index < 0 || index >= stackComponent.getTabCount() || stackComponent.getDockableAt( index ) != handle.getDockable() ){
+    		return -1;
+    	}
+    	return index;
+    }
+    
+    /**
+     * Makes sure that the selected child has a {@link DockableDisplayer}, and releases the displayers
+     * of the least recently selected children if there are more than {@link #getHiddenDisplayerLimit()}
+     * unselected children with a displayer.
+     */
+    private void updateHiddenDisplayers(){
+    	if( hiddenDisplayerLimit < 0 || insertingTab ){
+    		return;
+    	}
+    	
+    	StationChildHandle front = null;
+    	if( getDockableCount() == 1 && !singleTabStackDockComponent() ){
+    		front = dockables.dockables().get( 0 );
+    	}
+    	else{
+    		int index = stackComponent.getSelectedIndex();
+    		if( index >= 0 && index < stackComponent.getTabCount() ){
+    			Dockable selected = stackComponent.getDockableAt( index );
+    			for( StationChildHandle handle : dockables.dockables() ){
+    				if( handle.getDockable() == selected ){
+    					front = handle;
+    					break;
+    				}
+    			}
+    		}
+    	}
+    	
+    	if( front != null ){
+    		ensureDisplayer( front );
+    		shownDisplayers.remove( front );
+    		shownDisplayers.addLast( front );
+    	}
+    	
+    	int hidden = shownDisplayers.size() - (front == null ? 0 : 1);
+    	while( hidden > hiddenDisplayerLimit ){
+    		StationChildHandle handle = shownDisplayers.removeFirst();
+    		int index = indexOfTab( handle );
+    		if( index >= 0 ){
+    			stackComponent.setComponentAt( index, new TabPlaceholder() );
+    			handle.releaseDisplayer();
+    		}
+    		hidden--;
+    	}
+    }
 
     @Override
     public DockStationDropLayer[] getLayers(){
@@ -1105,7 +1251,7 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
      * if the child couldn't be added
      */
     public boolean drop( Dockable dockable, StackDockProperty property ){
-    	DockUtilities.checkLayoutLocked();
+    	checkLayoutLocked();
     	int index = property.getIndex();
         Path placeholder = property.getPlaceholder();
         
@@ -1182,7 +1328,7 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
 
     public void move( Dockable dockable, DockableProperty property ) {
         if( property instanceof StackDockProperty ){
-        	DockUtilities.checkLayoutLocked();
+        	checkLayoutLocked();
         	
             int index = indexOf( dockable );
             if( index < 0 )
@@ -1197,7 +1343,7 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
         
     private void move( int source, int destination ){
     	if( source != destination ){
-    		DockUtilities.checkLayoutLocked();
+    		checkLayoutLocked();
     		
     		dockables.dockables().move( source, destination );
     		stackComponent.moveTab( source, destination );
@@ -1280,7 +1426,7 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
     }
     
     public void replace( Dockable old, Dockable next, boolean station ) {
-    	DockUtilities.checkLayoutLocked();
+    	checkLayoutLocked();
     	
     	DockController controller = getController();
     	try{
@@ -1326,13 +1472,15 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
      */
     protected void add( Dockable dockable, int index, Path placeholder ){
         DockUtilities.ensureTreeValidity( this, dockable );
-        DockUtilities.checkLayoutLocked();
+        checkLayoutLocked();
         DockHierarchyLock.Token token = DockHierarchyLock.acquireLinking( this, dockable );
         try{
 	        listeners.fireDockableAdding( dockable );
 	        
 	        StationChildHandle handle = new StationChildHandle( this, getDisplayers(), dockable, title );
-	        handle.updateDisplayer();
+	        if( hiddenDisplayerLimit < 0 ){
+	        	handle.updateDisplayer();
+	        }
 	        
 	        int inserted = -1;
 	        if( placeholder != null && dockables.getDockableAt( placeholder ) == null ){
@@ -1373,7 +1521,9 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
      * stored.
      */
     protected void addToPanel( StationChildHandle handle, int index, int size ){
+    	Dockable added = handle.getDockable();
     	if( size == 0 && !singleTabStackDockComponent() ){
+    		ensureDisplayer( handle );
     		DockableDisplayer displayer = handle.getDisplayer();
             panel.add( displayer.getComponent() );
         }
@@ -1393,8 +1543,7 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
                 	index = 1;
                 }
                 
-                DockableDisplayer child = list.get( 0 ).getDisplayer();
-                insertTab( child, 0 );
+                insertTab( list.get( 0 ), 0 );
                 panel.add( stackComponent.getComponent() );
             }
             else{
@@ -1404,18 +1553,39 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
             	}
             }
             
-            DockableDisplayer displayer = handle.getDisplayer();
-            insertTab( displayer, index );
+            insertTab( handle, index );
             
             if( isImmutableSelectedIndex() ){
             	stackComponent.setSelectedIndex( oldSelectionIndex );
             }
+            else if( isBatching() ){
+            	stackComponent.setSelectedIndex( oldSelectionIndex );
+            	batchSelection = added;
+            }
             else {
             	stackComponent.setSelectedIndex( selectionIndex );
             }
+            updateHiddenDisplayers();
+        }
+        if( !isBatching() ){
+	        panel.revalidate();
+	        panel.repaint();
         }
-        panel.revalidate();
-        panel.repaint();
+    }
+    
+    @Override
+    protected void batchFinished(){
+    	Dockable selection = batchSelection;
+    	batchSelection = null;
+    	if( selection != null && selection.getDockParent() == this ){
+    		setFrontDockable( selection );
+    	}
+    	updateHiddenDisplayers();
+    	visibility.fire();
+    	fireDockableSelected();
+    	panel.revalidate();
+    	panel.repaint();
+    	super.batchFinished();
     }
     
     private boolean isImmutableSelectedIndex(){
@@ -1426,8 +1596,8 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
     	return controller.getProperties().get( IMMUTABLE_SELECTION_INDEX );
     }
     
-    private void insertTab( DockableDisplayer displayer, int index ){
-    	Dockable dockable = displayer.getDockable();
+    private void insertTab( StationChildHandle handle, int index ){
+    	Dockable dockable = handle.getDockable();
     	String title = dockable.getTitleText();
 		String tooltip = dockable.getTitleToolTip();
 		Icon icon = dockable.getTitleIcon();
@@ -1448,7 +1618,15 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
     		}
     	}
     	
-    	stackComponent.insertTab( title, icon, displayer.getComponent(), dockable, index );
+    	DockableDisplayer displayer = handle.getDisplayer();
+    	Component component = displayer == null ? new TabPlaceholder() : displayer.getComponent();
+    	try{
+    		insertingTab = true;
+    		stackComponent.insertTab( title, icon, component, dockable, index );
+    	}
+    	finally{
+    		insertingTab = false;
+    	}
     	stackComponent.setTooltipAt( index, tooltip );
     }
     
@@ -1487,7 +1665,7 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
         if( index < 0 || index >= dockables.dockables().size() )
             throw new IllegalArgumentException( "Index out of bounds" );
         
-        DockUtilities.checkLayoutLocked();
+        checkLayoutLocked();
         StationChildHandle handle = dockables.dockables().get( index );
         Dockable dockable = handle.getDockable();
         
@@ -1512,6 +1690,7 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
 	            panel.remove( stackComponent.getComponent() );
 	            dockables.remove( index );
 	            stackComponent.removeAll();
+	            ensureDisplayer( dockables.dockables().get( 0 ) );
 	            panel.add( dockables.dockables().get( 0 ).getDisplayer().getComponent() );
 	        }
 	        else{
@@ -1520,6 +1699,7 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
 	        	stackComponent.remove( index );
 	        }
 	
+	        shownDisplayers.remove( handle );
 	        handle.destroy();
 	        dockable.removeDockableListener( listener );
 	        dockable.setDockParent( null );
@@ -1527,7 +1707,9 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
 	        visibleListener.ignoreSelectionChanges = false;
 	        focusAfterRemoving( removingSelection );
 	        
-	        panel.revalidate();
+	        if( !isBatching() ){
+	        	panel.revalidate();
+	        }
 	        
 	       	listeners.fireDockableRemoved( dockable );
         }
@@ -1636,11 +1818,15 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
     	
         @Override
         public void dockableShowingChanged( DockStation station, Dockable dockable, boolean visible ) {
-            visibility.fire();
+        	if( !isBatching() ){
+        		visibility.fire();
+        	}
         }
         
         public void selectionChanged( StackDockComponent stack ){
-        	if( !ignoreSelectionChanges ){
+        	if( !ignoreSelectionChanges && !isBatching() ){
+        		updateHiddenDisplayers();
+        		
 	            DockController controller = getController();
 	            if( controller != null ){
 	                Dockable selection = getFrontDockable();
@@ -1769,8 +1955,9 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
                     frontBounds = bounds;
                 else{
                 	int index = stackComponent.getSelectedIndex();
-                	if( index >= 0 ){
-	                    Component front = dockables.dockables().get( index ).getDisplayer().getComponent();
+                	DockableDisplayer displayer = index >= 0 ? dockables.dockables().get( index ).getDisplayer() : null;
+                	if( displayer != null ){
+	                    Component front = displayer.getComponent();
 	                    Point location = new Point( 0, 0 );
 	                    location = SwingUtilities.convertPoint( front, location, this );
 	                    frontBounds = new Rectangle( location.x, location.y, front.getWidth(), front.getHeight() );
@@ -2009,4 +2196,17 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
      		return StackDockStation.this;
      	}
     }
+    
+    /**
+     * An empty {@link Component} which is shown in the tab of a child whose {@link DockableDisplayer}
+     * was released.
+     * @author Benjamin Sigg
+     * @see StackDockStation#setHiddenDisplayerLimit(int)
+     */
+    private static class TabPlaceholder extends JComponent{
+		/**
+		 * Generated serial number
+		 */
+		private static final long serialVersionUID = 6412823374419327045L;
+    }
 }
@@ -27,11 +27,13 @@ package bibliothek.gui.dock.control;
 
 import java.awt.Component;
 import java.awt.EventQueue;
+import java.awt.Window;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 
 import bibliothek.gui.DockController;
@@ -63,6 +65,24 @@ public class DefaultFocusController extends AbstractFocusController {
     /** all the requests waiting for their execution */
     private List<Request> pendingRequests = new ArrayList<Request>();
     
+    /** the requests waiting for their delay to pass, ordered by the time they are due */
+    private List<Request> delayedRequests = new ArrayList<Request>();
+    
+    /** the one timer executing the {@link #delayedRequests}, lazily created */
+    private Timer timer;
+    
+    /** the last request that is to be granted on the EDT, <code>null</code> if no grant is scheduled */
+    private FocusRequest pendingGrant;
+    
+    /** the {@link Component} that will be focused by {@link #pendingGrant} */
+    private Component pendingGrantComponent;
+    
+    /** how many requests were executed */
+    private int appliedRequests = 0;
+    
+    /** how many requests were canceled before they could be executed */
+    private int droppedRequests = 0;
+    
     /**
      * Creates a new focus-controller
      * @param controller the owner of this controller
@@ -79,6 +99,29 @@ public class DefaultFocusController extends AbstractFocusController {
     	return focusedDockable;
     }
     
+    /**
+     * Gets the number of {@link FocusRequest}s that were executed by this controller. This number
+     * is meant to be used for diagnostics only.
+     * @return the number of executed requests
+     */
+    public int getAppliedRequestCount(){
+    	synchronized( pendingRequests ){
+    		return appliedRequests;
+    	}
+    }
+    
+    /**
+     * Gets the number of {@link FocusRequest}s that were dropped because they were superseded by
+     * a newer request, or because another request was executed first. Requests that are refused, e.g. by
+     * a {@link FocusVetoListener}, are not counted. This number is meant to be used for diagnostics only.
+     * @return the number of dropped requests
+     */
+    public int getDroppedRequestCount(){
+    	synchronized( pendingRequests ){
+    		return droppedRequests;
+    	}
+    }
+    
     public FocusVeto checkFocusedDockable( DockElementRepresentative source ){
     	if( source == null ){
     		return null;
@@ -117,8 +160,8 @@ public class DefaultFocusController extends AbstractFocusController {
     /**
      * Requests focus for the {@link Component} that is described by <code>request</code>. The request is either
      * executed now (if {@link FocusRequest#getDelay() delay} is 0) or in the near future. The request may be canceled either
-     * because another request is executed first, because of a {@link FocusVetoListener}, or because the request contains
-     * invalid data.
+     * because another request is executed first, because a newer delayed request for the same {@link Window} supersedes it,
+     * because of a {@link FocusVetoListener}, or because the request contains invalid data.
      * @param request the request
      */
     public void focus( FocusRequest request ){
@@ -198,9 +241,14 @@ public class DefaultFocusController extends AbstractFocusController {
     	// clean up
     	synchronized(pendingRequests){
 	    	for( Request pending : pendingRequests ){
+	    		if( pending.request != request ){
+	    			pending.drop();
+	    		}
 	    		pending.cancel();
 	    	}
 	    	pendingRequests.clear();
+	    	delayedRequests.clear();
+	    	appliedRequests++;
     	}
 
     	boolean active = true;
@@ -210,11 +258,27 @@ public class DefaultFocusController extends AbstractFocusController {
     		active = grant( request, component );
     	}
     	else{
-    		EventQueue.invokeLater( new Runnable() {
-				public void run(){
-					grant( request, component );
-				}
-			});
+    		boolean post;
+    		synchronized( pendingRequests ){
+    			post = pendingGrant == null;
+    			pendingGrant = request;
+    			pendingGrantComponent = component;
+    		}
+    		if( post ){
+	    		EventQueue.invokeLater( new Runnable() {
+					public void run(){
+						FocusRequest request;
+						Component component;
+						synchronized( pendingRequests ){
+							request = pendingGrant;
+							component = pendingGrantComponent;
+							pendingGrant = null;
+							pendingGrantComponent = null;
+						}
+						grant( request, component );
+					}
+				});
+    		}
     	}
         
         if( active && dockable != focusedDockable ){
@@ -242,7 +306,78 @@ public class DefaultFocusController extends AbstractFocusController {
     	return true;
     }
     
-    private class Request implements ActionListener{
+    /**
+     * Adds <code>request</code> to the list of delayed requests, all older delayed requests that would focus
+     * a {@link Component} on the same {@link Window} are superseded and dropped.
+     * @param request the new request
+     */
+    private void delay( Request request ){
+    	synchronized( pendingRequests ){
+    		for( int i = delayedRequests.size()-1; i >= 0; i-- ){
+    			Request delayed = delayedRequests.get( i );
+    			if( delayed.window == request.window ){
+    				delayedRequests.remove( i );
+    				pendingRequests.remove( delayed );
+    				delayed.drop();
+    				delayed.cancel();
+    			}
+    		}
+    		
+    		int index = delayedRequests.size();
+    		while( index > 0 && delayedRequests.get( index-1 ).due > request.due ){
+    			index--;
+    		}
+    		delayedRequests.add( index, request );
+    	}
+    	restartTimer();
+    }
+    
+    /**
+     * Executes all the delayed requests whose time has come, and restarts the {@link #timer}
+     * for the remaining requests.
+     */
+    private void runDelayed(){
+    	List<Request> due = new ArrayList<Request>();
+    	synchronized( pendingRequests ){
+    		long now = System.currentTimeMillis();
+    		while( !delayedRequests.isEmpty() && delayedRequests.get( 0 ).due <= now ){
+    			due.add( delayedRequests.remove( 0 ) );
+    		}
+    	}
+    	for( Request request : due ){
+    		request.run();
+    	}
+    	restartTimer();
+    }
+    
+    /**
+     * Makes sure that {@link #timer} fires when the next delayed request is due, or stops
+     * {@link #timer} if there are no delayed requests.
+     */
+    private void restartTimer(){
+    	synchronized( pendingRequests ){
+    		if( delayedRequests.isEmpty() ){
+    			if( timer != null ){
+    				timer.stop();
+    			}
+    		}
+    		else{
+    			if( timer == null ){
+    				timer = new Timer( 0, new ActionListener(){
+    					public void actionPerformed( ActionEvent e ){
+    						runDelayed();
+    					}
+    				});
+    				timer.setRepeats( false );
+    			}
+    			long delay = delayedRequests.get( 0 ).due - System.currentTimeMillis();
+    			timer.setInitialDelay( (int)Math.max( 0, delay ) );
+    			timer.restart();
+    		}
+    	}
+    }
+    
+    private class Request{
     	/** whether this request is accepted and can be executed */
     	private boolean accepted = false;
     	
@@ -252,6 +387,15 @@ public class DefaultFocusController extends AbstractFocusController {
     	/** whether this request should silently fail */
     	private boolean canceled = false;
     	
+    	/** whether this request was already counted as dropped */
+    	private boolean dropped = false;
+    	
+    	/** the point in time when a delayed request is to be executed */
+    	private long due;
+    	
+    	/** the {@link Window} on which a delayed request is going to focus a {@link Component}, can be <code>null</code> */
+    	private Window window;
+    	
     	/**
     	 * Creates a new request.
     	 * @param request the request to execute
@@ -277,9 +421,9 @@ public class DefaultFocusController extends AbstractFocusController {
     			return true;
     		}
     		else{
-	    		Timer timer = new Timer( request.getDelay(), this );
-	    		timer.setRepeats( false );
-	    		timer.start();
+	    		due = System.currentTimeMillis() + request.getDelay();
+	    		window = getWindow();
+	    		delay( this );
 	    		return false;
     		}
     	}
@@ -291,6 +435,34 @@ public class DefaultFocusController extends AbstractFocusController {
     		canceled = true;
     	}
     	
+    	/**
+    	 * Counts this request as dropped, unless it was already canceled.
+    	 */
+    	public void drop(){
+    		if( !canceled && !dropped ){
+    			dropped = true;
+    			droppedRequests++;
+    		}
+    	}
+    	
+    	/**
+    	 * Gets the {@link Window} which shows the {@link Component} that is focused by this request.
+    	 * @return the window or <code>null</code> if not known
+    	 */
+    	private Window getWindow(){
+    		Component component = request.getComponent();
+    		if( component == null ){
+    			Dockable dockable = getDockable();
+    			if( dockable != null ){
+    				component = dockable.getComponent();
+    			}
+    		}
+    		if( component == null ){
+    			return null;
+    		}
+    		return SwingUtilities.getWindowAncestor( component );
+    	}
+    	
     	/**
     	 * Gets the {@link Dockable} which receives the focus through this request.
     	 * @return the dockable or <code>null</code>
@@ -312,10 +484,6 @@ public class DefaultFocusController extends AbstractFocusController {
     		}
     	}
     	
-    	public void actionPerformed( ActionEvent e ){
-    		run();
-    	}
-    	
     	private void run(){
 	    	if( !canceled ){
 	    		Component component = accept();
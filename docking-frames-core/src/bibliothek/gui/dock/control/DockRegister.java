@@ -30,11 +30,13 @@ import java.util.*;
 import bibliothek.gui.DockController;
 import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.dockable.DockHierarchyObserver;
 import bibliothek.gui.dock.event.DockRegisterListener;
 import bibliothek.gui.dock.event.DockStationAdapter;
 import bibliothek.gui.dock.event.DockStationListener;
 import bibliothek.gui.dock.station.LayoutLocked;
 import bibliothek.gui.dock.util.DockUtilities;
+import bibliothek.util.FrameworkOnly;
 
 /**
  * A set of all {@link bibliothek.gui.Dockable Dockables} and
@@ -68,6 +70,9 @@ public class DockRegister {
 	
 	/** the order in which the elements of {@link #changeMap} first appeared */
 	private LinkedList<Dockable> changeQueue = new LinkedList<Dockable>();
+	
+	/** the observers whose hierarchy events wait until this register is no longer stalled */
+	private Set<DockHierarchyObserver> delayedHierarchyEvents = new LinkedHashSet<DockHierarchyObserver>();
     
     /**
      * Creates a new register.
@@ -522,6 +527,7 @@ public class DockRegister {
 			this.stalled--;
 			if( !isStalled() ){
 				fireUnstalled();
+				fireDelayedHierarchyEvents();
 			}
 		}
 		
@@ -534,6 +540,41 @@ public class DockRegister {
 		}
 	}
     
+    /**
+     * Delays the pending {@link bibliothek.gui.dock.event.DockHierarchyEvent} of <code>observer</code> until 
+     * this register is no longer {@link #isStalled() stalled}. All delayed events are fired at once, each
+     * observer fires at most one event.
+     * @param observer the observer with a pending event
+     */
+    @FrameworkOnly
+    public void delayHierarchyEvent( DockHierarchyObserver observer ){
+    	delayedHierarchyEvents.add( observer );
+    }
+    
+    /**
+     * Removes <code>observer</code> from the set of observers whose events are delayed, to be called if 
+     * <code>observer</code> fires its event earlier.
+     * @param observer the observer which no longer waits
+     * @see #delayHierarchyEvent(DockHierarchyObserver)
+     */
+    @FrameworkOnly
+    public void removeDelayedHierarchyEvent( DockHierarchyObserver observer ){
+    	delayedHierarchyEvents.remove( observer );
+    }
+    
+    /**
+     * Lets all the observers that were {@link #delayHierarchyEvent(DockHierarchyObserver) delayed} fire their events.
+     */
+    private void fireDelayedHierarchyEvents(){
+    	if( !delayedHierarchyEvents.isEmpty() ){
+    		DockHierarchyObserver[] observers = delayedHierarchyEvents.toArray( new DockHierarchyObserver[ delayedHierarchyEvents.size() ] );
+    		delayedHierarchyEvents.clear();
+    		for( DockHierarchyObserver observer : observers ){
+    			observer.flushHierarchyChanged();
+    		}
+    	}
+    }
+    
     /**
      * Whether the register is currently stalled and does not forward
      * changes to the tree.
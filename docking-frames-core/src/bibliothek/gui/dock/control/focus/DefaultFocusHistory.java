@@ -25,12 +25,14 @@
  */
 package bibliothek.gui.dock.control.focus;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 
 import bibliothek.gui.DockController;
 import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.event.DockHierarchyEvent;
+import bibliothek.gui.dock.event.DockHierarchyListener;
 import bibliothek.gui.dock.event.DockRegisterAdapter;
 import bibliothek.gui.dock.event.DockableFocusEvent;
 import bibliothek.gui.dock.event.DockableFocusListener;
@@ -40,15 +42,35 @@ import bibliothek.util.Filter;
 /**
  * The default implementation of {@link FocusHistory} adds listeners to a 
  * {@link DockController} to keep the history up to date. Only {@link Dockable}s that
- * are actually registered at the controller are reported in the history
+ * are actually registered at the controller are reported in the history.<br>
+ * The history is a doubly linked list, moving a {@link Dockable} to the front of the list
+ * requires constant time. Each {@link DockStation} that is a parent of an item of the history
+ * is mapped to its newest child, hence {@link #getNewestOn(DockStation...)} does not need to
+ * traverse the history. This index is kept up to date by observing the {@link DockHierarchyEvent}s
+ * of the items.
  * @author Benjamin Sigg
  */
 public class DefaultFocusHistory implements FocusHistory{
 	/** the controller which is observed */
 	private DockController controller;
 	
-	/** the actual history */
-	private List<Dockable> history = new LinkedList<Dockable>();
+	/** all the items of the history */
+	private Map<Dockable, Entry> entries = new HashMap<Dockable, Entry>();
+	
+	/** the {@link Dockable} that had the focus most recently */
+	private Entry newest;
+	
+	/** the {@link Dockable} that did not have the focus for the longest time */
+	private Entry oldest;
+	
+	/** the stamp of the item that had the focus most recently */
+	private long stamp = 0;
+	
+	/** 
+	 * Tells for each {@link DockStation} which of its children had the focus most recently. If a station 
+	 * is mapped to <code>null</code>, then its entry is outdated and has to be searched again.
+	 */
+	private Map<DockStation, Entry> newestOn = new HashMap<DockStation, Entry>();
 	
 	/** the listeners that are added to {@link #controller} */
 	private Listener listener = new Listener();
@@ -58,7 +80,7 @@ public class DefaultFocusHistory implements FocusHistory{
 			this.controller.getRegister().removeDockRegisterListener( listener );
 			this.controller.getFocusController().removeDockableFocusListener( listener );
 		}
-		history.clear();
+		clear();
 		this.controller = controller;
 		if( this.controller != null ){
 			this.controller.getRegister().addDockRegisterListener( listener );
@@ -67,34 +89,232 @@ public class DefaultFocusHistory implements FocusHistory{
 	}
 	
 	public Dockable[] getHistory(){
-		Dockable[] result = new Dockable[ history.size() ];
-		int index = result.length-1;
-		for( Dockable item : history ){
-			result[ index-- ] = item;
+		Dockable[] result = new Dockable[ entries.size() ];
+		int index = 0;
+		for( Entry entry = oldest; entry != null; entry = entry.newer ){
+			result[ index++ ] = entry.dockable;
 		}
 		return result;
 	}
 	
 	public Dockable getNewestOn( DockStation... parents ){
-		for( Dockable item : history ){
-			for( DockStation station : parents ){
-				if( item != station && DockUtilities.isAncestor( station, item )){
-					return item;
-				}
+		Entry result = null;
+		for( DockStation station : parents ){
+			Entry entry = getNewestEntryOn( station );
+			if( entry != null && (result == null || entry.stamp > result.stamp) ){
+				result = entry;
 			}
 		}
-		return null;
+		return result == null ? null : result.dockable;
 	}
 	
 	public Dockable getFirst( Filter<Dockable> filter ){
-		for( Dockable dockable : history ){
-			if( filter.includes( dockable )){
-				return dockable;
+		for( Entry entry = newest; entry != null; entry = entry.older ){
+			if( filter.includes( entry.dockable )){
+				return entry.dockable;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Gets the item of the history that is a child of <code>station</code> and that had the focus
+	 * most recently.
+	 * @param station the parent of the item
+	 * @return the newest child of <code>station</code> or <code>null</code>
+	 */
+	private Entry getNewestEntryOn( DockStation station ){
+		if( controller != null && controller.isLayoutFrozen() ){
+			// hierarchy events are delayed, the index cannot be trusted
+			return searchNewestOn( station );
+		}
+		
+		if( !newestOn.containsKey( station )){
+			return null;
+		}
+		Entry entry = newestOn.get( station );
+		if( entry == null || !DockUtilities.isAncestor( station, entry.dockable )){
+			entry = searchNewestOn( station );
+			if( entry == null ){
+				newestOn.remove( station );
+			}
+			else{
+				newestOn.put( station, entry );
+			}
+		}
+		return entry;
+	}
+	
+	/**
+	 * Traverses the history and searches the newest item that is a child of <code>station</code>.
+	 * @param station the parent of the item
+	 * @return the newest child of <code>station</code> or <code>null</code>
+	 */
+	private Entry searchNewestOn( DockStation station ){
+		for( Entry entry = newest; entry != null; entry = entry.older ){
+			if( entry.dockable != station && DockUtilities.isAncestor( station, entry.dockable )){
+				return entry;
 			}
 		}
 		return null;
 	}
 	
+	/**
+	 * Moves <code>dockable</code> to the front of the history, adds <code>dockable</code> to
+	 * the history if it is not yet known.
+	 * @param dockable the element that gained the focus
+	 */
+	private void focused( Dockable dockable ){
+		Entry entry = entries.get( dockable );
+		if( entry == null ){
+			entry = new Entry( dockable );
+			entries.put( dockable, entry );
+			dockable.addDockHierarchyListener( entry );
+		}
+		else{
+			entry.unlink();
+		}
+		entry.stamp = ++stamp;
+		entry.linkNewest();
+		
+		for( DockStation station : entry.path ){
+			newestOn.put( station, entry );
+		}
+	}
+	
+	/**
+	 * Removes <code>dockable</code> from the history.
+	 * @param dockable the element to remove
+	 */
+	private void remove( Dockable dockable ){
+		Entry entry = entries.remove( dockable );
+		if( entry != null ){
+			entry.unlink();
+			dockable.removeDockHierarchyListener( entry );
+			entry.forget( null );
+		}
+	}
+	
+	/**
+	 * Removes all items from the history.
+	 */
+	private void clear(){
+		for( Entry entry : entries.values() ){
+			entry.dockable.removeDockHierarchyListener( entry );
+		}
+		entries.clear();
+		newestOn.clear();
+		newest = null;
+		oldest = null;
+	}
+	
+	/**
+	 * An item of the history, observes the path of its {@link Dockable} in order to keep
+	 * {@link DefaultFocusHistory#newestOn} up to date.
+	 * @author Benjamin Sigg
+	 */
+	private class Entry implements DockHierarchyListener{
+		/** the element of the history */
+		private Dockable dockable;
+		
+		/** the value of {@link DefaultFocusHistory#stamp} when {@link #dockable} gained the focus */
+		private long stamp;
+		
+		/** the parents of {@link #dockable} */
+		private DockStation[] path;
+		
+		/** the next newer item */
+		private Entry newer;
+		
+		/** the next older item */
+		private Entry older;
+		
+		public Entry( Dockable dockable ){
+			this.dockable = dockable;
+			path = new DockHierarchyEvent( dockable ).getPath();
+		}
+		
+		/**
+		 * Inserts this entry at the front of the history.
+		 */
+		public void linkNewest(){
+			older = newest;
+			if( newest != null ){
+				newest.newer = this;
+			}
+			newest = this;
+			if( oldest == null ){
+				oldest = this;
+			}
+		}
+		
+		/**
+		 * Removes this entry from the history.
+		 */
+		public void unlink(){
+			if( newer == null ){
+				newest = older;
+			}
+			else{
+				newer.older = older;
+			}
+			if( older == null ){
+				oldest = newer;
+			}
+			else{
+				older.newer = newer;
+			}
+			newer = null;
+			older = null;
+		}
+		
+		/**
+		 * Marks the index of any station of {@link #path} which is not in <code>keep</code> and
+		 * which points to this entry as outdated.
+		 * @param keep the stations whose index remains valid, can be <code>null</code>
+		 */
+		public void forget( DockStation[] keep ){
+			for( DockStation station : path ){
+				if( newestOn.get( station ) == this && !contains( keep, station )){
+					newestOn.put( station, null );
+				}
+			}
+		}
+		
+		private boolean contains( DockStation[] array, DockStation station ){
+			if( array != null ){
+				for( DockStation item : array ){
+					if( item == station ){
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+		
+		public void hierarchyChanged( DockHierarchyEvent event ){
+			DockStation[] next = event.getPath();
+			forget( next );
+			path = next;
+			
+			for( DockStation station : path ){
+				if( newestOn.containsKey( station )){
+					Entry current = newestOn.get( station );
+					if( current != null && current.stamp < stamp ){
+						newestOn.put( station, this );
+					}
+				}
+				else{
+					newestOn.put( station, this );
+				}
+			}
+		}
+		
+		public void controllerChanged( DockHierarchyEvent event ){
+			// ignore
+		}
+	}
+	
 	/**
 	 * A set of listeners that are needed to find out which {@link Dockable} currently has the
 	 * focus, and which {@link Dockable}s are to be removed.
@@ -102,14 +322,17 @@ public class DefaultFocusHistory implements FocusHistory{
 	 */
 	private class Listener extends DockRegisterAdapter implements DockableFocusListener{
 		public void dockableUnregistered( DockController controller, Dockable dockable ){
-			history.remove( dockable );
+			remove( dockable );
+		}
+		
+		public void dockStationUnregistered( DockController controller, DockStation station ){
+			newestOn.remove( station );
 		}
 		
 		public void dockableFocused( DockableFocusEvent event ){
 			Dockable owner = event.getNewFocusOwner();
 			if( owner != null ){
-				history.remove( owner );
-				history.add( 0, owner );
+				focused( owner );
 			}
 		}
 	}
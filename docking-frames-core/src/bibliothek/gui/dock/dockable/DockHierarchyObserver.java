@@ -25,14 +25,12 @@
  */
 package bibliothek.gui.dock.dockable;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import bibliothek.gui.DockController;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DockElement;
 import bibliothek.gui.dock.event.DockHierarchyEvent;
 import bibliothek.gui.dock.event.DockHierarchyListener;
+import bibliothek.util.FrameworkOnly;
 
 /**
  * A helper class that is able to send {@link DockHierarchyEvent}s to
@@ -41,14 +39,21 @@ import bibliothek.gui.dock.event.DockHierarchyListener;
  * calls {@link #update()} and the observer ensures that all events are
  * send properly. The client should call {@link #controllerChanged(DockController)} whenever
  * the {@link DockController} changes. This observer will automatically monitor the super-parents
- * of its owner and fire events when necessary.
+ * of its owner and fire events when necessary.<br>
+ * While the layout of the {@link DockController} is {@link DockController#isLayoutFrozen() frozen}
+ * changes of the hierarchy are not forwarded immediately. Instead they are collected and
+ * exactly one event is fired once the layout {@link DockController#meltLayout() melts}. The
+ * {@link bibliothek.gui.dock.control.DockRegister} of the controller keeps track of the waiting observers.
  * @author Benjamin Sigg
  */
 public class DockHierarchyObserver implements DockHierarchyListener{
 	/** the currently observed parent */
 	private DockElement parent;
-    /** a list of listeners which are informed when the hierarchy changes */
-    private List<DockHierarchyListener> hierarchyListeners = new ArrayList<DockHierarchyListener>();
+    /** the listeners which are informed when the hierarchy changes, this array is replaced whenever a listener is added or removed */
+    private DockHierarchyListener[] hierarchyListeners = new DockHierarchyListener[0];
+    
+    /** the controller whose frozen layout delays a hierarchy event, <code>null</code> if no event is pending */
+    private DockController pendingController;
     
     /** The Dockable for which events are generated */
     private Dockable owner;
@@ -74,6 +79,7 @@ public class DockHierarchyObserver implements DockHierarchyListener{
 	 * @param controller the new controller
 	 */
 	public void controllerChanged( DockController controller ){
+		flushHierarchyChanged();
 		fireControllerChanged( controller );
 	}
 	
@@ -82,7 +88,10 @@ public class DockHierarchyObserver implements DockHierarchyListener{
 	 * @param listener the new listener
 	 */
 	public void addDockHierarchyListener( DockHierarchyListener listener ){
-    	hierarchyListeners.add( listener );
+    	DockHierarchyListener[] copy = new DockHierarchyListener[ hierarchyListeners.length+1 ];
+    	System.arraycopy( hierarchyListeners, 0, copy, 0, hierarchyListeners.length );
+    	copy[ hierarchyListeners.length ] = listener;
+    	hierarchyListeners = copy;
     }
     
 	/**
@@ -90,16 +99,56 @@ public class DockHierarchyObserver implements DockHierarchyListener{
 	 * @param listener the listener to remove
 	 */
     public void removeDockHierarchyListener( DockHierarchyListener listener ){
-    	hierarchyListeners.remove( listener );
+    	for( int i = 0; i < hierarchyListeners.length; i++ ){
+    		if( hierarchyListeners[i] == listener ){
+    			DockHierarchyListener[] copy = new DockHierarchyListener[ hierarchyListeners.length-1 ];
+    			System.arraycopy( hierarchyListeners, 0, copy, 0, i );
+    			System.arraycopy( hierarchyListeners, i+1, copy, i, copy.length-i );
+    			hierarchyListeners = copy;
+    			return;
+    		}
+    	}
+    }
+    
+    /**
+     * Tells whether a {@link DockHierarchyEvent} is waiting for the layout of the 
+     * {@link DockController} to melt.
+     * @return <code>true</code> if an event is pending
+     */
+    public boolean isHierarchyChangePending(){
+    	return pendingController != null;
     }
 	
     /**
-     * Fires a {@link DockHierarchyEvent} to all registered listeners.
+     * Fires a {@link DockHierarchyEvent} to all registered listeners. If the layout 
+     * of the current {@link DockController} is frozen, then the event is delayed until
+     * the layout melts. Any number of calls while the layout is frozen result in
+     * only one event.
      */
     protected void fireHierarchyChanged(){
-    	if( !hierarchyListeners.isEmpty() ){
+    	if( pendingController != null ){
+    		return;
+    	}
+    	
+    	DockController controller = owner.getController();
+    	if( controller != null && controller.isLayoutFrozen() ){
+    		pendingController = controller;
+    		controller.getRegister().delayHierarchyEvent( this );
+    		return;
+    	}
+    	
+    	fireHierarchyChangedNow();
+    }
+    
+    /**
+     * Fires a {@link DockHierarchyEvent} to all registered listeners without checking the
+     * state of the layout.
+     */
+    private void fireHierarchyChangedNow(){
+    	DockHierarchyListener[] listeners = hierarchyListeners;
+    	if( listeners.length > 0 ){
 	    	DockHierarchyEvent event = new DockHierarchyEvent( owner );
-	    	for( DockHierarchyListener listener : hierarchyListeners.toArray( new DockHierarchyListener[ hierarchyListeners.size() ] )){
+	    	for( DockHierarchyListener listener : listeners ){
 	    		listener.hierarchyChanged( event );
 	    	}
     	}
@@ -110,9 +159,10 @@ public class DockHierarchyObserver implements DockHierarchyListener{
      * @param controller the new controller
      */
     protected void fireControllerChanged( DockController controller ){
-    	if( !hierarchyListeners.isEmpty() ){
+    	DockHierarchyListener[] listeners = hierarchyListeners;
+    	if( listeners.length > 0 ){
 	    	DockHierarchyEvent event = new DockHierarchyEvent( owner, controller );
-	    	for( DockHierarchyListener listener : hierarchyListeners.toArray( new DockHierarchyListener[ hierarchyListeners.size() ] )){
+	    	for( DockHierarchyListener listener : listeners ){
 	    		listener.controllerChanged( event );
 	    	}
     	}
@@ -136,4 +186,18 @@ public class DockHierarchyObserver implements DockHierarchyListener{
 	        fireHierarchyChanged();
 	    }
 	}
+	
+	/**
+	 * Fires the pending {@link DockHierarchyEvent}, if there is one, regardless of whether the
+	 * layout is still frozen or not. This method is called by the {@link bibliothek.gui.dock.control.DockRegister}
+	 * once the layout melts.
+	 */
+	@FrameworkOnly
+	public void flushHierarchyChanged(){
+		if( pendingController != null ){
+			pendingController.getRegister().removeDelayedHierarchyEvent( this );
+			pendingController = null;
+			fireHierarchyChangedNow();
+		}
+	}
 }
\ No newline at end of file
@@ -27,9 +27,10 @@ package bibliothek.gui.dock.dockable;
 
 import java.awt.Component;
 import java.awt.Dimension;
-import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
 import java.awt.RenderingHints;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
 
 import javax.swing.Icon;
@@ -137,7 +138,9 @@ public class ScreencaptureMovingImageFactory implements DockableMovingImageFacto
     }
     
     /**
-     * This method creates a new image that contains the contents of <code>c</code>.
+     * This method creates a new image that contains the contents of <code>c</code>. If <code>c</code> 
+     * consists only of Swing components, then <code>c</code> is painted directly with the reduced size,
+     * otherwise the {@link AWTComponentCaptureStrategy} is used and the resulting image is scaled down.
      * @param controller the controller for which the image is made
      * @param c the {@link Component} whose image should be taken
      * @return an image of <code>c</code> which is not larger than the
@@ -153,44 +156,73 @@ public class ScreencaptureMovingImageFactory implements DockableMovingImageFacto
         BufferedImage image = null;
         
         if( size.width >= 10 && size.height >= 10 ){
+            Dimension scaled = getScaledSize( size );
+            
             if( DockSwingUtilities.containsAWTComponents( c )){
                 image = controller.getProperties().get( AWTComponentCaptureStrategy.STRATEGY ).createCapture( controller, c );
+                
+                if( image != null && (scaled.width != size.width || scaled.height != size.height) ){
+                    BufferedImage small = createImage( c, scaled.width, scaled.height );
+                    Graphics2D g = small.createGraphics();
+                    g.setRenderingHint( RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC );
+                    g.setRenderingHint( RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON );
+                    g.drawImage( image, 0, 0, scaled.width, scaled.height, 0, 0, size.width, size.height, null );
+                    g.dispose();
+                    image = small;
+                }
             }
             else{
-                image = new BufferedImage( size.width, size.height, BufferedImage.TYPE_INT_ARGB );
-                Graphics g = image.createGraphics();
+                image = createImage( c, scaled.width, scaled.height );
+                Graphics2D g = image.createGraphics();
+                if( scaled.width != size.width || scaled.height != size.height ){
+                    g.setRenderingHint( RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR );
+                    g.setRenderingHint( RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON );
+                    g.scale( scaled.width / size.getWidth(), scaled.height / size.getHeight() );
+                }
                 c.paint( g );
                 g.dispose();
             }
-            
-            if( image != null ){
-                double factor = 1.0;
-                if( max != null ){
-                	factor = Math.min( 
-                        max.getWidth() / size.getWidth(), 
-                        max.getHeight() / size.getHeight() );
-                }
-
-                if( factor < 1.0 ){
-                    int w = (int)( factor * size.getWidth() );
-                    int h = (int)( factor * size.getHeight() );
-
-                    w = Math.max( w, 1 );
-                    h = Math.max( h, 1 );
-
-                    if( w != size.width || h != size.height ){
-                        BufferedImage small = new BufferedImage( w, h, image.getType() );
-                        Graphics2D g = small.createGraphics();
-                        g.setRenderingHint( RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC );
-                        g.setRenderingHint( RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON );
-                        g.drawImage( image, 0, 0, w, h, 0, 0, size.width, size.height, null );
-                        g.dispose();
-                        image = small;
-                    }
-                }
-            }
         }
         
         return image;
     }
+    
+    /**
+     * Calculates the size of the image showing a {@link Component} of size <code>size</code>, 
+     * respecting the maximum size of this factory.
+     * @param size the size of the {@link Component}
+     * @return the size of the image, not larger than <code>size</code>
+     */
+    protected Dimension getScaledSize( Dimension size ){
+        double factor = 1.0;
+        if( max != null ){
+        	factor = Math.min( 
+                max.getWidth() / size.getWidth(), 
+                max.getHeight() / size.getHeight() );
+        }
+
+        if( factor < 1.0 ){
+            int w = (int)( factor * size.getWidth() );
+            int h = (int)( factor * size.getHeight() );
+
+            return new Dimension( Math.max( w, 1 ), Math.max( h, 1 ) );
+        }
+        return new Dimension( size );
+    }
+    
+    /**
+     * Creates a new, translucent image. If possible the image is compatible with the screen 
+     * on which <code>c</code> is shown, which allows faster painting of the image.
+     * @param c the component whose image will be painted
+     * @param width the width of the new image
+     * @param height the height of the new image
+     * @return the new image
+     */
+    protected BufferedImage createImage( Component c, int width, int height ){
+    	GraphicsConfiguration configuration = c.getGraphicsConfiguration();
+    	if( configuration != null ){
+    		return configuration.createCompatibleImage( width, height, Transparency.TRANSLUCENT );
+    	}
+    	return new BufferedImage( width, height, BufferedImage.TYPE_INT_ARGB );
+    }
 }
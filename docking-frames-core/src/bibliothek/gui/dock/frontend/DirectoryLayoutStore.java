@@ -0,0 +1,255 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.frontend;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import bibliothek.util.FileReplacer;
+import bibliothek.util.Version;
+
+/**
+ * A {@link LayoutStore} that writes each setting into its own file. All the files are stored in one directory,
+ * an index file maps the names of the settings to the names of the files. Only the index is kept in memory,
+ * the content of a setting is read from the disk whenever it is requested.<br>
+ * Files are first written to a temporary file and then renamed, hence an interrupted write operation does not
+ * destroy the previous version of a setting.
+ * @author Benjamin Sigg
+ */
+public class DirectoryLayoutStore implements LayoutStore {
+	/** the name of the index file */
+	public static final String INDEX_FILE = "layouts.index";
+	
+	/** the directory in which all files are stored */
+	private File directory;
+	
+	/** maps the names of the settings to the names of their files */
+	private Map<String, String> index = new LinkedHashMap<String, String>();
+	
+	/** the unique identifier of the next file that is created */
+	private int nextId = 0;
+	
+	/**
+	 * Creates a new store using <code>directory</code> to store its files. If the directory already
+	 * contains an index file, then the index is read.
+	 * @param directory the directory in which to store all files, will be created if it does not exist
+	 * @throws IOException if the directory cannot be created, or if the existing index cannot be read
+	 */
+	public DirectoryLayoutStore( File directory ) throws IOException{
+		if( directory == null ){
+			throw new IllegalArgumentException( "directory must not be null" );
+		}
+		if( !directory.isDirectory() && !directory.mkdirs() ){
+			throw new IOException( "unable to create directory " + directory );
+		}
+		this.directory = directory;
+		readIndex();
+	}
+	
+	/**
+	 * Gets the directory in which this store writes its files.
+	 * @return the directory, not <code>null</code>
+	 */
+	public File getDirectory(){
+		return directory;
+	}
+	
+	public synchronized String[] getNames(){
+		return index.keySet().toArray( new String[ index.size() ] );
+	}
+	
+	public synchronized boolean contains( String name ){
+		return index.containsKey( name );
+	}
+	
+	public synchronized byte[] read( String name ) throws IOException{
+		String fileName = index.get( name );
+		if( fileName == null ){
+			return null;
+		}
+		File file = FileReplacer.recover( new File( directory, fileName ));
+		if( !file.exists() ){
+			return null;
+		}
+		
+		DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( file )));
+		try{
+			byte[] content = new byte[ (int)file.length() ];
+			in.readFully( content );
+			return content;
+		}
+		finally{
+			in.close();
+		}
+	}
+	
+	public synchronized void write( String name, byte[] content ) throws IOException{
+		if( name == null ){
+			throw new IllegalArgumentException( "name must not be null" );
+		}
+		if( content == null ){
+			throw new IllegalArgumentException( "content must not be null" );
+		}
+		
+		String fileName = index.get( name );
+		boolean created = fileName == null;
+		if( created ){
+			fileName = "layout-" + (nextId++) + ".dat";
+		}
+		
+		DataOutputStream out = open( fileName );
+		boolean success = false;
+		try{
+			out.write( content );
+			success = true;
+		}
+		finally{
+			close( out, fileName, success );
+		}
+		
+		if( created ){
+			index.put( name, fileName );
+			writeIndex();
+		}
+	}
+	
+	public synchronized boolean delete( String name ) throws IOException{
+		String fileName = index.remove( name );
+		if( fileName == null ){
+			return false;
+		}
+		writeIndex();
+		File file = new File( directory, fileName );
+		if( file.exists() && !file.delete() ){
+			throw new IOException( "unable to delete " + file );
+		}
+		return true;
+	}
+	
+	/**
+	 * Reads the index file, if there is one.
+	 * @throws IOException if the file cannot be read
+	 */
+	private void readIndex() throws IOException{
+		File file = FileReplacer.recover( new File( directory, INDEX_FILE ));
+		if( !file.exists() ){
+			return;
+		}
+		
+		DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( file )));
+		try{
+			Version version = Version.read( in );
+			version.checkCurrent();
+			
+			nextId = in.readInt();
+			int count = in.readInt();
+			for( int i = 0; i < count; i++ ){
+				String name = in.readUTF();
+				String fileName = in.readUTF();
+				index.put( name, fileName );
+			}
+		}
+		finally{
+			in.close();
+		}
+	}
+	
+	/**
+	 * Writes the index file.
+	 * @throws IOException if the file cannot be written
+	 */
+	private void writeIndex() throws IOException{
+		DataOutputStream out = open( INDEX_FILE );
+		boolean success = false;
+		try{
+			Version.write( out, Version.VERSION_1_1_2 );
+			out.writeInt( nextId );
+			out.writeInt( index.size() );
+			for( Map.Entry<String, String> entry : index.entrySet() ){
+				out.writeUTF( entry.getKey() );
+				out.writeUTF( entry.getValue() );
+			}
+			success = true;
+		}
+		finally{
+			close( out, INDEX_FILE, success );
+		}
+	}
+	
+	/**
+	 * Opens a stream to the temporary file that will replace the file <code>fileName</code>.
+	 * @param fileName the name of the file that is going to be written
+	 * @return the stream to write into
+	 * @throws IOException if the file cannot be created
+	 */
+	private DataOutputStream open( String fileName ) throws IOException{
+		return new DataOutputStream( new BufferedOutputStream( new FileOutputStream( temp( fileName ))));
+	}
+	
+	/**
+	 * Closes <code>out</code> and replaces the file <code>fileName</code> by the temporary file 
+	 * <code>out</code> was writing into, see {@link FileReplacer#replace(File, File)}.
+	 * @param out the stream that was opened by {@link #open(String)}
+	 * @param fileName the name of the file to replace
+	 * @param success if <code>false</code>, then writing failed and the temporary file is deleted
+	 * instead of replacing <code>fileName</code>
+	 * @throws IOException if the stream cannot be closed or the file cannot be replaced
+	 */
+	private void close( DataOutputStream out, String fileName, boolean success ) throws IOException{
+		File temp = temp( fileName );
+		File file = new File( directory, fileName );
+		
+		if( !success ){
+			try{
+				out.close();
+			}
+			finally{
+				temp.delete();
+			}
+			return;
+		}
+		
+		out.close();
+		FileReplacer.replace( temp, file );
+	}
+	
+	/**
+	 * Gets the temporary file that is used while writing <code>fileName</code>.
+	 * @param fileName the name of the file
+	 * @return the temporary file
+	 */
+	private File temp( String fileName ){
+		return new File( directory, fileName + ".tmp" );
+	}
+}
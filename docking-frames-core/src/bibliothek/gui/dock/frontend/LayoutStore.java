@@ -0,0 +1,80 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.frontend;
+
+import java.io.IOException;
+
+import bibliothek.gui.DockFrontend;
+
+/**
+ * A {@link LayoutStore} is a persistent storage for the named {@link Setting}s of a {@link DockFrontend}. Each
+ * setting is stored as an individual array of bytes, hence the {@link DockFrontend} can read and write settings 
+ * on demand and does not need to keep all of them in memory.<br>
+ * The {@link LayoutStore} does not need to understand the content of the arrays, it only has to remember them.
+ * @author Benjamin Sigg
+ * @see DockFrontend#setLayoutStore(LayoutStore)
+ * @see DirectoryLayoutStore
+ */
+public interface LayoutStore {
+	/**
+	 * Gets the names of all the settings that are currently stored.
+	 * @return the names, not <code>null</code>
+	 */
+	public String[] getNames();
+	
+	/**
+	 * Tells whether there is a setting with name <code>name</code>.
+	 * @param name the name of the setting
+	 * @return <code>true</code> if {@link #read(String)} would return a value
+	 */
+	public boolean contains( String name );
+	
+	/**
+	 * Reads the content of the setting <code>name</code>.
+	 * @param name the name of the setting
+	 * @return the content, exactly as it was given to {@link #write(String, byte[])}, or <code>null</code>
+	 * if there is no such setting
+	 * @throws IOException if the setting cannot be read
+	 */
+	public byte[] read( String name ) throws IOException;
+	
+	/**
+	 * Stores <code>content</code> as the setting with name <code>name</code>, replacing any existing setting
+	 * with the same name.
+	 * @param name the name of the setting
+	 * @param content the content of the setting
+	 * @throws IOException if the setting cannot be stored
+	 */
+	public void write( String name, byte[] content ) throws IOException;
+	
+	/**
+	 * Deletes the setting <code>name</code>.
+	 * @param name the name of the setting
+	 * @return <code>true</code> if the setting existed, <code>false</code> otherwise
+	 * @throws IOException if the setting cannot be deleted
+	 */
+	public boolean delete( String name ) throws IOException;
+}
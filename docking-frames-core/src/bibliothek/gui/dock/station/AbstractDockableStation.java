@@ -43,6 +43,7 @@ import bibliothek.gui.dock.dockable.AbstractDockable;
 import bibliothek.gui.dock.event.DockStationListener;
 import bibliothek.gui.dock.station.layer.DefaultDropLayer;
 import bibliothek.gui.dock.station.layer.DockStationDropLayer;
+import bibliothek.gui.dock.station.support.DockStationBatch;
 import bibliothek.gui.dock.station.support.DockStationListenerManager;
 import bibliothek.gui.dock.title.ActivityDockTitleEvent;
 import bibliothek.gui.dock.title.DockTitle;
@@ -71,6 +72,17 @@ public abstract class AbstractDockableStation extends AbstractDockable implement
 	
 	/** The theme of this station */
 	private DockTheme theme;
+	
+	/** the batch that is started by {@link #beginBatch()} */
+	private DockStationBatch batch = new DockStationBatch( this ){
+		@Override
+		protected void finished(){
+			batchFinished();
+		}
+	};
+	
+	/** the index of the first child that was repositioned while a batch was running, -1 if no child was repositioned */
+	private int batchRepositioned = -1;
     
 	/**
 	 * Constructs a new station, but does nothing more
@@ -215,6 +227,52 @@ public abstract class AbstractDockableStation extends AbstractDockable implement
     	};
     }
     
+    /**
+     * Starts a batch of modifications, this station delays revalidating its {@link java.awt.Component}s and calling 
+     * {@link DockStationListener#dockablesRepositioned(DockStation, Dockable[])} until {@link #endBatch()} is called.
+     * @see DockStationBatch#begin()
+     */
+    public void beginBatch(){
+    	batch.begin();
+    }
+    
+    /**
+     * Ends a batch that was started by {@link #beginBatch()}.
+     * @throws IllegalStateException if no batch is running
+     * @see DockStationBatch#end()
+     */
+    public void endBatch(){
+    	batch.end();
+    }
+    
+    /**
+     * Tells whether a batch started by {@link #beginBatch()} is currently running.
+     * @return whether modifications are currently collected
+     */
+    public boolean isBatching(){
+    	return batch.isRunning();
+    }
+    
+    /**
+     * Called when the outermost batch ends. Subclasses should execute the work they delayed
+     * and then call the original method, which fires events for repositioned {@link Dockable}s.
+     */
+    protected void batchFinished(){
+    	if( batchRepositioned >= 0 ){
+    		int fromIndex = batchRepositioned;
+    		batchRepositioned = -1;
+    		fireDockablesRepositioned( fromIndex );
+    	}
+    }
+    
+    /**
+     * Calls {@link DockUtilities#checkLayoutLocked()} unless a batch is running.
+     * @see DockStationBatch#checkLayoutLocked()
+     */
+    protected void checkLayoutLocked(){
+    	batch.checkLayoutLocked();
+    }
+    
     /**
      * Invokes {@link DockStationListenerManager#fireDockablesRepositioned(Dockable...)} for
      * all children starting at index <code>fromIndex</code>.
@@ -226,11 +284,18 @@ public abstract class AbstractDockableStation extends AbstractDockable implement
     
     /**
      * Invokes {@link DockStationListenerManager#fireDockablesRepositioned(Dockable...)} for
-     * all children starting at index <code>fromIndex</code> to index <code>toIndex</code>.
+     * all children starting at index <code>fromIndex</code> to index <code>toIndex</code>. If a
+     * batch is running, then the event is delayed until the batch ends.
      * @param fromIndex the index of the first moved child
      * @param toIndex the index of the last moved child
      */
     protected void fireDockablesRepositioned( int fromIndex, int toIndex ){
+    	if( isBatching() ){
+    		if( fromIndex <= toIndex && (batchRepositioned < 0 || fromIndex < batchRepositioned) ){
+    			batchRepositioned = fromIndex;
+    		}
+    		return;
+    	}
         int count = toIndex - fromIndex + 1;
         if( count > 0 ){
         	Dockable[] moved = new Dockable[count];
@@ -27,14 +27,20 @@
 package bibliothek.gui.dock.station;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import bibliothek.gui.DockController;
 import bibliothek.gui.DockStation;
+import bibliothek.gui.DockTheme;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.displayer.DisplayerRequest;
+import bibliothek.gui.dock.event.UIListener;
 import bibliothek.gui.dock.themes.DefaultDisplayerFactoryValue;
+import bibliothek.gui.dock.themes.ThemeDisplayerFactory;
+import bibliothek.gui.dock.themes.ThemeManager;
 import bibliothek.gui.dock.title.DockTitle;
 import bibliothek.gui.dock.util.extension.Extension;
 
@@ -64,6 +70,33 @@ public class DisplayerCollection implements Iterable<DockableDisplayer>{
     
     private String displayerId;
     
+    /** the value that is wrapped by {@link #factory}, can be <code>null</code> */
+    private DefaultDisplayerFactoryValue factoryValue;
+    
+    /** 
+     * Displayers that were released while the {@link DockTheme} changed, they are reused if the
+     * same {@link Dockable} is shown again and the {@link DisplayerFactory} did not change.
+     */
+    private Map<Dockable, Handle> recycled;
+    
+    /** the manager to which {@link #recycleListener} was added */
+    private ThemeManager recycleManager;
+    
+    /** releases all the {@link #recycled} displayers once the theme has been changed */
+    private UIListener recycleListener = new UIListener(){
+		public void updateUI( DockController controller ){
+			// ignore
+		}
+		
+		public void themeWillChange( DockController controller, DockTheme oldTheme, DockTheme newTheme ){
+			// ignore
+		}
+		
+		public void themeChanged( DockController controller, DockTheme oldTheme, DockTheme newTheme ){
+			flushRecycled();
+		}
+	};
+    
     /**
      * Creates a new collection
      * @param station the station for which {@link DockableDisplayer} will be created
@@ -100,6 +133,7 @@ public class DisplayerCollection implements Iterable<DockableDisplayer>{
     			factory.request( request );
 			}
 		}, displayerId );
+    	this.factoryValue = factory;
     }
     
     /**
@@ -158,9 +192,20 @@ public class DisplayerCollection implements Iterable<DockableDisplayer>{
      * @return the new displayer
      */
     public DockableDisplayer fetch(  Dockable dockable, DockTitle title ){
-    	Handle handle = new Handle( dockable );
-    	handle.setController( controller );
-    	handle.request( title );
+    	Handle handle = null;
+    	if( recycled != null ){
+    		handle = recycled.remove( dockable );
+    		if( handle != null && handle.getFactory() != currentFactory() ){
+    			discard( handle );
+    			handle = null;
+    		}
+    	}
+    	
+    	if( handle == null ){
+	    	handle = new Handle( dockable );
+	    	handle.setController( controller );
+	    	handle.request( title );
+    	}
     	DockableDisplayer displayer = handle.getAnswer();
     	
         displayer.setDockable( dockable );
@@ -183,17 +228,92 @@ public class DisplayerCollection implements Iterable<DockableDisplayer>{
     		displayer.removeDockableDisplayerListener( listener );
     	}
     	
-    	Iterator<DockableDisplayer> iter = iterator();
+    	Handle handle = null;
+    	Iterator<Handle> iter = displayers.iterator();
     	while( iter.hasNext() ){
-    		if( iter.next() == displayer ){
+    		Handle next = iter.next();
+    		if( next.getAnswer() == displayer ){
     			iter.remove();
+    			handle = next;
     		}
     	}
-
+    	
         displayer.setTitle( null );
         displayer.setDockable( null );
         displayer.setStation( null );
-        displayer.setController( null );
+        
+        if( handle != null && isRecycling() ){
+        	recycle( handle );
+        }
+        else{
+        	displayer.setController( null );
+        }
+    }
+    
+    /**
+     * Tells whether released displayers should be kept for later reuse. This is the case while
+     * the {@link ThemeManager} updates the {@link DockStation}s after the {@link DockTheme} changed.
+     * @return whether to recycle displayers
+     */
+    private boolean isRecycling(){
+    	return controller != null && controller.getThemeManager().isUpdatingTheme();
+    }
+    
+    /**
+     * Stores <code>handle</code> for later reuse.
+     * @param handle the handle that is no longer used
+     */
+    private void recycle( Handle handle ){
+    	if( recycled == null ){
+    		recycled = new HashMap<Dockable, Handle>();
+    		recycleManager = controller.getThemeManager();
+    		recycleManager.addUIListener( recycleListener );
+    	}
+    	Handle old = recycled.put( handle.getTarget(), handle );
+    	if( old != null ){
+    		discard( old );
+    	}
+    }
+    
+    /**
+     * Releases all the displayers that were recycled but not reused.
+     */
+    private void flushRecycled(){
+    	if( recycled != null ){
+    		for( Handle handle : recycled.values() ){
+    			discard( handle );
+    		}
+    		recycled = null;
+    		recycleManager.removeUIListener( recycleListener );
+    		recycleManager = null;
+    	}
+    }
+    
+    /**
+     * Completes the release of a displayer that was recycled.
+     * @param handle the handle whose displayer is no longer needed
+     */
+    private void discard( Handle handle ){
+    	DockableDisplayer displayer = handle.getAnswer();
+    	if( displayer != null ){
+    		displayer.setController( null );
+    	}
+    }
+    
+    /**
+     * Gets the {@link DisplayerFactory} that is actually used to create new displayers. Factories
+     * that just forward calls to the current {@link DockTheme} are resolved.
+     * @return the factory that is currently used
+     */
+    private Object currentFactory(){
+    	if( factoryValue == null ){
+    		return factory;
+    	}
+    	DisplayerFactory result = factoryValue.get();
+    	if( result instanceof ThemeDisplayerFactory ){
+    		return ((ThemeDisplayerFactory)result).getFactory( station );
+    	}
+    	return result;
     }
     
     /**
@@ -206,6 +326,7 @@ public class DisplayerCollection implements Iterable<DockableDisplayer>{
             throw new IllegalArgumentException( "Factory must not be null" );
         
         this.factory = factory;
+        this.factoryValue = null;
     }
     
     /**
@@ -215,6 +336,7 @@ public class DisplayerCollection implements Iterable<DockableDisplayer>{
      */
     public void setController( DockController controller ){
         if( this.controller != controller ){
+        	flushRecycled();
             this.controller = controller;
             for( Handle handle : displayers ){
             	handle.setController( controller );
@@ -227,6 +349,9 @@ public class DisplayerCollection implements Iterable<DockableDisplayer>{
      * @author Benjamin Sigg
      */
     private class Handle extends DisplayerRequest {
+    	/** the factory that was used when the displayer was created */
+    	private Object creator;
+    	
 		public Handle( Dockable target ){
 			super( station, target, new DisplayerFactory(){
 				public void request( DisplayerRequest request ){
@@ -244,6 +369,20 @@ public class DisplayerCollection implements Iterable<DockableDisplayer>{
 			}
 		}
 
+		@Override
+		protected void executeRequestList(){
+			creator = currentFactory();
+			super.executeRequestList();
+		}
+		
+		/**
+		 * Gets the factory that was used to create the current displayer.
+		 * @return the factory
+		 */
+		public Object getFactory(){
+			return creator;
+		}
+		
 		@Override
 		protected void answer( DockableDisplayer previousResource, DockableDisplayer newResource ){
 			if( previousResource != null ){
@@ -57,6 +57,9 @@ public class StationChildHandle implements PlaceholderListItem<Dockable>{
 	/** the current request for a {@link DockTitle} */
 	private DockTitleRequest titleRequest;
 	
+	/** whether {@link #dockable} and its {@link DockTitle} are currently {@link #detach() detached} from {@link #displayer} */
+	private boolean detached = false;
+	
 	/** listener added to {@link #dockable} to be informed if the title needs to be updated */
 	private DockableListener listener = new DockableAdapter(){
 		public void titleExchanged( Dockable dockable, DockTitle title ){
@@ -96,11 +99,12 @@ public class StationChildHandle implements PlaceholderListItem<Dockable>{
 	public void destroy(){
 		if( displayer != null ){
 			DockTitle title = displayer.getTitle();
-			if( title != null ){
+			if( title != null && !detached ){
 				dockable.unbind( title );
 			}
 			displayers.release( displayer );
 			displayer = null;
+			detached = false;
 		}
 		
 		if( titleRequest != null ){
@@ -134,6 +138,69 @@ public class StationChildHandle implements PlaceholderListItem<Dockable>{
 		}
 		
 		displayer = displayers.fetch( dockable, title );
+		if( detached ){
+			displayer.setDockable( null );
+		}
+	}
+	
+	/**
+	 * Removes the {@link Dockable} from the current {@link DockableDisplayer} and unbinds the current
+	 * {@link DockTitle}, but keeps both the displayer and the title. A detached handle can be stored,
+	 * e.g. in a cache, and be used again later by calling {@link #attach()}. Nothing happens if there
+	 * is no displayer or if this handle is already detached.
+	 */
+	public void detach(){
+		if( displayer != null && !detached ){
+			detached = true;
+			DockTitle title = displayer.getTitle();
+			if( title != null ){
+				dockable.unbind( title );
+			}
+			displayer.setDockable( null );
+		}
+	}
+	
+	/**
+	 * Puts the {@link Dockable} back into the current {@link DockableDisplayer} and binds the
+	 * current {@link DockTitle} again, reverting the effects of {@link #detach()}. Nothing happens
+	 * if this handle is not detached.
+	 */
+	public void attach(){
+		if( detached ){
+			detached = false;
+			displayer.setDockable( dockable );
+			DockTitle title = displayer.getTitle();
+			if( title != null ){
+				dockable.bind( title );
+			}
+		}
+	}
+	
+	/**
+	 * Tells whether this handle is currently {@link #detach() detached} from its {@link Dockable}.
+	 * @return whether the displayer and the title are not in use
+	 */
+	public boolean isDetached(){
+		return detached;
+	}
+	
+	/**
+	 * Releases the current {@link DockableDisplayer} and the current {@link DockTitle}, but keeps the
+	 * {@link DockTitleRequest}. Clients can call {@link #updateDisplayer()} to create a new displayer and title.
+	 */
+	public void releaseDisplayer(){
+		if( titleRequest != null ){
+			titleRequest.requestNull();
+		}
+		if( displayer != null ){
+			DockTitle title = displayer.getTitle();
+			if( title != null && !detached ){
+				dockable.unbind( title );
+			}
+			displayers.release( displayer );
+			displayer = null;
+			detached = false;
+		}
 	}
 	
 	/**
@@ -188,10 +255,14 @@ public class StationChildHandle implements PlaceholderListItem<Dockable>{
 			titleRequest.uninstall();
 			titleRequest = null;
 			
-			DockTitle title = displayer.getTitle();
-			if( title != null ){
-				displayer.getDockable().unbind( title );
-				displayer.setTitle( null );
+			if( displayer != null ){
+				DockTitle title = displayer.getTitle();
+				if( title != null ){
+					if( !detached ){
+						dockable.unbind( title );
+					}
+					displayer.setTitle( null );
+				}
 			}
 		}
 		
@@ -227,13 +298,15 @@ public class StationChildHandle implements PlaceholderListItem<Dockable>{
 	 */
 	protected void updateTitle( DockTitle title ){
 		if( displayer != null ){
-			DockTitle oldTitle = displayer.getTitle();
-			if( oldTitle != null ){
-				dockable.unbind( oldTitle );
-			}
-			
-			if( title != null ){
-				dockable.bind( title );
+			if( !detached ){
+				DockTitle oldTitle = displayer.getTitle();
+				if( oldTitle != null ){
+					dockable.unbind( oldTitle );
+				}
+				
+				if( title != null ){
+					dockable.bind( title );
+				}
 			}
 			displayer.setTitle( title );
 		}
@@ -32,20 +32,40 @@ import java.awt.EventQueue;
 import java.awt.Graphics;
 import java.awt.Insets;
 import java.awt.Rectangle;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.Icon;
+import javax.swing.JButton;
+import javax.swing.JMenuItem;
+import javax.swing.JPopupMenu;
+import javax.swing.SwingUtilities;
 
 import bibliothek.gui.DockController;
+import bibliothek.gui.DockUI;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.FlapDockStation;
 import bibliothek.gui.dock.FlapDockStation.Direction;
+import bibliothek.gui.dock.control.focus.DefaultFocusRequest;
+import bibliothek.gui.dock.disable.DisablingStrategy;
 import bibliothek.gui.dock.security.SecureContainer;
 import bibliothek.gui.dock.station.span.Span;
 import bibliothek.gui.dock.title.DockTitle;
 import bibliothek.gui.dock.util.BackgroundAlgorithm;
 import bibliothek.gui.dock.util.ConfiguredBackgroundPanel;
+import bibliothek.gui.dock.util.PropertyValue;
 import bibliothek.gui.dock.util.Transparency;
+import bibliothek.gui.dock.util.icon.DockIcon;
 
 /**
- * This panel is used by the {@link FlapDockStation} to display some button-titles.
+ * This panel is used by the {@link FlapDockStation} to display some button-titles. If 
+ * {@link FlapDockStation#BUTTON_OVERFLOW} is set, then only the buttons that fit into this
+ * panel are added as children, the remaining buttons are available through a menu.
  */
 public class ButtonPane extends SecureContainer{
     /** The owner of this panel */
@@ -62,6 +82,58 @@ public class ButtonPane extends SecureContainer{
     
     /** handles the {@link Span}s used on this panel */
     private FlapSpanStrategy span;
+    
+    /** all the buttons that should be shown, including the buttons that do not fit into this panel */
+    private List<DockTitle> buttons = new ArrayList<DockTitle>();
+    
+    /** for each item of {@link #buttons} the index of its {@link Dockable} */
+    private int[] dockableIndices = new int[0];
+    
+    /** the number of {@link #buttons} that are currently children of the {@link #content} */
+    private int visibleButtons = 0;
+    
+    /** 
+     * For each item of {@link #buttons} the location of its beginning, measured along the
+     * orientation of this panel. Buttons which are not visible start and end at the
+     * {@link #overflowButton}. 
+     */
+    private int[] buttonStarts = new int[0];
+    
+    /** For each item of {@link #buttons} the location of its end, see {@link #buttonStarts} */
+    private int[] buttonEnds = new int[0];
+    
+    /** the last value of {@link #getPreferredSize()}, only valid while this panel is valid */
+    private Dimension preferredSize;
+    
+    /** the preferred sizes of the buttons, only valid while this panel is valid, lazily created */
+    private Map<DockTitle, Dimension> buttonSizes;
+    
+    /** whether {@link #attach(int)} has been scheduled but not yet executed */
+    private boolean attachPending = false;
+    
+    /** the number of buttons that should be shown once the scheduled {@link #attach(int)} runs */
+    private int pendingVisibleButtons = 0;
+    
+    /** the button which opens a menu showing all the buttons that do not fit into this panel, lazily created */
+    private JButton overflowButton;
+    
+    /** the icon of the {@link #overflowButton} */
+    private DockIcon overflowIcon = new DockIcon( DockUI.OVERFLOW_MENU_ICON, DockIcon.KIND_ICON ){
+    	@Override
+    	protected void changed( Icon oldValue, Icon newValue ){
+    		if( overflowButton != null ){
+    			overflowButton.setIcon( newValue );
+    		}
+    	}
+    };
+    
+    /** whether buttons that do not fit into this panel are moved into a menu */
+    private PropertyValue<Boolean> overflow = new PropertyValue<Boolean>( FlapDockStation.BUTTON_OVERFLOW ){
+    	@Override
+    	protected void valueChanged( Boolean oldValue, Boolean newValue ){
+    		spanResized();
+    	}
+    };
     
     /**
      * Constructs a new panel.
@@ -140,6 +212,8 @@ public class ButtonPane extends SecureContainer{
      */
     public void setProperties( DockController controller ){
     	span.setController( controller );
+    	overflow.setProperties( controller );
+    	overflowIcon.setController( controller );
     }
     
     /**
@@ -152,12 +226,20 @@ public class ButtonPane extends SecureContainer{
 				public void run(){
 					resetStarted = false;
 			        getContentPane().removeAll();
-			        for( int i = 0, n = station.getDockableCount(); i<n; i++ ){
+			        buttons.clear();
+			        visibleButtons = 0;
+			        
+			        int count = station.getDockableCount();
+			        int[] indices = new int[ count ];
+			        for( int i = 0; i<count; i++ ){
 			            DockTitle title = station.getButton( i );
 			            if( title != null ){
-			                getContentPane().add( title.getComponent() );
+			            	indices[ buttons.size() ] = i;
+			            	buttons.add( title );
 			            }
 			        }
+			        dockableIndices = Arrays.copyOf( indices, buttons.size() );
+			        attach( buttons.size() );
 			        span.reset();
 			        revalidate();
 				}
@@ -173,20 +255,58 @@ public class ButtonPane extends SecureContainer{
     	}
     }
     
+    @Override
+    public void updateUI(){
+    	super.updateUI();
+    	if( buttons != null ){
+    		// buttons which are not children of this panel are not reached by the LookAndFeel
+    		for( int i = visibleButtons, n = buttons.size(); i<n; i++ ){
+    			SwingUtilities.updateComponentTreeUI( buttons.get( i ).getComponent() );
+    		}
+    		if( overflowButton != null && overflowButton.getParent() == null ){
+    			overflowButton.updateUI();
+    		}
+    	}
+    }
+    
+    @Override
+    public void invalidate(){
+    	preferredSize = null;
+    	buttonSizes = null;
+    	super.invalidate();
+    }
+    
+    /**
+     * Searches the index of the button which represents the <code>index</code>'th {@link Dockable}.
+     * @param index the index of a {@link Dockable}
+     * @return the index of the button, -1 if the {@link Dockable} has no button or if 
+     * this panel has not yet been laid out
+     */
+    private int buttonIndexOf( int index ){
+    	if( index < 0 || buttonStarts.length != dockableIndices.length ){
+    		return -1;
+    	}
+    	int result = Arrays.binarySearch( dockableIndices, index );
+    	if( result < 0 ){
+    		return -1;
+    	}
+    	return result;
+    }
+    
     @Override
     protected void paintOverlay( Graphics g ) {
        if( dropInfo != null && dropInfo.getCombineTarget() == null ){
-            int left = dropInfo.getIndex()-1;
-            int right = left+1;
+            int left = buttonIndexOf( dropInfo.getIndex()-1 );
+            int right = buttonIndexOf( dropInfo.getIndex() );
             
-            DockTitle leftTitle = left < 0 ? null : station.getButton( left );
-            DockTitle rightTitle = right >= station.getDockableCount() ? null : station.getButton( right );
+            boolean leftTitle = left >= 0;
+            boolean rightTitle = right >= 0;
             
             boolean horizontal = station.getDirection() == Direction.SOUTH || station.getDirection() == Direction.NORTH;
             
             int x1, y1, x2, y2;
             
-            if( leftTitle == null && rightTitle == null ){
+            if( !leftTitle && !rightTitle ){
                 if( horizontal ){
                     x1 = 0;
                     y1 = 0;
@@ -200,47 +320,47 @@ public class ButtonPane extends SecureContainer{
                     y2 = getHeight();
                 }
             }
-            else if( leftTitle == null ){
+            else if( !leftTitle ){
                 if( horizontal ){
                     x1 = 0;
                     y1 = 0;
-                    x2 = rightTitle.getComponent().getX();
+                    x2 = buttonStarts[ right ];
                     y2 = getHeight();
                 }
                 else{
                     x1 = 0;
                     y1 = 0;
                     x2 = getWidth();
-                    y2 = rightTitle.getComponent().getY();
+                    y2 = buttonStarts[ right ];
                 }
             }
-            else if( rightTitle == null ){
+            else if( !rightTitle ){
             	int last = getNumberOfButtons();
                 if( horizontal ){
-                    x1 = leftTitle.getComponent().getX() + leftTitle.getComponent().getWidth();
+                    x1 = buttonEnds[ left ];
                     y1 = 0;
                     x2 = x1 + span.getGap( last );
                     y2 = getHeight();
                 }
                 else{
                     x1 = 0;
-                    y1 = leftTitle.getComponent().getY() + leftTitle.getComponent().getHeight();
+                    y1 = buttonEnds[ left ];
                     x2 = getWidth();
                     y2 = y1 + span.getGap( last );
                 }
             }
             else{
                 if( horizontal ){
-                    x1 = leftTitle.getComponent().getX() + leftTitle.getComponent().getWidth();
+                    x1 = buttonEnds[ left ];
                     y1 = 0;
-                    x2 = rightTitle.getComponent().getX();
+                    x2 = buttonStarts[ right ];
                     y2 = getHeight();
                 }
                 else{
                     x1 = 0;
-                    y1 = leftTitle.getComponent().getY() + leftTitle.getComponent().getHeight();
+                    y1 = buttonEnds[ left ];
                     x2 = getWidth();
-                    y2 = rightTitle.getComponent().getY();
+                    y2 = buttonStarts[ right ];
                 }
             }
             
@@ -268,52 +388,56 @@ public class ButtonPane extends SecureContainer{
     }
     
     /**
-     * Searches an location where a {@link Dockable} could be inserted.
+     * Searches an location where a {@link Dockable} could be inserted. Uses a binary
+     * search over the locations of the buttons, which were calculated the last time this
+     * panel was laid out. A location on the menu of hidden buttons is interpreted as
+     * the end of the list.
      * @param x the x-coordinate of the mouse
      * @param y the y-coordinate of the mouse
      * @return a location
      */
     public int indexAt( int x, int y ){
+    	int count = station.getDockableCount();
+    	int[] starts = buttonStarts;
+    	int[] ends = buttonEnds;
+    	int[] indices = dockableIndices;
+    	if( starts.length != indices.length ){
+    		return count;
+    	}
+    	
+    	int position;
         if( station.getDirection() == Direction.SOUTH || station.getDirection() == Direction.NORTH ){
-            for( int i = 0, n = station.getDockableCount(); i<n; i++ ){
-                DockTitle title = station.getButton( i );
-                if( title != null ){
-                    int tx = title.getComponent().getX();
-                    int tw = title.getComponent().getWidth();
-                    
-                    if( x <= tx )
-                        return i;
-                    
-                    if( x <= tx + tw ){
-                        if( x < tx + tw/2 )
-                            return i;
-                        else
-                            return i+1;
-                    }
-                }
-            }
+        	position = x;
         }
         else{
-            for( int i = 0, n = station.getDockableCount(); i<n; i++ ){
-                DockTitle title = station.getButton( i );
-                if( title != null ){
-                    int ty = title.getComponent().getY();
-                    int th = title.getComponent().getHeight();
-                    
-                    if( y <= ty )
-                        return i;
-                    
-                    if( y <= ty + th ){
-                        if( y < ty + th/2 )
-                            return i;
-                        else
-                            return i+1;
-                    }
-                }
-            }
+        	position = y;
+        }
+        
+        // search the first button whose end is not before position 
+        int low = 0;
+        int high = ends.length;
+        while( low < high ){
+        	int mid = (low + high) >>> 1;
+        	if( ends[ mid ] < position ){
+        		low = mid+1;
+        	}
+        	else{
+        		high = mid;
+        	}
+        }
+        
+        if( low == ends.length ){
+        	return count;
         }
         
-        return station.getDockableCount();
+        int index = indices[ low ];
+        int start = starts[ low ];
+        int length = ends[ low ] - start;
+        
+        if( position > start && position >= start + length/2 ){
+        	index++;
+        }
+        return Math.min( index, count );
     }
     
     @Override
@@ -323,6 +447,20 @@ public class ButtonPane extends SecureContainer{
     
     @Override
     public Dimension getPreferredSize() {
+    	Dimension result = preferredSize;
+    	if( result == null || !isValid() ){
+    		result = calculatePreferredSize();
+    		preferredSize = result;
+    	}
+    	return new Dimension( result );
+    }
+    
+    /**
+     * Calculates the preferred size of this panel, the preferred size is big enough to show
+     * all the buttons.
+     * @return the preferred size
+     */
+    private Dimension calculatePreferredSize(){
         int width = 0;
         int height = 0;
         int count = station.getDockableCount();
@@ -332,7 +470,7 @@ public class ButtonPane extends SecureContainer{
             for( int i = 0; i<count; i++ ){
                 DockTitle title = station.getButton( i );
                 if( title != null ){
-                    Dimension size = title.getComponent().getPreferredSize();
+                    Dimension size = getButtonSize( title );
                     width += size.width;
                     height = Math.max( height, size.height );
                 }
@@ -347,7 +485,7 @@ public class ButtonPane extends SecureContainer{
             for( int i = 0; i<count; i++ ){
                 DockTitle title = station.getButton( i );
                 if( title != null ){
-                    Dimension size = title.getComponent().getPreferredSize();
+                    Dimension size = getButtonSize( title );
                     height += size.height;
                     width = Math.max( width, size.width );
                 }
@@ -360,14 +498,154 @@ public class ButtonPane extends SecureContainer{
         
         Dimension empty = station.getMinimumSize();
         return new Dimension( Math.max( empty.width, width ), Math.max( empty.height, height ));
+    }
+    
+    /**
+     * Gets the preferred size of <code>title</code>. The size is cached until this panel
+     * is invalidated, hence the preferred size of each button is calculated only once per layout.
+     * @param title one of the buttons of this panel
+     * @return the preferred size of <code>title</code>, must not be modified
+     */
+    private Dimension getButtonSize( DockTitle title ){
+    	if( buttonSizes == null ){
+    		buttonSizes = new HashMap<DockTitle, Dimension>();
+    	}
+    	Dimension size = buttonSizes.get( title );
+    	if( size == null ){
+    		size = title.getComponent().getPreferredSize();
+    		buttonSizes.put( title, size );
+    	}
+    	return size;
     }
     
     /**
-     * Gets the number of buttons that are actually shown.
+     * Gets the number of buttons that are actually shown, including the buttons that
+     * do not fit into this panel and that are only reachable through a menu.
      * @return the number of buttons
      */
     public int getNumberOfButtons(){
-    	return getContentPane().getComponentCount();
+    	return buttons.size();
+    }
+    
+    /**
+     * Gets the number of buttons that are children of this panel. The buttons that are
+     * not children of this panel are reachable through a menu.
+     * @return the number of visible buttons
+     * @see FlapDockStation#BUTTON_OVERFLOW
+     */
+    public int getNumberOfVisibleButtons(){
+    	return visibleButtons;
+    }
+    
+    /**
+     * Gets the button which opens a menu with all the buttons that are not visible.
+     * @return the button, created lazily
+     */
+    private JButton getOverflowButton(){
+    	if( overflowButton == null ){
+    		overflowButton = new JButton( overflowIcon.value() );
+    		overflowButton.setFocusable( false );
+    		overflowButton.setMargin( new Insets( 0, 0, 0, 0 ) );
+    		overflowButton.addActionListener( new ActionListener(){
+				public void actionPerformed( ActionEvent e ){
+					showOverflowMenu();
+				}
+			});
+    	}
+    	return overflowButton;
+    }
+    
+    /**
+     * Opens a popup menu showing all the buttons that do not fit onto this panel.
+     */
+    private void showOverflowMenu(){
+    	JButton button = getOverflowButton();
+    	JPopupMenu menu = new JPopupMenu();
+    	DockController controller = station.getController();
+    	DisablingStrategy strategy = controller == null ? null : controller.getProperties().get( DisablingStrategy.STRATEGY );
+    	
+    	for( int i = visibleButtons, n = Math.min( buttons.size(), dockableIndices.length ); i<n; i++ ){
+    		if( dockableIndices[i] >= station.getDockableCount() ){
+    			break;
+    		}
+    		final Dockable dockable = station.getDockable( dockableIndices[i] );
+    		JMenuItem item = new JMenuItem( dockable.getTitleText(), dockable.getTitleIcon() );
+    		item.setEnabled( strategy == null || !strategy.isDisabled( dockable ));
+    		item.addActionListener( new ActionListener(){
+				public void actionPerformed( ActionEvent e ){
+					DockController controller = station.getController();
+					if( controller != null && dockable.getDockParent() == station ){
+						controller.setFocusedDockable( new DefaultFocusRequest( dockable, null, true ));
+					}
+				}
+			});
+    		menu.add( item );
+    	}
+    	
+    	Dimension size = menu.getPreferredSize();
+    	switch( station.getDirection() ){
+    		case NORTH:
+    			menu.show( button, 0, button.getHeight() );
+    			break;
+    		case SOUTH:
+    			menu.show( button, 0, -size.height );
+    			break;
+    		case EAST:
+    			menu.show( button, -size.width, 0 );
+    			break;
+    		case WEST:
+    			menu.show( button, button.getWidth(), 0 );
+    			break;
+    	}
+    }
+    
+    /**
+     * Ensures that the first <code>count</code> {@link #buttons} are the children of
+     * {@link #content}, followed by the {@link #getOverflowButton() overflow button} if
+     * not all buttons are shown.
+     * @param count the number of buttons to show
+     */
+    private void attach( int count ){
+    	boolean menu = count < buttons.size();
+    	boolean same = content.getComponentCount() == count + (menu ? 1 : 0);
+    	for( int i = 0; same && i < count; i++ ){
+    		same = content.getComponent( i ) == buttons.get( i ).getComponent();
+    	}
+    	if( same && menu ){
+    		same = content.getComponent( count ) == overflowButton;
+    	}
+    	
+    	if( !same ){
+    		content.removeAll();
+    		for( int i = 0; i < count; i++ ){
+    			content.add( buttons.get( i ).getComponent() );
+    		}
+    		if( menu ){
+    			content.add( getOverflowButton() );
+    		}
+    	}
+    	visibleButtons = count;
+    }
+    
+    /**
+     * Schedules a call to {@link #attach(int)}. Used while {@link #content} is laid out,
+     * because the children of {@link #content} must not be replaced during a layout.
+     * @param count the number of buttons to show
+     */
+    private void attachLater( int count ){
+    	pendingVisibleButtons = count;
+    	if( !attachPending ){
+    		attachPending = true;
+    		EventQueue.invokeLater( new Runnable(){
+				public void run(){
+					attachPending = false;
+					if( pendingVisibleButtons != visibleButtons && pendingVisibleButtons <= buttons.size() ){
+						attach( pendingVisibleButtons );
+						content.revalidate();
+					}
+				}
+			});
+    	}
     }
     
     /**
@@ -400,92 +678,110 @@ public class ButtonPane extends SecureContainer{
         public void doLayout() {
             Insets insets = getInsets();
             
+            boolean horizontal = station.getDirection() == Direction.NORTH || station.getDirection() == Direction.SOUTH;
+            
             int x = insets.left;
             int y = insets.top;
             int width = getWidth() - insets.left - insets.right;
             int height = getHeight() - insets.top - insets.bottom;
             
-            if( station.getDirection() == Direction.NORTH || station.getDirection() == Direction.SOUTH ){
-                int count = getComponentCount();
-                int[] widths = new int[ count ];
-                int preferredHeight = 0;
-                int sum = 0;
-                
-                for( int i = 0; i < count; i++ ){
-                    Dimension size = getComponent( i ).getPreferredSize();
-                    widths[i] = size.width;
-                    preferredHeight = Math.max( preferredHeight, size.height );
-                    sum += widths[i];
-                    sum += span.getGap( i );
-                }
-                if( count > 0 ){
-                	sum += span.getGap( count );
-                }
-                
-                if( station.isSmallButtons() && preferredHeight < height ){
-                    int delta = height - preferredHeight;
-                    y += delta/2;
-                    height = preferredHeight;
-                }
-                
-                if( sum > width ){
-                    double ratio = ((double)width) / sum;
-                    for( int i = 0; i < count; i++ ){
-                    	x += span.getGap( i );
-                        int temp = (int)(widths[i]*ratio);
-                        getComponent( i ).setBounds( x, y, temp, height );
-                        x += temp;
-                    }
-                }
-                else{
-                    for( int i = 0; i < count; i++ ){
-                    	x += span.getGap( i );
-                        getComponent( i ).setBounds( x, y, widths[i], height );
-                        x += widths[i];
-                    }
-                }
+            int count = buttons.size();
+            int[] lengths = new int[ count ];
+            int preferredBreadth = 0;
+            int sum = 0;
+            
+            for( int i = 0; i < count; i++ ){
+                Dimension size = getButtonSize( buttons.get( i ) );
+                lengths[i] = horizontal ? size.width : size.height;
+                preferredBreadth = Math.max( preferredBreadth, horizontal ? size.height : size.width );
+                sum += lengths[i];
+                sum += span.getGap( i );
             }
-            else{
-                int count = getComponentCount();
-                int[] heights = new int[ count ];
-                int preferredWidth = 0;
-                int sum = 0;
-                
-                for( int i = 0; i < count; i++ ){
-                    Dimension size = getComponent( i ).getPreferredSize();
-                    heights[i] = size.height;
-                    preferredWidth = Math.max( preferredWidth, size.width );
-                    sum += heights[i];
-                    sum += span.getGap( i );
-                }
-                if( count > 0 ){
-                	sum += span.getGap( count );
-                }
-                
-                if( station.isSmallButtons() && preferredWidth < width ){
-                    int delta = width - preferredWidth;
+            if( count > 0 ){
+            	sum += span.getGap( count );
+            }
+            
+            if( station.isSmallButtons() ){
+            	if( horizontal && preferredBreadth < height ){
+            		int delta = height - preferredBreadth;
+                    y += delta/2;
+                    height = preferredBreadth;
+            	}
+            	else if( !horizontal && preferredBreadth < width ){
+            		int delta = width - preferredBreadth;
                     x += delta/2;
-                    width = preferredWidth;
-                }                
-                
-                if( sum > height ){
-                    double ratio = ((double)height) / sum;
-                    for( int i = 0; i < count; i++ ){
-                    	y += span.getGap( i );
-                        int temp = (int)(heights[i]*ratio);
-                        getComponent( i ).setBounds( x, y, width, temp );
-                        y += temp;
-                    }
-                }
-                else{
-                    for( int i = 0; i < count; i++ ){
-                    	y += span.getGap( i );
-                        getComponent( i ).setBounds( x, y, width, heights[i] );
-                        y += heights[i];
-                    }
-                }
+                    width = preferredBreadth;
+            	}
+            }
+            
+            int available = horizontal ? width : height;
+            int visible = count;
+            int menuLength = 0;
+            double ratio = 1.0;
+            
+            if( sum > available ){
+            	if( overflow.getValue() ){
+            		Dimension menuSize = getOverflowButton().getPreferredSize();
+            		menuLength = horizontal ? menuSize.width : menuSize.height;
+            		
+            		int used = 0;
+            		visible = 0;
+            		while( visible < count && used + span.getGap( visible ) + lengths[ visible ] + span.getGap( visible+1 ) + menuLength <= available ){
+            			used += span.getGap( visible ) + lengths[ visible ];
+            			visible++;
+            		}
+            	}
+            	else{
+            		ratio = ((double)available) / sum;
+            	}
+            }
+            
+            if( visible != visibleButtons ){
+            	attachLater( visible );
+            }
+            
+            // until the scheduled attach runs, the children that are already present are laid out
+            int shown = Math.min( visibleButtons, count );
+            if( shown < count && menuLength == 0 ){
+            	Dimension menuSize = getOverflowButton().getPreferredSize();
+            	menuLength = horizontal ? menuSize.width : menuSize.height;
             }
             
+            int[] starts = new int[ count ];
+            int[] ends = new int[ count ];
+            int position = horizontal ? x : y;
+            
+            for( int i = 0; i < shown; i++ ){
+            	position += span.getGap( i );
+            	int length = ratio < 1.0 ? (int)(lengths[i]*ratio) : lengths[i];
+            	if( horizontal ){
+            		buttons.get( i ).getComponent().setBounds( position, y, length, height );
+            	}
+            	else{
+            		buttons.get( i ).getComponent().setBounds( x, position, width, length );
+            	}
+            	starts[i] = position;
+            	position += length;
+            	ends[i] = position;
+            }
+            
+            if( shown < count ){
+            	position += span.getGap( shown );
+            	if( horizontal ){
+            		overflowButton.setBounds( position, y, menuLength, height );
+            	}
+            	else{
+            		overflowButton.setBounds( x, position, width, menuLength );
+            	}
+            	for( int i = shown; i < count; i++ ){
+            		starts[i] = position;
+            		ends[i] = position;
+            	}
+            }
+            
+            buttonStarts = starts;
+            buttonEnds = ends;
+            
             repaint();
         }
     }
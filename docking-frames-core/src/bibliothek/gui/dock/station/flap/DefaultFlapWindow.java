@@ -44,6 +44,9 @@ import java.awt.event.ComponentListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.swing.BorderFactory;
 import javax.swing.JComponent;
@@ -57,6 +60,8 @@ import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.FlapDockStation;
 import bibliothek.gui.dock.FlapDockStation.Direction;
+import bibliothek.gui.dock.event.DockStationAdapter;
+import bibliothek.gui.dock.event.DockStationListener;
 import bibliothek.gui.dock.security.SecureContainer;
 import bibliothek.gui.dock.station.DockableDisplayer;
 import bibliothek.gui.dock.station.DockableDisplayerListener;
@@ -68,15 +73,38 @@ import bibliothek.gui.dock.title.DockTitle;
 import bibliothek.gui.dock.title.DockTitleVersion;
 import bibliothek.gui.dock.util.BackgroundAlgorithm;
 import bibliothek.gui.dock.util.BackgroundPanel;
+import bibliothek.gui.dock.util.PropertyKey;
 import bibliothek.gui.dock.util.Transparency;
+import bibliothek.gui.dock.util.property.ConstantPropertyFactory;
 
 /**
  * This window pops up if the user presses one of the buttons of a 
  * {@link FlapDockStation}. The window shows one {@link Dockable}
  */
 public class DefaultFlapWindow implements FlapWindow, MouseListener, MouseMotionListener {
+	/**
+	 * How many {@link DockableDisplayer}s of {@link Dockable}s that are currently not shown
+	 * the window keeps, a value of <code>0</code> disables the cache.
+	 */
+	public static final PropertyKey<Integer> DISPLAYER_CACHE_SIZE = new PropertyKey<Integer>( "flap dock station displayer cache size",
+			new ConstantPropertyFactory<Integer>( 5 ), true );
+	
 	/** the element that is shown on this window */
 	private StationChildHandle dockable;
+	
+	/** displayers of elements that were shown on this window, ordered from least to most recently used */
+	private Map<Dockable, StationChildHandle> cache = new LinkedHashMap<Dockable, StationChildHandle>( 16, 0.75f, true );
+	
+	/** a listener to {@link #station} removing elements from the {@link #cache} */
+	private DockStationListener stationListener = new DockStationAdapter(){
+		@Override
+		public void dockableRemoving( DockStation station, Dockable dockable ){
+			StationChildHandle handle = cache.remove( dockable );
+			if( handle != null ){
+				handle.destroy();
+			}
+		}
+	};
 
 	/** a listener for the current {@link DockableDisplayer} */
 	private DockableDisplayerListener displayerListener = new DockableDisplayerListener(){
@@ -127,6 +155,7 @@ public class DefaultFlapWindow implements FlapWindow, MouseListener, MouseMotion
 		this.window = window;
 
 		init();
+		station.addDockStationListener( stationListener );
 	}
 
 	private void init(){
@@ -266,6 +295,8 @@ public class DefaultFlapWindow implements FlapWindow, MouseListener, MouseMotion
 		if( window != null ){
 			setController( null );
 			setDockable( null );
+			clearCache();
+			station.removeDockStationListener( stationListener );
 			window.destroy();
 			window = null;
 		}
@@ -320,6 +351,7 @@ public class DefaultFlapWindow implements FlapWindow, MouseListener, MouseMotion
 	 * @param title the title or <code>null</code>
 	 */
 	public void setDockTitle( DockTitleVersion title ){
+		clearCache();
 		if( dockable != null ) {
 			dockable.setTitleRequest(title);
 		}
@@ -356,7 +388,10 @@ public class DefaultFlapWindow implements FlapWindow, MouseListener, MouseMotion
 	}
 
 	/**
-	 * Sets the {@link Dockable} which will be shown on this window.
+	 * Sets the {@link Dockable} which will be shown on this window. The {@link DockableDisplayer}
+	 * and the {@link DockTitle} of the old {@link Dockable} are {@link StationChildHandle#detach() detached}
+	 * and kept in a cache, they will be reused if the old {@link Dockable} is shown again, see {@link #DISPLAYER_CACHE_SIZE}.
+	 * While in the cache, the title is not bound and the {@link Dockable} is not a child of the displayer.
 	 * @param dockable The <code>Dockable</code> or <code>null</code>
 	 */
 	public void setDockable( Dockable dockable ){
@@ -366,18 +401,104 @@ public class DefaultFlapWindow implements FlapWindow, MouseListener, MouseMotion
 			DockableDisplayer displayer = getDisplayer();
 			displayer.removeDockableDisplayerListener(displayerListener);
 			content.remove(displayer.getComponent());
-			this.dockable.destroy();
+			
+			Dockable old = this.dockable.getDockable();
+			if( window != null && station.indexOf( old ) >= 0 && getCacheSize() > 0 ){
+				this.dockable.detach();
+				cache.put( old, this.dockable );
+			}
+			else{
+				this.dockable.destroy();
+			}
 			this.dockable = null;
 		}
 
 		if( dockable != null ) {
-			this.dockable = new StationChildHandle(station, station.getDisplayers(), dockable, station.getTitleVersion());
-			this.dockable.updateDisplayer();
+			this.dockable = cache.remove( dockable );
+			if( this.dockable == null ){
+				this.dockable = createHandle( dockable );
+			}
+			else{
+				this.dockable.attach();
+			}
 
 			DockableDisplayer displayer = getDisplayer();
 			displayer.addDockableDisplayerListener(displayerListener);
 			content.add(displayer.getComponent());
 		}
+		
+		trimCache( getCacheSize() );
+	}
+	
+	/**
+	 * Creates the {@link DockableDisplayer} and the {@link DockTitle} of <code>dockable</code> without
+	 * showing them, and puts them {@link StationChildHandle#detach() detached} into the cache. A later call to 
+	 * {@link #setDockable(Dockable)} will then not have to create them, but they are only laid out once they are shown.
+	 * Nothing happens if the cache is full, if <code>dockable</code> is not a child of the station, or if 
+	 * <code>dockable</code> is already prepared.
+	 * @param dockable the element that is likely to be shown soon
+	 * @see FlapDockStation#prepareFlapWindow()
+	 */
+	public void prepare( Dockable dockable ){
+		if( window == null || station.indexOf( dockable ) < 0 ){
+			return;
+		}
+		if( getDockable() == dockable || cache.containsKey( dockable )){
+			return;
+		}
+		if( cache.size() >= getCacheSize() ){
+			return;
+		}
+		
+		StationChildHandle handle = createHandle( dockable );
+		handle.detach();
+		cache.put( dockable, handle );
+	}
+	
+	/**
+	 * Creates a new {@link StationChildHandle} including {@link DockableDisplayer} and {@link DockTitle} 
+	 * for <code>dockable</code>.
+	 * @param dockable the element to show
+	 * @return the new handle
+	 */
+	private StationChildHandle createHandle( Dockable dockable ){
+		StationChildHandle handle = new StationChildHandle(station, station.getDisplayers(), dockable, station.getTitleVersion());
+		handle.updateDisplayer();
+		return handle;
+	}
+	
+	/**
+	 * Gets the maximum number of elements in the cache.
+	 * @return the maximum size of the cache
+	 * @see #DISPLAYER_CACHE_SIZE
+	 */
+	private int getCacheSize(){
+		DockController controller = station.getController();
+		if( controller == null ){
+			return 0;
+		}
+		return controller.getProperties().get( DISPLAYER_CACHE_SIZE );
+	}
+	
+	/**
+	 * Destroys the least recently used handles until there are no more than <code>size</code>
+	 * handles in the cache.
+	 * @param size the maximum size of the cache
+	 */
+	private void trimCache( int size ){
+		Iterator<StationChildHandle> handles = cache.values().iterator();
+		while( cache.size() > size && handles.hasNext() ){
+			StationChildHandle handle = handles.next();
+			handles.remove();
+			handle.destroy();
+		}
+	}
+	
+	/**
+	 * Destroys all the cached displayers.
+	 */
+	private void clearCache(){
+		trimCache( 0 );
 	}
 
 	/**
@@ -408,6 +529,9 @@ public class DefaultFlapWindow implements FlapWindow, MouseListener, MouseMotion
 	}
 	
 	public void setController( DockController controller ){
+		if( controller == null ){
+			clearCache();
+		}
 		background.setController( controller );
 		contentContainer.setController( controller );
 		contentBorder.setController( controller );
@@ -30,9 +30,17 @@ import java.awt.Dimension;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import javax.swing.Icon;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockTheme;
 import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.event.DockableAdapter;
+import bibliothek.gui.dock.event.DockableListener;
+import bibliothek.gui.dock.event.UIListener;
 import bibliothek.gui.dock.station.stack.tab.layouting.LayoutBlock;
 import bibliothek.gui.dock.station.stack.tab.layouting.MenuLayoutBlock;
 import bibliothek.gui.dock.station.stack.tab.layouting.Size;
@@ -49,6 +57,52 @@ public class MenuLineLayoutPane extends AbstractTabLayoutManagerPane{
 	private TabsLayoutBlock tabs;
 	private MenuLineLayout layout;
 	
+	/** the sizes of {@link #tabs} calculated during the last call to {@link #listLayouts()} */
+	private Size[] cachedTabSizes;
+	/** the orientation that was used to calculate {@link #cachedTabSizes} */
+	private TabPlacement cachedOrientation;
+	/** the children of the pane at the time {@link #cachedTabSizes} was calculated */
+	private Dockable[] cachedDockables;
+	/** the selected dockable at the time {@link #cachedTabSizes} was calculated */
+	private Dockable cachedSelection;
+	/** the visible tabs at the time {@link #cachedTabSizes} was calculated */
+	private Tab[] cachedVisibleTabs;
+	/** the tabs of all the children, visible or not, at the time {@link #cachedTabSizes} was calculated */
+	private Tab[] cachedAllTabs;
+	/** the minimum and preferred sizes of {@link #cachedAllTabs} */
+	private int[] cachedAllTabSizes;
+	
+	/** the controller on which {@link #uiListener} is registered */
+	private DockController controller;
+	
+	/** invalidates the cache if the theme or the {@link javax.swing.LookAndFeel} changes */
+	private UIListener uiListener = new UIListener(){
+		public void updateUI( DockController controller ){
+			invalidateCache();
+		}
+		
+		public void themeWillChange( DockController controller, DockTheme oldTheme, DockTheme newTheme ){
+			invalidateCache();
+		}
+		
+		public void themeChanged( DockController controller, DockTheme oldTheme, DockTheme newTheme ){
+			invalidateCache();
+		}
+	};
+	
+	/** observes the children of the pane, invalidates the cache if text or icon change */
+	private DockableListener dockableListener = new DockableAdapter(){
+		@Override
+		public void titleTextChanged( Dockable dockable, String oldTitle, String newTitle ){
+			invalidateCache();
+		}
+		
+		@Override
+		public void titleIconChanged( Dockable dockable, Icon oldIcon, Icon newIcon ){
+			invalidateCache();
+		}
+	};
+	
 	/**
 	 * Creates new layout information for <code>pane</code>.
 	 * @param layout the layout using this pane
@@ -60,6 +114,27 @@ public class MenuLineLayoutPane extends AbstractTabLayoutManagerPane{
 		menu = layout.getFactory().createMenu( layout, pane );
 		info = layout.getFactory().createInfo( layout, pane );
 		tabs = layout.getFactory().createTabs( layout, pane );
+		
+		for( Dockable dockable : pane.getDockables() ){
+			dockable.addDockableListener( dockableListener );
+		}
+		setController( pane.getController() );
+	}
+	
+	/**
+	 * Sets the controller whose theme and {@link javax.swing.LookAndFeel} are observed.
+	 * @param controller the new controller, can be <code>null</code>
+	 */
+	private void setController( DockController controller ){
+		if( this.controller != controller ){
+			if( this.controller != null ){
+				this.controller.getThemeManager().removeUIListener( uiListener );
+			}
+			this.controller = controller;
+			if( this.controller != null ){
+				this.controller.getThemeManager().addUIListener( uiListener );
+			}
+		}
 	}
 	
 	/**
@@ -176,6 +251,29 @@ public class MenuLineLayoutPane extends AbstractTabLayoutManagerPane{
 	 */
 	public void destroy(){
 		getPane().destroyMenu( menu.getMenu() );
+		for( Dockable dockable : getPane().getDockables() ){
+			dockable.removeDockableListener( dockableListener );
+		}
+		setController( null );
+		invalidateCache();
+	}
+	
+	/**
+	 * Deletes the cached sizes of the tabs, forcing this pane to calculate them
+	 * again the next time a layout is required. The cache is cleaned automatically
+	 * if children are added or removed, if the selection changes, if the text or
+	 * icon of a child changes, if the size of any tab changes, or if the theme or the
+	 * {@link javax.swing.LookAndFeel} changes. Clients need to call this method only if the
+	 * result of the {@link TabsLayoutBlock} changes for another reason.
+	 */
+	public void invalidateCache(){
+		cachedTabSizes = null;
+		cachedOrientation = null;
+		cachedDockables = null;
+		cachedSelection = null;
+		cachedVisibleTabs = null;
+		cachedAllTabs = null;
+		cachedAllTabSizes = null;
 	}
 	
 	/**
@@ -250,7 +348,7 @@ public class MenuLineLayoutPane extends AbstractTabLayoutManagerPane{
 		TabPlacement orientation = getPane().getDockTabPlacement();
 		
 		tabs.setOrientation( orientation );
-		Size[] sizesTabs = tabs.getSizes();
+		Size[] sizesTabs = getTabSizes( orientation );
 		
 		menu.setOrientation( orientation );
 		Size[] sizesMenu = menu.getSizes();
@@ -268,6 +366,79 @@ public class MenuLineLayoutPane extends AbstractTabLayoutManagerPane{
 		return results;
 	}
 	
+	/**
+	 * Gets the sizes of {@link #getTabs() the tabs}. Calculating these sizes requires to
+	 * test every combination of tabs, hence the result is stored and reused as long as
+	 * the children, the selection, the orientation, the visible tabs and the sizes of all the
+	 * tabs, including the tabs that are currently not visible, remain the same.
+	 * @param orientation the current orientation of the tabs
+	 * @return the sizes of the tabs
+	 */
+	private Size[] getTabSizes( TabPlacement orientation ){
+		TabPane pane = getPane();
+		Dockable[] dockables = pane.getDockables();
+		Dockable selection = pane.getSelectedDockable();
+		Tab[] visibleTabs = pane.getTabs();
+		Tab[] allTabs = new Tab[ dockables.length ];
+		for( int i = 0; i < dockables.length; i++ ){
+			allTabs[i] = pane.getOnTab( dockables[i] );
+		}
+		int[] allTabSizes = getSizes( allTabs );
+		
+		if( cachedTabSizes != null ){
+			if( cachedOrientation == orientation && cachedSelection == selection &&
+					same( cachedDockables, dockables ) && same( cachedVisibleTabs, visibleTabs ) &&
+					same( cachedAllTabs, allTabs ) && Arrays.equals( cachedAllTabSizes, allTabSizes )){
+				return cachedTabSizes;
+			}
+		}
+		
+		cachedTabSizes = tabs.getSizes();
+		cachedOrientation = orientation;
+		cachedSelection = selection;
+		cachedDockables = dockables;
+		cachedVisibleTabs = visibleTabs;
+		cachedAllTabs = allTabs;
+		cachedAllTabSizes = allTabSizes;
+		return cachedTabSizes;
+	}
+	
+	/**
+	 * Tells whether <code>a</code> and <code>b</code> contain the same objects in the same order.
+	 * @param a the first array
+	 * @param b the second array
+	 * @return <code>true</code> if the arrays contain the same objects
+	 */
+	private boolean same( Object[] a, Object[] b ){
+		if( a.length != b.length ){
+			return false;
+		}
+		for( int i = 0; i < a.length; i++ ){
+			if( a[i] != b[i] ){
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Collects the minimum and the preferred size of all <code>tabs</code>.
+	 * @param tabs the tabs whose size is required
+	 * @return the sizes, each tab is represented by four integers
+	 */
+	private int[] getSizes( Tab[] tabs ){
+		int[] result = new int[ tabs.length * 4 ];
+		for( int i = 0; i < tabs.length; i++ ){
+			Dimension minimum = tabs[i].getMinimumSize();
+			Dimension preferred = tabs[i].getPreferredSize();
+			result[i*4+0] = minimum.width;
+			result[i*4+1] = minimum.height;
+			result[i*4+2] = preferred.width;
+			result[i*4+3] = preferred.height;
+		}
+		return result;
+	}
+	
 	private void listLayouts( List<MenuLineLayoutPossibility> list, Size infoSize, Size[] menuSizes, Size[] tabSizes ){
 		for( Size tab : tabSizes ){
 			if( tabs.isAllTabs( tab ) ){
@@ -309,6 +480,24 @@ public class MenuLineLayoutPane extends AbstractTabLayoutManagerPane{
 		return new MenuLineLayoutPossibility( this, tabSize, menuSize, infoSize );
 	}
 	
+	@Override
+	public void added( TabPane pane, Dockable dockable ){
+		dockable.addDockableListener( dockableListener );
+		invalidateCache();
+	}
+	
+	@Override
+	public void removed( TabPane pane, Dockable dockable ){
+		dockable.removeDockableListener( dockableListener );
+		invalidateCache();
+	}
+	
+	@Override
+	public void controllerChanged( TabPane pane, DockController controller ){
+		setController( controller );
+		invalidateCache();
+	}
+	
 	@Override
 	public void infoComponentChanged( TabPane pane, LonelyTabPaneComponent oldInfo, LonelyTabPaneComponent newInfo ){
 		super.infoComponentChanged( pane, oldInfo, newInfo );
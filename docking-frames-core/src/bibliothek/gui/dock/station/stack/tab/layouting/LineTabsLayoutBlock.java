@@ -32,7 +32,9 @@ import java.awt.Rectangle;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.station.stack.tab.AxisConversion;
@@ -390,6 +392,8 @@ public class LineTabsLayoutBlock extends AbstractTabsLayoutBlock{
 	 */
 	protected class ZOrder{
 		private Tab[] tabs;
+		/** the index of each tab in {@link #tabs} */
+		private Map<Tab, Integer> indices;
 		
 		private List<Integer>[] onTop;
 		private List<Integer>[] onBottom;
@@ -404,10 +408,14 @@ public class LineTabsLayoutBlock extends AbstractTabsLayoutBlock{
 			
 			onTop = new List[ tabs.length ];
 			onBottom = new List[ tabs.length ];
+			indices = new IdentityHashMap<Tab, Integer>( tabs.length );
 			
 			for( int i = 0; i < tabs.length; i++ ){
 				onTop[i] = new ArrayList<Integer>( 5 );
 				onBottom[i] = new ArrayList<Integer>( 5 );
+				if( !indices.containsKey( tabs[i] )){
+					indices.put( tabs[i], i );
+				}
 			}
 		}
 		
@@ -419,16 +427,11 @@ public class LineTabsLayoutBlock extends AbstractTabsLayoutBlock{
 		 * @param back the back tab
 		 */
 		public void putOrder( Tab front, Tab back ){
-			for( int f = 0; f < tabs.length; f++ ){
-				if( tabs[f] == front ){
-					for( int b = 0; b < tabs.length; b++ ){
-						if( tabs[b] == back ){
-							onTop[b].add( f );
-							onBottom[f].add( b );
-							return;
-						}
-					}
-				}
+			Integer f = indices.get( front );
+			Integer b = indices.get( back );
+			if( f != null && b != null ){
+				onTop[b].add( f );
+				onBottom[f].add( b );
 			}
 		}
 		
@@ -0,0 +1,151 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.support;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DockHierarchyLock;
+import bibliothek.gui.dock.event.DockStationListener;
+import bibliothek.gui.dock.util.DockUtilities;
+
+/**
+ * Helps a {@link DockStation} to execute many modifications of its children in one batch. While
+ * a batch is running the station is allowed to delay work like revalidating its {@link java.awt.Component}s,
+ * or sending events to {@link DockStationListener}s, and to execute this work only once when the batch
+ * ends. A batch also freezes the layout of the {@link DockController} (see {@link DockController#freezeLayout()})
+ * and delays the consistency checks of the {@link DockHierarchyLock} (see {@link DockHierarchyLock#beginBatch(DockStation)}).<br>
+ * Batches can be nested, only the outermost batch has an effect.
+ * @author Benjamin Sigg
+ */
+public abstract class DockStationBatch {
+	/** the station which is modified */
+	private DockStation station;
+	
+	/** how often {@link #begin()} was called without matching call to {@link #end()} */
+	private int depth = 0;
+	
+	/** the controller that was frozen when the batch started */
+	private DockController controller;
+	
+	/**
+	 * Creates a new batch.
+	 * @param station the station which is modified in the batch, not <code>null</code>
+	 */
+	public DockStationBatch( DockStation station ){
+		if( station == null ){
+			throw new IllegalArgumentException( "station must not be null" );
+		}
+		this.station = station;
+	}
+	
+	/**
+	 * Starts a batch, or increments the nesting level of the current batch. Until {@link #end()} is called,
+	 * the station may delay work that would normally be done every time a child is added or removed. Events
+	 * telling that a child was added or removed are still fired immediately. While the batch is running the
+	 * layout of the {@link DockController} is {@link DockController#freezeLayout() frozen}.<br>
+	 * Clients should call {@link #end()} in a <code>finally</code> block.
+	 */
+	public void begin(){
+		if( depth == 0 ){
+			DockUtilities.checkLayoutLocked();
+			controller = station.getController();
+			if( controller != null ){
+				controller.freezeLayout();
+				controller.getHierarchyLock().beginBatch( station );
+			}
+			depth++;
+			started();
+		}
+		else{
+			depth++;
+		}
+	}
+	
+	/**
+	 * Ends a batch, calls {@link #finished()} if the outermost batch ends. The layout of the
+	 * {@link DockController} melts even if {@link #finished()} or the {@link DockHierarchyLock} throw an exception.
+	 * @throws IllegalStateException if no batch is running
+	 */
+	public void end(){
+		if( depth == 0 ){
+			throw new IllegalStateException( "no batch is running" );
+		}
+		depth--;
+		if( depth == 0 ){
+			DockController controller = this.controller;
+			this.controller = null;
+			try{
+				finished();
+			}
+			finally{
+				if( controller != null ){
+					try{
+						controller.getHierarchyLock().endBatch( station );
+					}
+					finally{
+						controller.meltLayout();
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Tells whether a batch is currently running. While a batch is running, the station 
+	 * does not need to call {@link DockUtilities#checkLayoutLocked()}, as the check was already
+	 * made when the batch started.
+	 * @return whether a batch is running
+	 */
+	public boolean isRunning(){
+		return depth > 0;
+	}
+	
+	/**
+	 * Calls {@link DockUtilities#checkLayoutLocked()} unless a batch is running, in which case the
+	 * check was already made when the batch started.
+	 */
+	public void checkLayoutLocked(){
+		if( depth == 0 ){
+			DockUtilities.checkLayoutLocked();
+		}
+	}
+	
+	/**
+	 * Called when the outermost batch starts.
+	 */
+	protected void started(){
+		// nothing
+	}
+	
+	/**
+	 * Called when the outermost batch ends. The station should now execute all the work that was 
+	 * delayed during the batch, e.g. revalidate its {@link java.awt.Component}s or inform its 
+	 * {@link DockStationListener}s about {@link Dockable}s that were moved. {@link #isRunning()}
+	 * already returns <code>false</code> when this method is called.
+	 */
+	protected abstract void finished();
+}
@@ -26,6 +26,7 @@
 package bibliothek.gui.dock.themes;
 
 import bibliothek.gui.DockController;
+import bibliothek.gui.DockStation;
 import bibliothek.gui.DockTheme;
 import bibliothek.gui.dock.displayer.DisplayerRequest;
 import bibliothek.gui.dock.station.DisplayerFactory;
@@ -47,7 +48,16 @@ public class ThemeDisplayerFactory implements DisplayerFactory{
 	}
 	
 	public void request( DisplayerRequest request ){
-		controller.getTheme().getDisplayFactory( request.getParent() ).request( request );
+		getFactory( request.getParent() ).request( request );
+	}
+	
+	/**
+	 * Gets the factory to which calls concerning <code>station</code> are currently forwarded.
+	 * @param station the parent of the displayers
+	 * @return the factory of the current {@link DockTheme}
+	 */
+	public DisplayerFactory getFactory( DockStation station ){
+		return controller.getTheme().getDisplayFactory( station );
 	}
 
 }
@@ -25,10 +25,15 @@
  */
 package bibliothek.gui.dock.themes;
 
+import java.awt.Component;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.swing.LookAndFeel;
 import javax.swing.UIManager;
@@ -39,6 +44,8 @@ import bibliothek.gui.DockTheme;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.control.DockRegister;
 import bibliothek.gui.dock.control.focus.DefaultFocusRequest;
+import bibliothek.gui.dock.event.DockRegisterAdapter;
+import bibliothek.gui.dock.event.DockRegisterListener;
 import bibliothek.gui.dock.event.UIListener;
 import bibliothek.gui.dock.station.Combiner;
 import bibliothek.gui.dock.station.DisplayerFactory;
@@ -49,13 +56,17 @@ import bibliothek.gui.dock.themes.border.BorderModifier;
 import bibliothek.gui.dock.title.DockTitleManager;
 import bibliothek.gui.dock.util.BackgroundPaint;
 import bibliothek.gui.dock.util.DockProperties;
+import bibliothek.gui.dock.util.IconManager;
 import bibliothek.gui.dock.util.Priority;
 import bibliothek.gui.dock.util.PropertyKey;
 import bibliothek.gui.dock.util.TypedPropertyUIScheme;
 import bibliothek.gui.dock.util.TypedUIProperties;
 import bibliothek.gui.dock.util.UIBridge;
 import bibliothek.gui.dock.util.UIValue;
+import bibliothek.gui.dock.util.color.ColorManager;
 import bibliothek.gui.dock.util.extension.ExtensionName;
+import bibliothek.gui.dock.util.font.FontManager;
+import bibliothek.gui.dock.util.property.ConstantPropertyFactory;
 import bibliothek.util.ClientOnly;
 import bibliothek.util.FrameworkOnly;
 import bibliothek.util.Path;
@@ -103,6 +114,13 @@ public class ThemeManager extends TypedUIProperties{
 	/** unique identifier for the basic {@link SpanFactory} */
 	public static final String SPAN_FACTORY = "dock.spanFactory";
 	
+	/** 
+	 * Whether {@link DockStation}s that are not visible when the {@link DockTheme} changes should be updated
+	 * only once they become visible. The default value is <code>true</code>.
+	 */
+	public static final PropertyKey<Boolean> LAZY_STATION_UPDATE = new PropertyKey<Boolean>( "dock.themeManager.lazyStationUpdate", 
+			new ConstantPropertyFactory<Boolean>( true ), true );
+	
 	/** the controller owning the manager */
 	private DockController controller;
 	
@@ -124,6 +142,20 @@ public class ThemeManager extends TypedUIProperties{
     /** items to transfer directly from {@link DockProperties} to <code>this</code> */
     private TypedPropertyUIScheme transfers;
     
+    /** whether {@link #setTheme(DockTheme)} is currently updating the stations */
+    private boolean updatingTheme = false;
+    
+    /** stations that were not visible when the theme changed, and that were not yet updated */
+    private Map<DockStation, LazyStationUpdate> lazyUpdates = new HashMap<DockStation, LazyStationUpdate>();
+    
+    /** a listener removing stations from {@link #lazyUpdates} once they are no longer registered */
+    private DockRegisterListener lazyUpdateRegisterListener = new DockRegisterAdapter(){
+    	@Override
+    	public void dockStationUnregistered( DockController controller, DockStation station ){
+    		cancelLazyUpdate( station );
+    	}
+    };
+    
     /**
      * Creates a new object
      * @param controller the owner of this manager, not <code>null</code>
@@ -173,6 +205,9 @@ public class ThemeManager extends TypedUIProperties{
      */
     @FrameworkOnly
     public void kill(){
+    	for( LazyStationUpdate update : lazyUpdates.values().toArray( new LazyStationUpdate[ lazyUpdates.size() ] )){
+    		cancelLazyUpdate( update.getStation() );
+    	}
     	theme.uninstall( controller );
     	UIManager.removePropertyChangeListener( lookAndFeelObserver );
     }
@@ -246,9 +281,21 @@ public class ThemeManager extends TypedUIProperties{
 		return theme;
 	}
     
+    /**
+     * Tells whether {@link #setTheme(DockTheme)} is currently running and updating the {@link DockStation}s.
+     * @return <code>true</code> if the theme is changing right now
+     */
+    public boolean isUpdatingTheme(){
+		return updatingTheme;
+	}
+    
     /**
      * Sets the theme of this manager. This method fires events on registered {@link UIListener}s
-     * and ensures that all {@link DockStation}s receive the update
+     * and ensures that all {@link DockStation}s receive the update.<br>
+     * The {@link ColorManager}, {@link FontManager} and {@link IconManager} are locked while the theme
+     * changes, their {@link UIValue}s are updated only once at the end of the change. {@link DockStation}s that
+     * are visible are updated first, stations that are not visible are updated once they become visible
+     * (see {@link #LAZY_STATION_UPDATE}).
      * @param theme the new theme
      */
     public void setTheme( DockTheme theme ){
@@ -262,8 +309,15 @@ public class ThemeManager extends TypedUIProperties{
     		DockRegister register = controller.getRegister();
     		DockTheme oldTheme = this.theme;
     		Dockable focused = null;
+    		ColorManager colors = controller.getColors();
+    		FontManager fonts = controller.getFonts();
+    		IconManager icons = controller.getIcons();
     		try{
     			register.setStalled( true );
+    			colors.lockUpdate();
+    			fonts.lockUpdate();
+    			icons.lockUpdate();
+    			updatingTheme = true;
     			focused = controller.getFocusedDockable();
     			
 	    		if( this.theme != null )
@@ -278,14 +332,13 @@ public class ThemeManager extends TypedUIProperties{
 	    		theme.install( controller, extensions.toArray( new DockThemeExtension[ extensions.size() ] ) );
 	    		controller.getDockTitleManager().registerTheme( DockTitleManager.THEME_FACTORY_ID, theme.getTitleFactory( controller ) );
 	    		
-	    		// update only those station which are registered to this controller
-	    		for( DockStation station : register.listDockStations() ){
-	    			if( station.getController() == controller ){
-	    				station.updateTheme();
-	    			}
-	    		}
+	    		updateStations();
     		}
     		finally{
+    			updatingTheme = false;
+    			icons.unlockChangedUpdate();
+    			fonts.unlockChangedUpdate();
+    			colors.unlockChangedUpdate();
     			register.setStalled( false );
     		}
 	    		
@@ -296,6 +349,80 @@ public class ThemeManager extends TypedUIProperties{
     	}
 	}
     
+    /**
+     * Calls {@link DockStation#updateTheme()} on all the stations that are registered at the {@link DockController}. Visible
+     * stations are updated first, hidden stations may be updated lazily.
+     */
+    private void updateStations(){
+    	List<DockStation> hidden = new ArrayList<DockStation>();
+    	
+    	// update only those station which are registered to this controller
+    	for( DockStation station : controller.getRegister().listDockStations() ){
+    		if( station.getController() == controller ){
+    			if( isHidden( station )){
+    				hidden.add( station );
+    			}
+    			else{
+    				updateStation( station );
+    			}
+    		}
+    	}
+    	
+    	boolean lazy = controller.getProperties().get( LAZY_STATION_UPDATE );
+    	for( DockStation station : hidden ){
+    		if( station.getController() == controller ){
+    			if( lazy && isHidden( station )){
+    				if( !lazyUpdates.containsKey( station )){
+    					if( lazyUpdates.isEmpty() ){
+    						controller.getRegister().addDockRegisterListener( lazyUpdateRegisterListener );
+    					}
+    					lazyUpdates.put( station, new LazyStationUpdate( station ) );
+    				}
+    			}
+    			else{
+    				updateStation( station );
+    			}
+    		}
+    	}
+    }
+    
+    /**
+     * Updates the theme of <code>station</code> and cancels any lazy update of <code>station</code>.
+     * @param station the station to update
+     */
+    private void updateStation( DockStation station ){
+    	cancelLazyUpdate( station );
+    	station.updateTheme();
+    }
+    
+    /**
+     * Stops observing <code>station</code>, its theme will not be updated lazily.
+     * @param station the station which is no longer observed
+     */
+    private void cancelLazyUpdate( DockStation station ){
+    	LazyStationUpdate update = lazyUpdates.remove( station );
+    	if( update != null ){
+    		update.cancel();
+    		if( lazyUpdates.isEmpty() ){
+    			controller.getRegister().removeDockRegisterListener( lazyUpdateRegisterListener );
+    		}
+    	}
+    }
+    
+    /**
+     * Tells whether <code>station</code> is part of a realized component tree but currently not visible. 
+     * @param station the station to check
+     * @return <code>true</code> if <code>station</code> is hidden
+     */
+    private boolean isHidden( DockStation station ){
+    	Dockable dockable = station.asDockable();
+    	if( dockable == null ){
+    		return false;
+    	}
+    	Component component = dockable.getComponent();
+    	return component.isDisplayable() && !component.isShowing();
+    }
+    
     /**
      * Sets an algorithm to paint in the overlay panel of {@link DockStation}s. Possible
      * identifiers can be, but are not restricted to:
@@ -515,4 +642,55 @@ public class ThemeManager extends TypedUIProperties{
     		publish( Priority.CLIENT, kind, BORDER_MODIFIER_TYPE, bridge );
     	}
     }
+    
+    /**
+     * Waits until a {@link DockStation} becomes visible and then calls {@link DockStation#updateTheme()}.
+     * @author Benjamin Sigg
+     */
+    private class LazyStationUpdate implements HierarchyListener{
+    	/** the station to update */
+    	private DockStation station;
+    	/** the component whose visibility is observed */
+    	private Component component;
+    	
+    	/**
+    	 * Creates a new update, starts observing <code>station</code>.
+    	 * @param station the station whose theme is to be updated, must be a {@link Dockable}
+    	 */
+    	public LazyStationUpdate( DockStation station ){
+    		this.station = station;
+    		component = station.asDockable().getComponent();
+    		component.addHierarchyListener( this );
+    	}
+    	
+    	/**
+    	 * Gets the station which is to be updated.
+    	 * @return the station
+    	 */
+    	public DockStation getStation(){
+			return station;
+		}
+    	
+    	/**
+    	 * Stops observing the station.
+    	 */
+    	public void cancel(){
+    		component.removeHierarchyListener( this );
+    	}
+    	
+    	public void hierarchyChanged( HierarchyEvent e ){
+    		if( (e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && component.isShowing() ){
+    			// update right away, the station must not be painted with the old theme
+    			if( lazyUpdates.get( station ) == this ){
+    				cancelLazyUpdate( station );
+    				if( station.getController() == controller ){
+    					station.updateTheme();
+    				}
+    			}
+    			else{
+    				cancel();
+    			}
+    		}
+    	}
+    }
 }
@@ -232,6 +232,19 @@ public class BasicButtonDockTitle extends AbstractDockTitle {
     	super.unbind();
     }
     
+    /**
+     * Moves this title to <code>dockable</code>. The actions shown by this title are collected 
+     * again for the new owner.
+     */
+    @Override
+    public boolean reuse( Dockable dockable ){
+    	if( replaceDockable( dockable )){
+    		updateActionSource( true );
+    		return true;
+    	}
+    	return false;
+    }
+    
     private void updateContent(){    	
     	updateIcon();
     	updateText();
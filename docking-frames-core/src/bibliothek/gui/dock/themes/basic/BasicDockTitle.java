@@ -41,6 +41,7 @@ import bibliothek.gui.dock.title.AbstractDockTitle;
 import bibliothek.gui.dock.title.DockTitleFactory;
 import bibliothek.gui.dock.title.DockTitleRequest;
 import bibliothek.gui.dock.title.DockTitleVersion;
+import bibliothek.gui.dock.util.RepaintRegions;
 import bibliothek.gui.dock.util.color.ColorCodes;
 import bibliothek.gui.dock.util.font.DockFont;
 import bibliothek.util.Condition;
@@ -123,6 +124,33 @@ public class BasicDockTitle extends AbstractDockTitle {
         addColor( activeTextColor );
         addColor( inactiveTextColor );
         
+        RepaintRegions regions = getRepaintRegions();
+        regions.putAll( RepaintRegions.conditional( new Condition(){
+        	public boolean getState(){
+        		return isActive() && !isDisabled();
+        	}
+        }, RepaintRegions.EVERYTHING ), activeLeftColor, activeRightColor );
+        regions.putAll( RepaintRegions.conditional( new Condition(){
+        	public boolean getState(){
+        		return !isActive() && !isDisabled();
+        	}
+        }, RepaintRegions.EVERYTHING ), inactiveLeftColor, inactiveRightColor );
+        regions.putAll( RepaintRegions.conditional( new Condition(){
+        	public boolean getState(){
+        		return isDisabled();
+        	}
+        }, RepaintRegions.EVERYTHING ), disabledLeftColor, disabledRightColor );
+        regions.put( activeTextColor, RepaintRegions.conditional( new Condition(){
+        	public boolean getState(){
+        		return isActive();
+        	}
+        }, RepaintRegions.EVERYTHING ));
+        regions.put( inactiveTextColor, RepaintRegions.conditional( new Condition(){
+        	public boolean getState(){
+        		return !isActive();
+        	}
+        }, RepaintRegions.EVERYTHING ));
+        
         if( setDefaultConditionalFonts ){
             addConditionalFont( DockFont.ID_TITLE_ACTIVE, TitleFont.KIND_TITLE_FONT, new Condition(){
                 public boolean getState() {
@@ -137,6 +165,16 @@ public class BasicDockTitle extends AbstractDockTitle {
             }, null );
         }
     }
+    
+    /**
+     * Moves this title to <code>dockable</code>. All the properties of this title that depend on 
+     * the owner are read when the title is bound, hence this title can represent any {@link Dockable}
+     * of the same class as its current owner.
+     */
+    @Override
+    public boolean reuse( Dockable dockable ){
+    	return replaceDockable( dockable );
+    }
 
     @Override
     @Deprecated
@@ -516,7 +554,15 @@ public class BasicDockTitle extends AbstractDockTitle {
      */
     protected void updateColors(){
         gradient = null;
-        
+        updateForeground();
+        getRepaintRegions().repaintAll( this );
+    }
+    
+    /**
+     * Sets the foreground color of this title according to its current state, without
+     * repainting the background.
+     */
+    private void updateForeground(){
         if( isActive() ){
             if( activeTextColor != null ){
                 setForeground( activeTextColor.value() );
@@ -527,12 +573,13 @@ public class BasicDockTitle extends AbstractDockTitle {
                 setForeground( inactiveTextColor.value() );
             }
         }
-        repaint();
     }
     
     /**
-     * A implementation of {@link TitleColor} that calls <code>repaint</code>
-     * when the color changes.
+     * A implementation of {@link TitleColor} that updates the foreground when
+     * the color changes and that calls <code>repaint</code>, but only if the color
+     * is currently painted. Colors that are not painted will be read again once the
+     * state of the title changes.
      * @author Benjamin Sigg
      */
     private class BasicTitleColor extends TitleColor{
@@ -547,8 +594,12 @@ public class BasicDockTitle extends AbstractDockTitle {
         
         @Override
         protected void changed( Color oldColor, Color newColor ) {
-            gradient = null;
-            updateColors();
+        	RepaintRegions regions = getRepaintRegions();
+        	if( regions.isPainted( this ) ){
+        		gradient = null;
+        	}
+        	updateForeground();
+        	regions.repaint( this );
         }
     }
 }
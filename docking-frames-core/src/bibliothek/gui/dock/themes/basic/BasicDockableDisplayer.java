@@ -31,6 +31,7 @@ import java.awt.Dimension;
 import java.awt.GridLayout;
 import java.awt.Insets;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -71,6 +72,7 @@ import bibliothek.gui.dock.util.BackgroundAlgorithm;
 import bibliothek.gui.dock.util.ConfiguredBackgroundPanel;
 import bibliothek.gui.dock.util.PropertyKey;
 import bibliothek.gui.dock.util.PropertyValue;
+import bibliothek.gui.dock.util.RepaintRegions;
 import bibliothek.gui.dock.util.Transparency;
 import bibliothek.gui.dock.util.UIValue;
 
@@ -128,6 +130,24 @@ public class BasicDockableDisplayer extends ConfiguredBackgroundPanel implements
     /** the border strategy of the content panel of this displayer */
     private DisplayerBorder contentBorder;
     
+    /** tells which parts of this displayer depend on which colors */
+    private RepaintRegions repaintRegions = new RepaintRegions( this );
+    
+    /** the area of this displayer that is not covered by the {@link Dockable} */
+    private RepaintRegions.Region borderRegion = new RepaintRegions.Region(){
+    	public Rectangle[] getRegions( JComponent component ){
+    		Rectangle bounds = new Rectangle( 0, 0, component.getWidth(), component.getHeight() );
+    		if( dockable == null ){
+    			return new Rectangle[]{ bounds };
+    		}
+    		Component inner = getComponent( dockable );
+    		if( inner == null || !SwingUtilities.isDescendingFrom( inner, component ) || inner.getParent() == null ){
+    			return new Rectangle[]{ bounds };
+    		}
+    		return RepaintRegions.around( bounds, SwingUtilities.convertRectangle( inner.getParent(), inner.getBounds(), component ) );
+    	}
+    };
+    
     /** this listener gets added to the current {@link SingleTabDecider} */
     private SingleTabDeciderListener singleTabListener = new SingleTabDeciderListener(){
     	public void showSingleTabChanged( SingleTabDecider source, Dockable dockable ){
@@ -288,7 +308,7 @@ public class BasicDockableDisplayer extends ConfiguredBackgroundPanel implements
     	
     	fireMoveableElementChanged();
     	revalidate();
-    	repaint();
+    	repaintRegions.repaintAll( decorator );
     }
     
     /**
@@ -410,9 +430,29 @@ public class BasicDockableDisplayer extends ConfiguredBackgroundPanel implements
     	background.setController( controller );
     	baseBorder.setController( controller );
     	contentBorder.setController( controller );
+    	repaintRegions.setController( controller );
     	resetDecorator();
     }
     
+    /**
+     * Gets the {@link RepaintRegions} which tell which parts of this displayer need to be
+     * repainted if a color changes.
+     * @return the regions, not <code>null</code>
+     */
+    public RepaintRegions getRepaintRegions(){
+		return repaintRegions;
+	}
+    
+    /**
+     * Gets a {@link RepaintRegions.Region} that covers all the parts of this displayer that are
+     * not covered by the {@link #getDockable() Dockable}, e.g. the borders and the title. This region
+     * should be used for colors that are only used by borders.
+     * @return the region around the {@link Dockable}
+     */
+    public RepaintRegions.Region getBorderRegion(){
+		return borderRegion;
+	}
+    
     public DockController getController() {
         return controller;
     }
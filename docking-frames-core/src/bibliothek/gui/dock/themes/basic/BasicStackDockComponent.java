@@ -139,13 +139,21 @@ public class BasicStackDockComponent extends DefaultStackDockComponent {
                     background = colorBackground.value();
                 }
                 
-                setForegroundAt( index, foreground );
-                setBackgroundAt( index, background );
+                // changing a color of a tab forces the tabbed pane to calculate its layout
+                if( foreground == null || !foreground.equals( getForegroundAt( index ) )){
+                    setForegroundAt( index, foreground );
+                }
+                if( background == null || !background.equals( getBackgroundAt( index ) )){
+                    setBackgroundAt( index, background );
+                }
             }
         }
         
         public void dockableFocused( DockableFocusEvent event ) {
-            updateColors();
+            Dockable dockable = getDockable();
+            if( event.getOldFocusOwner() == dockable || event.getNewFocusOwner() == dockable ){
+                updateColors();
+            }
         }
         
         /**
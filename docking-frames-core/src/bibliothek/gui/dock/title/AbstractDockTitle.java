@@ -348,6 +348,16 @@ public class AbstractDockTitle extends AbstractMultiDockTitle {
 		return suggestedSource;
 	}
     
+    @Override
+    protected boolean replaceDockable( Dockable dockable ){
+    	if( super.replaceDockable( dockable )){
+    		// the actions were suggested for the old owner
+    		suggestedSource = null;
+    		return true;
+    	}
+    	return false;
+    }
+    
     @Override
     public void bind() {        
         DockController controller = getDockable().getController();
@@ -61,6 +61,7 @@ import bibliothek.gui.dock.util.ConfiguredBackgroundPanel;
 import bibliothek.gui.dock.util.DockProperties;
 import bibliothek.gui.dock.util.DockUtilities;
 import bibliothek.gui.dock.util.PropertyValue;
+import bibliothek.gui.dock.util.RepaintRegions;
 import bibliothek.gui.dock.util.Transparency;
 import bibliothek.gui.dock.util.UIValue;
 import bibliothek.gui.dock.util.color.AbstractDockColor;
@@ -81,7 +82,7 @@ import bibliothek.util.Path;
  * @author Benjamin Sigg
  */
 @FrameworkOnly
-public abstract class AbstractMultiDockTitle extends ConfiguredBackgroundPanel implements DockTitle {
+public abstract class AbstractMultiDockTitle extends ConfiguredBackgroundPanel implements ReusableDockTitle {
     /** Insets of the size 1,2,1,2 */
     private static final Insets DEFAULT_INSETS_HORIZONTAL = new Insets( 0, 1, 0, 1 );
     /** Insets of the size 2,1,2,1 */
@@ -135,6 +136,9 @@ public abstract class AbstractMultiDockTitle extends ConfiguredBackgroundPanel i
     /** the current border, can be <code>null</code> */
     private TitleBorder border;
     
+    /** tells which parts of this title depend on which colors */
+    private RepaintRegions repaintRegions = new RepaintRegions( this );
+    
     /** whether this title is disabled */
     private boolean disabled = false;
     
@@ -408,29 +412,59 @@ public abstract class AbstractMultiDockTitle extends ConfiguredBackgroundPanel i
     			icon = disabledIcon;
     		}
     		if( icon != null ){
-	    		Insets insets = titleInsets();
-	            if( orientation.isVertical() ){
-	                int width = getWidth() - insets.left - insets.right;
-	                icon.paintIcon( this, g, insets.left + (width - icon.getIconWidth())/2, insets.top );
-	            }
-	            else{
-	                int height = getHeight() - insets.top - insets.bottom;
-	                icon.paintIcon( this, g, insets.left, insets.top + (height - icon.getIconHeight()) / 2 );
-	            }
+    			Rectangle bounds = getIconBounds( icon );
+    			icon.paintIcon( this, g, bounds.x, bounds.y );
     		}
         }
     }
     
+    /**
+     * Gets the area in which {@link #paintIcon(Graphics, JComponent)} paints <code>icon</code>.
+     * @param icon the icon that is painted, not <code>null</code>
+     * @return the area covered by <code>icon</code>
+     */
+    protected Rectangle getIconBounds( Icon icon ){
+    	Insets insets = titleInsets();
+    	int iconWidth = icon.getIconWidth();
+    	int iconHeight = icon.getIconHeight();
+    	if( orientation.isVertical() ){
+    		int width = getWidth() - insets.left - insets.right;
+    		return new Rectangle( insets.left + (width - iconWidth)/2, insets.top, iconWidth, iconHeight );
+    	}
+    	else{
+    		int height = getHeight() - insets.top - insets.bottom;
+    		return new Rectangle( insets.left, insets.top + (height - iconHeight) / 2, iconWidth, iconHeight );
+    	}
+    }
+    
+    /**
+     * Gets the {@link RepaintRegions} which tell which parts of this title need to be
+     * repainted if one of its colors changes. Subclasses should register the colors they
+     * add with {@link #addColor(AbstractDockColor)} in this object.
+     * @return the regions, not <code>null</code>
+     */
+    protected RepaintRegions getRepaintRegions(){
+		return repaintRegions;
+	}
+    
     /**
      * Sets the icon of this title. The icon is shown on the top or the left
      * edge.
      * @param icon the icon, can be <code>null</code>
      */
     protected void setIcon( Icon icon ){
+    	Icon oldIcon = this.icon;
         this.icon = icon;
         disabledIcon = null;
-        revalidate();
-        repaint();
+        
+        if( oldIcon != null && icon != null && oldIcon.getIconWidth() == icon.getIconWidth() && oldIcon.getIconHeight() == icon.getIconHeight() ){
+        	// the layout does not change, only the icon itself needs to be painted again
+        	repaintRegions.repaint( icon, getIconBounds( icon ) );
+        }
+        else{
+        	revalidate();
+        	repaintRegions.repaintAll( icon );
+        }
     }
     
     /**
@@ -457,7 +491,7 @@ public abstract class AbstractMultiDockTitle extends ConfiguredBackgroundPanel i
      */
     protected void setText( String text ){
         label.setText( text );
-        repaint();
+        repaintRegions.repaint( label, label.getBounds() );
     }
     
     /**
@@ -798,6 +832,7 @@ public abstract class AbstractMultiDockTitle extends ConfiguredBackgroundPanel i
             orientationConverter.setProperties( controller );
         }
         
+        repaintRegions.setController( controller );
         background.setController( controller );
         
         if( border != null ){
@@ -833,6 +868,7 @@ public abstract class AbstractMultiDockTitle extends ConfiguredBackgroundPanel i
         setIcon( null );
         setTooltip( null );
         background.setController( null );
+        repaintRegions.setController( null );
     }
     
     /**
@@ -874,6 +910,34 @@ public abstract class AbstractMultiDockTitle extends ConfiguredBackgroundPanel i
         return bound;
     }
     
+    /**
+     * Moves this title to <code>dockable</code>. The default implementation always returns <code>false</code>,
+     * as only a subclass knows which of its properties depend on the owner. Subclasses that are able to
+     * represent another {@link Dockable} override this method, call {@link #replaceDockable(Dockable)} and update
+     * any information they derived from their old owner.
+     * @param dockable the new owner of this title
+     * @return whether <code>dockable</code> is now the owner of this title
+     */
+    public boolean reuse( Dockable dockable ){
+    	return false;
+    }
+    
+    /**
+     * Replaces the owner of this title by <code>dockable</code>. The owner is only replaced if this title is not
+     * bound and if <code>dockable</code> is of the same class as the current owner, as the factory that created this 
+     * title would likely create the same kind of title for <code>dockable</code>. 
+     * @param dockable the new owner of this title
+     * @return whether <code>dockable</code> is now the owner of this title
+     * @see #reuse(Dockable)
+     */
+    protected boolean replaceDockable( Dockable dockable ){
+    	if( bound || dockable == null || dockable.getClass() != this.dockable.getClass() ){
+    		return false;
+    	}
+    	this.dockable = dockable;
+    	return true;
+    }
+    
     /**
      * Checks the state of this title and may replace the font of the title.
      */
@@ -27,12 +27,18 @@
 package bibliothek.gui.dock.title;
 
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import bibliothek.gui.DockController;
+import bibliothek.gui.DockStation;
 import bibliothek.gui.DockTheme;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DockFactory;
+import bibliothek.gui.dock.event.DockRegisterAdapter;
 import bibliothek.gui.dock.event.UIListener;
 import bibliothek.gui.dock.util.Priority;
 import bibliothek.gui.dock.util.extension.Extension;
@@ -46,6 +52,13 @@ import bibliothek.util.Path;
  * Every version consists of three slots for factories, each with different
  * priority. If a new title is required, the factory with the highest priority
  * will be used.<br>
+ * A version keeps a small pool of {@link DockTitle}s that were created by its factory but are no longer
+ * used. If a title is requested for a {@link DockStation} of the same type, and if the factory did not change 
+ * in the meantime, then a title from the pool is reused instead of creating a new one. A title of another 
+ * {@link Dockable} is only reused if it is a {@link ReusableDockTitle} and accepts the new owner. Titles 
+ * are removed from the pool once their {@link Dockable} is unregistered. Versions
+ * whose factory just forwards requests to another version, like the {@link ControllerTitleFactory}, leave the pooling
+ * to that other version.<br>
  * <code>DockTitleVersion</code> implements {@link DockTitleFactory} for convenience.
  * @author Benjamin Sigg
  */
@@ -74,6 +87,24 @@ public class DockTitleVersion implements DockTitleFactory{
     
     /** whether the theme is currently changing, a version does automatically call {@link DockTitleRequest#request()} while the theme changes */
     private boolean onThemeChange = false;
+    
+    /** the titles that were created by the current factory, and the factory that created them */
+    private Map<DockTitle, DockTitleFactory> created = new WeakHashMap<DockTitle, DockTitleFactory>();
+    
+    /** titles that are no longer used and that may be reused, the oldest title is the first entry */
+    private LinkedList<PooledTitle> pool = new LinkedList<PooledTitle>();
+    
+    /** the maximum number of titles in {@link #pool} */
+    private int poolSize = 25;
+    
+    /** removes titles from the {@link #pool} if their {@link Dockable} is unregistered, <code>null</code> until the pool is used */
+    private DockRegisterAdapter poolPurger;
+    
+    /** how many requests were answered with a title from the {@link #pool} */
+    private int poolHits = 0;
+    
+    /** how many requests had to be answered by the factory */
+    private int poolMisses = 0;
     
     /**
      * Creates a new version.
@@ -132,6 +163,7 @@ public class DockTitleVersion implements DockTitleFactory{
      */
     public void uninstall( DockTitleRequest request ){
     	requests.remove( request );
+    	release( request, request.getAnswer() );
     	DockTitleFactory factory = getFactory();
     	if( factory != null ){
     		factory.uninstall( request );
@@ -156,8 +188,192 @@ public class DockTitleVersion implements DockTitleFactory{
     	
     	DockTitleFactory factory = getFactory();
     	if( factory != null ){
+    		if( isPooling( factory )){
+    			request( request, factory );
+    		}
+    		else{
+    			factory.request( request );
+    		}
+    	}
+    }
+    
+    /**
+     * Answers <code>request</code> with a title from the {@link #pool}, or asks <code>factory</code>
+     * to answer <code>request</code> if there is no title that can be reused. 
+     * @param request the request to answer
+     * @param factory the current factory
+     */
+    private void request( DockTitleRequest request, DockTitleFactory factory ){
+    	DockTitle previous = request.getAnswer();
+    	DockTitle title = reuse( request, factory );
+    	if( title != null ){
+    		poolHits++;
+    		request.answer( title );
+    	}
+    	else{
+    		poolMisses++;
     		factory.request( request );
+    		if( request.isAnswered() ){
+    			title = request.getAnswer();
+    			if( title != null ){
+    				created.put( title, factory );
+    			}
+    		}
+    	}
+    	if( previous != null && previous != request.getAnswer() ){
+    		release( request, previous );
+    	}
+    }
+    
+    /**
+     * Tells whether titles created by <code>factory</code> should be put into the {@link #pool}.
+     * @param factory the current factory
+     * @return <code>false</code> if <code>factory</code> forwards requests to another version
+     */
+    private boolean isPooling( DockTitleFactory factory ){
+    	return !(factory instanceof ControllerTitleFactory) && !(factory instanceof DockTitleVersion);
+    }
+    
+    /**
+     * Searches a title in the {@link #pool} which can be used to answer <code>request</code>.
+     * @param request the request that needs to be answered
+     * @param factory the current factory
+     * @return the title that can be reused or <code>null</code>
+     */
+    private DockTitle reuse( DockTitleRequest request, DockTitleFactory factory ){
+    	Dockable target = request.getTarget();
+    	Class<?> parent = parentType( request );
+    	DockTitleVersion origin = request.getVersion();
+    	PooledTitle other = null;
+    	
+    	for( PooledTitle pooled : pool ){
+    		if( pooled.factory == factory && pooled.parent == parent && pooled.title.getOrigin() == origin && isFree( pooled.title )){
+    			if( pooled.title.getDockable() == target ){
+    				pool.remove( pooled );
+    				return pooled.title;
+    			}
+    			if( other == null && pooled.title instanceof ReusableDockTitle ){
+    				other = pooled;
+    			}
+    		}
     	}
+    	
+    	if( other != null && ((ReusableDockTitle)other.title).reuse( target )){
+    		pool.remove( other );
+    		return other.title;
+    	}
+    	return null;
+    }
+    
+    /**
+     * Gets the type of the station which requests a title.
+     * @param request the request
+     * @return the type of the parent of <code>request</code>, can be <code>null</code>
+     */
+    private Class<?> parentType( DockTitleRequest request ){
+    	DockStation parent = request.getParent();
+    	return parent == null ? null : parent.getClass();
+    }
+    
+    /**
+     * Removes all the titles of <code>dockable</code> from the {@link #pool}.
+     * @param dockable a {@link Dockable} that is no longer registered
+     */
+    private void purge( Dockable dockable ){
+    	Iterator<PooledTitle> iterator = pool.iterator();
+    	while( iterator.hasNext() ){
+    		if( iterator.next().title.getDockable() == dockable ){
+    			iterator.remove();
+    		}
+    	}
+    }
+    
+    /**
+     * Tells whether <code>title</code> is not bound and not shown anywhere.
+     * @param title the title to check
+     * @return <code>true</code> if <code>title</code> can be given to another {@link DockTitleRequest}
+     */
+    private boolean isFree( DockTitle title ){
+    	for( DockTitle bound : title.getDockable().listBoundTitles() ){
+    		if( bound == title ){
+    			return false;
+    		}
+    	}
+    	return title.getComponent().getParent() == null;
+    }
+    
+    /**
+     * Puts <code>title</code> into the {@link #pool} if it was created by the current factory.
+     * @param request the request which no longer uses <code>title</code>
+     * @param title the title that is no longer used, can be <code>null</code>
+     */
+    private void release( DockTitleRequest request, DockTitle title ){
+    	if( title == null || poolSize <= 0 ){
+    		return;
+    	}
+    	DockTitleFactory factory = created.get( title );
+    	if( factory == null || factory != getFactory() ){
+    		return;
+    	}
+    	for( PooledTitle pooled : pool ){
+    		if( pooled.title == title ){
+    			return;
+    		}
+    	}
+    	if( poolPurger == null ){
+    		// the register does not yet exist when the version is created
+    		poolPurger = new DockRegisterAdapter(){
+            	@Override
+            	public void dockableUnregistered( DockController controller, Dockable dockable ){
+            		purge( dockable );
+            	}
+            };
+            controller.getRegister().addDockRegisterListener( poolPurger );
+    	}
+    	pool.addLast( new PooledTitle( title, parentType( request ), factory ) );
+    	while( pool.size() > poolSize ){
+    		pool.removeFirst();
+    	}
+    }
+    
+    /**
+     * Sets the maximum number of unused {@link DockTitle}s that are kept for reuse.
+     * @param poolSize the maximum number of titles, 0 to disable reusing titles
+     */
+    public void setTitlePoolSize( int poolSize ){
+    	if( poolSize < 0 ){
+    		throw new IllegalArgumentException( "poolSize must not be negative: " + poolSize );
+    	}
+    	this.poolSize = poolSize;
+    	while( pool.size() > poolSize ){
+    		pool.removeFirst();
+    	}
+    }
+    
+    /**
+     * Gets the maximum number of unused {@link DockTitle}s that are kept for reuse.
+     * @return the maximum number of titles
+     */
+    public int getTitlePoolSize(){
+    	return poolSize;
+    }
+    
+    /**
+     * Tells how many requests were answered with a reused {@link DockTitle}. This number
+     * is meant to be used for diagnostics.
+     * @return the number of reused titles
+     */
+    public int getTitlePoolHits(){
+    	return poolHits;
+    }
+    
+    /**
+     * Tells how many requests had to be forwarded to the factory because no {@link DockTitle} could be reused.
+     * This number is meant to be used for diagnostics.
+     * @return the number of requests that could not use a reused title
+     */
+    public int getTitlePoolMisses(){
+    	return poolMisses;
     }
     
     /**
@@ -209,6 +425,8 @@ public class DockTitleVersion implements DockTitleFactory{
     	DockTitleFactory newFactory = getFactory();
     	
     	if( oldFactory != newFactory ){
+    		pool.clear();
+    		created.clear();
     		if( oldFactory != null ){
     			for( DockTitleRequest request : requests ){
     				oldFactory.uninstall( request );
@@ -271,4 +489,29 @@ public class DockTitleVersion implements DockTitleFactory{
     public DockController getController(){
         return controller;
     }
+    
+    /**
+     * A {@link DockTitle} that is no longer used and may be reused.
+     * @author Benjamin Sigg
+     */
+    private static class PooledTitle{
+    	/** the title that may be reused */
+    	public final DockTitle title;
+    	/** the type of the station which used {@link #title} */
+    	public final Class<?> parent;
+    	/** the factory which created {@link #title} */
+    	public final DockTitleFactory factory;
+    	
+    	/**
+    	 * Creates a new entry of the pool.
+    	 * @param title the title that may be reused
+    	 * @param parent the type of the station which used <code>title</code>
+    	 * @param factory the factory which created <code>title</code>
+    	 */
+    	public PooledTitle( DockTitle title, Class<?> parent, DockTitleFactory factory ){
+    		this.title = title;
+    		this.parent = parent;
+    		this.factory = factory;
+    	}
+    }
 }
\ No newline at end of file
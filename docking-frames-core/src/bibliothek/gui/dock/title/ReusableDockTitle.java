@@ -0,0 +1,44 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.title;
+
+import bibliothek.gui.Dockable;
+
+/**
+ * A {@link DockTitle} which can be moved to another {@link Dockable} while it is not {@link DockTitle#bind() bound}.
+ * The {@link DockTitleVersion} uses this ability to give unused titles to new requests.
+ * @author Benjamin Sigg
+ */
+public interface ReusableDockTitle extends DockTitle {
+	/**
+	 * Tells this title that from now on it represents <code>dockable</code>. This method is only called while
+	 * this title is not bound.
+	 * @param dockable the new owner of this title, not <code>null</code>
+	 * @return <code>true</code> if this title now represents <code>dockable</code>, <code>false</code> if
+	 * this title cannot represent <code>dockable</code> and remains unchanged
+	 */
+	public boolean reuse( Dockable dockable );
+}
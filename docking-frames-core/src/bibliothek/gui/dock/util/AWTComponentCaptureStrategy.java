@@ -31,10 +31,14 @@ import java.awt.Container;
 import java.awt.Graphics;
 import java.awt.GraphicsConfiguration;
 import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.Robot;
 import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.swing.SwingUtilities;
 
@@ -49,9 +53,39 @@ import bibliothek.gui.dock.util.property.ConstantPropertyFactory;
 public interface AWTComponentCaptureStrategy {
     /**
      * This strategy just takes a real screen capture of the area in which the
-     * component is supposed to be.
+     * component is supposed to be. The {@link Robot}s required to take the capture
+     * are reused.
      */
     public static final AWTComponentCaptureStrategy SCREEN_CAPTURE_STRATEGY = new AWTComponentCaptureStrategy(){
+        /** the robots that were created so far, one robot per device */
+        private Map<GraphicsDevice, Robot> robots = new HashMap<GraphicsDevice, Robot>();
+        
+        /** the screen devices for which {@link #robots} is valid */
+        private GraphicsDevice[] devices;
+        
+        /**
+         * Gets a {@link Robot} for <code>device</code>, creating a new one if necessary. All
+         * cached robots are discarded if the screen devices changed since the last call, e.g.
+         * because a monitor was removed.
+         * @param device the device on which the robot works
+         * @return the robot
+         * @throws AWTException if the robot cannot be created
+         */
+        private Robot getRobot( GraphicsDevice device ) throws AWTException{
+            GraphicsDevice[] current = GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices();
+            if( !Arrays.equals( devices, current )){
+                robots.clear();
+                devices = current;
+            }
+            
+            Robot deviceRobot = robots.get( device );
+            if( deviceRobot == null ){
+                deviceRobot = new Robot( device );
+                robots.put( device, deviceRobot );
+            }
+            return deviceRobot;
+        }
+        
         public BufferedImage createCapture( DockController controller, Component component ){
             try {
                 if( !component.isShowing() )
@@ -65,7 +99,7 @@ public interface AWTComponentCaptureStrategy {
                 if( device == null )
                     return null;
 
-                Robot deviceRobot = new Robot( device );
+                Robot deviceRobot = getRobot( device );
 
                 Point location = new Point( 0, 0 );
                 SwingUtilities.convertPointToScreen( location, component );
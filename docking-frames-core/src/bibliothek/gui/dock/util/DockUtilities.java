@@ -572,10 +572,30 @@ public class DockUtilities {
      * @see Properties#load(InputStream)
      */
     public static Map<String, Icon> loadIcons( String list, String path, Set<String> ignore, ClassLoader loader ){
+    	Map<String, URL> urls = loadIconPaths( list, path, ignore, loader );
+    	Map<String, Icon> result = new HashMap<String, Icon>();
+    	for( Map.Entry<String, URL> entry : urls.entrySet() ){
+    		result.put( entry.getKey(), new ImageIcon( entry.getValue() ) );
+    	}
+    	return result;
+    }
+    
+    /**
+     * Reads a property-file of key-path-pairs and resolves the location of each icon, but
+     * does not yet load the icons. This allows clients to load icons only when they are needed.
+     * @param list a path to a property-file containing key-path-pairs.
+     * @param path the base path to the icons, will be added before any
+     * path of the property file, can be <code>null</code>
+     * @param ignore keys that are already present in <code>ignore</code> are not loaded, can be <code>null</code>
+     * @param loader used to transform paths into urls.
+     * @return the map of {@link URL}s pointing to the icons, the map can be empty if no icons were found
+     * @see #loadIcons(String, String, Set, ClassLoader)
+     */
+    public static Map<String, URL> loadIconPaths( String list, String path, Set<String> ignore, ClassLoader loader ){
         try{
             InputStream in = loader.getResourceAsStream( list );
             if( in == null )
-                return new HashMap<String, Icon>();
+                return new HashMap<String, URL>();
             
             Properties properties = new Properties();
             properties.load( in );
@@ -591,7 +611,7 @@ public class DockUtilities {
             	}
             }
             
-            Map<String, Icon> result = new HashMap<String, Icon>();
+            Map<String, URL> result = new HashMap<String, URL>();
             for( Map.Entry<Object, Object> entry : properties.entrySet() ){
                 String key = (String)entry.getKey();
                 
@@ -605,8 +625,7 @@ public class DockUtilities {
 	                    System.err.println( "Missing file: " + file );
 	                }
 	                else{
-	                    ImageIcon icon = new ImageIcon( url );
-	                    result.put( key, icon );
+	                    result.put( key, url );
 	                }
                 }
             }
@@ -615,7 +634,7 @@ public class DockUtilities {
         }
         catch( IOException ex ){
             ex.printStackTrace();
-            return new HashMap<String, Icon>();
+            return new HashMap<String, URL>();
         }
     }
  
@@ -0,0 +1,172 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util;
+
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.List;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.util.property.DynamicPropertyFactory;
+
+/**
+ * Collects statistics about the repaints that were requested by {@link RepaintRegions}. Each call
+ * to one of the <code>repaint</code> methods of a {@link RepaintRegions} counts as one event, the area
+ * of an event is the sum of the areas of all the rectangles that were repainted. This information can
+ * be used to find out how much of the screen is invalidated when for example the focus changes.<br>
+ * This class is intended to be used only by the EventDispatchThread.
+ * @author Benjamin Sigg
+ */
+public class RepaintMonitor {
+	/** The monitor that is shared by all the components using the same {@link DockProperties} */
+	public static final PropertyKey<RepaintMonitor> REPAINT_MONITOR = new PropertyKey<RepaintMonitor>( "dock.repaintMonitor",
+			new DynamicPropertyFactory<RepaintMonitor>(){
+				public RepaintMonitor getDefault( PropertyKey<RepaintMonitor> key, DockProperties properties ){
+					return new RepaintMonitor();
+				}
+			}, true );
+	
+	/** the number of events that were reported */
+	private long events = 0;
+	
+	/** the number of events that did not repaint anything */
+	private long skippedEvents = 0;
+	
+	/** the sum of the areas of all events */
+	private long area = 0;
+	
+	/** the area of the last event */
+	private long lastArea = 0;
+	
+	/** observers of this monitor */
+	private List<RepaintMonitorListener> listeners = new ArrayList<RepaintMonitorListener>();
+	
+	/**
+	 * Gets the monitor that is used by <code>controller</code>.
+	 * @param controller the controller whose monitor is searched, can be <code>null</code>
+	 * @return the monitor or <code>null</code> if <code>controller</code> was <code>null</code>
+	 */
+	public static RepaintMonitor get( DockController controller ){
+		if( controller == null ){
+			return null;
+		}
+		return controller.getProperties().get( REPAINT_MONITOR );
+	}
+	
+	/**
+	 * Adds a listener to this monitor, the listener will be informed about each repaint event.
+	 * @param listener the new listener, not <code>null</code>
+	 */
+	public void addRepaintMonitorListener( RepaintMonitorListener listener ){
+		if( listener == null ){
+			throw new IllegalArgumentException( "listener must not be null" );
+		}
+		listeners.add( listener );
+	}
+	
+	/**
+	 * Removes a listener from this monitor.
+	 * @param listener the listener to remove
+	 */
+	public void removeRepaintMonitorListener( RepaintMonitorListener listener ){
+		listeners.remove( listener );
+	}
+	
+	/**
+	 * Called by {@link RepaintRegions} when <code>component</code> was repainted.
+	 * @param component the component that was repainted
+	 * @param source the object that caused the repaint, e.g. a {@link UIValue}, can be <code>null</code>
+	 * @param area the number of pixels that were repainted, <code>0</code> if nothing was repainted
+	 */
+	public void repainted( Component component, Object source, long area ){
+		events++;
+		if( area == 0 ){
+			skippedEvents++;
+		}
+		this.area += area;
+		lastArea = area;
+		
+		if( !listeners.isEmpty() ){
+			for( RepaintMonitorListener listener : listeners.toArray( new RepaintMonitorListener[ listeners.size() ] ) ){
+				listener.repainted( this, component, source, area );
+			}
+		}
+	}
+	
+	/**
+	 * Gets the number of events that were reported since the last {@link #reset()}.
+	 * @return the number of events
+	 */
+	public long getEventCount(){
+		return events;
+	}
+	
+	/**
+	 * Gets the number of events that did not repaint anything because the changed
+	 * value was not visible.
+	 * @return the number of skipped events
+	 */
+	public long getSkippedEventCount(){
+		return skippedEvents;
+	}
+	
+	/**
+	 * Gets the sum of the areas of all events since the last {@link #reset()}.
+	 * @return the total number of repainted pixels
+	 */
+	public long getRepaintedArea(){
+		return area;
+	}
+	
+	/**
+	 * Gets the number of pixels that were repainted by the last event.
+	 * @return the area of the last event
+	 */
+	public long getLastRepaintedArea(){
+		return lastArea;
+	}
+	
+	/**
+	 * Gets the average number of pixels that were repainted per event.
+	 * @return the average area, <code>0</code> if there were no events
+	 */
+	public double getAverageRepaintedArea(){
+		if( events == 0 ){
+			return 0;
+		}
+		return area / (double)events;
+	}
+	
+	/**
+	 * Sets all counters back to <code>0</code>.
+	 */
+	public void reset(){
+		events = 0;
+		skippedEvents = 0;
+		area = 0;
+		lastArea = 0;
+	}
+}
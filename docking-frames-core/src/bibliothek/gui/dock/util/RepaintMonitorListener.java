@@ -0,0 +1,44 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util;
+
+import java.awt.Component;
+
+/**
+ * A listener added to a {@link RepaintMonitor}, gets informed about each repaint that was
+ * requested through a {@link RepaintRegions}.
+ * @author Benjamin Sigg
+ */
+public interface RepaintMonitorListener {
+	/**
+	 * Called after <code>component</code> was repainted.
+	 * @param monitor the source of the event
+	 * @param component the component that was repainted
+	 * @param source the object that caused the repaint, e.g. a {@link UIValue}, can be <code>null</code>
+	 * @param area the number of pixels that were repainted, <code>0</code> if nothing was repainted
+	 */
+	public void repainted( RepaintMonitor monitor, Component component, Object source, long area );
+}
@@ -0,0 +1,251 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util;
+
+import java.awt.Rectangle;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.swing.JComponent;
+
+import bibliothek.gui.DockController;
+import bibliothek.util.Condition;
+
+/**
+ * Tells which parts of a {@link JComponent} depend on which {@link UIValue}. If a {@link UIValue} changes,
+ * only the {@link Region} that is associated with the value needs to be repainted. A region may also be
+ * empty, e.g. if a color is only used while a title is focused and the title currently is not focused.<br>
+ * {@link UIValue}s that are not known to a {@link RepaintRegions} are assumed to influence the entire
+ * component.<br>
+ * Each repaint is reported to the {@link RepaintMonitor} of the current {@link DockController}.
+ * @author Benjamin Sigg
+ */
+public class RepaintRegions {
+	/**
+	 * Describes the areas of a component that depend on some {@link UIValue}.
+	 * @author Benjamin Sigg
+	 */
+	public static interface Region{
+		/**
+		 * Gets the areas of <code>component</code> that need to be repainted if the value 
+		 * that is associated with this region changes.
+		 * @param component the component whose areas are searched
+		 * @return the areas in the coordinate system of <code>component</code>, <code>null</code>
+		 * or an empty array if the value is currently not painted at all
+		 */
+		public Rectangle[] getRegions( JComponent component );
+	}
+	
+	/** A {@link Region} that covers the entire component */
+	public static final Region EVERYTHING = new Region(){
+		public Rectangle[] getRegions( JComponent component ){
+			return new Rectangle[]{ new Rectangle( 0, 0, component.getWidth(), component.getHeight() ) };
+		}
+	};
+	
+	/** A {@link Region} that is always empty, to be used for values that are not painted at all */
+	public static final Region NOTHING = new Region(){
+		public Rectangle[] getRegions( JComponent component ){
+			return null;
+		}
+	};
+	
+	/**
+	 * Creates a new {@link Region} which is only used if <code>condition</code> is met.
+	 * @param condition the condition that tells whether <code>region</code> is painted
+	 * @param region the areas to repaint if <code>condition</code> is met
+	 * @return the new region
+	 */
+	public static Region conditional( final Condition condition, final Region region ){
+		return new Region(){
+			public Rectangle[] getRegions( JComponent component ){
+				if( condition.getState() ){
+					return region.getRegions( component );
+				}
+				return null;
+			}
+		};
+	}
+	
+	/** the component whose regions are tracked */
+	private JComponent component;
+	
+	/** all the known regions */
+	private Map<UIValue<?>, Region> regions = new HashMap<UIValue<?>, Region>();
+	
+	/** the monitor to inform about repaints, can be <code>null</code> */
+	private RepaintMonitor monitor;
+	
+	/**
+	 * Creates a new set of regions.
+	 * @param component the component whose regions are tracked, not <code>null</code>
+	 */
+	public RepaintRegions( JComponent component ){
+		if( component == null ){
+			throw new IllegalArgumentException( "component must not be null" );
+		}
+		this.component = component;
+	}
+	
+	/**
+	 * Sets the controller in whose realm the component is used. The {@link RepaintMonitor} of
+	 * <code>controller</code> will be informed about all repaints.
+	 * @param controller the new controller, can be <code>null</code>
+	 */
+	public void setController( DockController controller ){
+		monitor = RepaintMonitor.get( controller );
+	}
+	
+	/**
+	 * Gets the component whose regions are tracked.
+	 * @return the component, not <code>null</code>
+	 */
+	public JComponent getComponent(){
+		return component;
+	}
+	
+	/**
+	 * Tells which areas depend on <code>value</code>.
+	 * @param value the value whose regions are set
+	 * @param region the region, <code>null</code> to remove the region
+	 */
+	public void put( UIValue<?> value, Region region ){
+		if( region == null ){
+			regions.remove( value );
+		}
+		else{
+			regions.put( value, region );
+		}
+	}
+	
+	/**
+	 * Tells which areas depend on any of <code>values</code>.
+	 * @param region the region of all the values
+	 * @param values the values whose regions are set
+	 */
+	public void putAll( Region region, UIValue<?>... values ){
+		for( UIValue<?> value : values ){
+			put( value, region );
+		}
+	}
+	
+	/**
+	 * Gets the region that is associated with <code>value</code>.
+	 * @param value some value
+	 * @return the region, {@link #EVERYTHING} if <code>value</code> is not known
+	 */
+	public Region get( UIValue<?> value ){
+		Region region = regions.get( value );
+		if( region == null ){
+			return EVERYTHING;
+		}
+		return region;
+	}
+	
+	/**
+	 * Tells whether <code>value</code> currently has any influence on how the component is painted. The
+	 * size of the component is not taken into account, a value may be painted even if the component is
+	 * currently not visible.
+	 * @param value the value to check
+	 * @return <code>true</code> if the component must be repainted when <code>value</code> changes
+	 */
+	public boolean isPainted( UIValue<?> value ){
+		Rectangle[] areas = get( value ).getRegions( component );
+		return areas != null && areas.length > 0;
+	}
+	
+	/**
+	 * Repaints all the areas that depend on <code>value</code>.
+	 * @param value the value that changed
+	 * @return <code>true</code> if anything was repainted, <code>false</code> if <code>value</code> 
+	 * currently has no influence on the component
+	 */
+	public boolean repaint( UIValue<?> value ){
+		return repaint( value, get( value ).getRegions( component ) );
+	}
+	
+	/**
+	 * Repaints the entire component.
+	 * @param source the object that causes the repaint, can be <code>null</code>
+	 */
+	public void repaintAll( Object source ){
+		component.repaint();
+		report( source, (long)component.getWidth() * component.getHeight() );
+	}
+	
+	/**
+	 * Repaints some areas of the component. Areas outside the boundaries of the component are ignored.
+	 * @param source the object that causes the repaint, can be <code>null</code>
+	 * @param areas the areas to repaint in the coordinate system of the component, can be <code>null</code>
+	 * @return <code>true</code> if anything was repainted
+	 */
+	public boolean repaint( Object source, Rectangle... areas ){
+		long sum = 0;
+		if( areas != null ){
+			Rectangle bounds = new Rectangle( 0, 0, component.getWidth(), component.getHeight() );
+			for( Rectangle area : areas ){
+				if( area != null ){
+					Rectangle clipped = bounds.intersection( area );
+					if( clipped.width > 0 && clipped.height > 0 ){
+						component.repaint( clipped );
+						sum += (long)clipped.width * clipped.height;
+					}
+				}
+			}
+		}
+		report( source, sum );
+		return sum > 0;
+	}
+	
+	private void report( Object source, long area ){
+		if( monitor != null ){
+			monitor.repainted( component, source, area );
+		}
+	}
+	
+	/**
+	 * Creates up to four rectangles that cover <code>outer</code> but not <code>inner</code>.
+	 * @param outer the outer boundaries
+	 * @param inner the hole in <code>outer</code>, can be <code>null</code>
+	 * @return the rectangles covering <code>outer</code> without <code>inner</code>
+	 */
+	public static Rectangle[] around( Rectangle outer, Rectangle inner ){
+		if( inner == null ){
+			return new Rectangle[]{ outer };
+		}
+		inner = outer.intersection( inner );
+		if( inner.isEmpty() ){
+			return new Rectangle[]{ outer };
+		}
+		
+		return new Rectangle[]{
+			new Rectangle( outer.x, outer.y, outer.width, inner.y - outer.y ),
+			new Rectangle( outer.x, inner.y + inner.height, outer.width, outer.y + outer.height - inner.y - inner.height ),
+			new Rectangle( outer.x, inner.y, inner.x - outer.x, inner.height ),
+			new Rectangle( inner.x + inner.width, inner.y, outer.x + outer.width - inner.x - inner.width, inner.height )
+		};
+	}
+}
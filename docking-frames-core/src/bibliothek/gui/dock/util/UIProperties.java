@@ -28,14 +28,16 @@ package bibliothek.gui.dock.util;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
 
 import bibliothek.gui.DockController;
+import bibliothek.util.FrameworkOnly;
 import bibliothek.util.Path;
 
 /**
@@ -66,7 +68,9 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
     private PriorityValue<UISchemeListener<V, U, B>> schemeListeners = new PriorityValue<UISchemeListener<V,U,B>>();
     
     /** a list of all observers */
-    private List<Observer> observers = new LinkedList<Observer>();
+    private Set<Observer> observers = new LinkedHashSet<Observer>();
+    /** all observers grouped by the {@link UIValue} they wrap, allows fast removal of observers */
+    private Map<U, List<Observer>> observersByValue = new IdentityHashMap<U, List<Observer>>();
     
     /** whether to stall updates or not */
     private int updateLock = 0;
@@ -110,6 +114,21 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
         }
     }
     
+    /**
+     * Tells this manager no longer to stall updates. Other than {@link #unlockUpdate()} this
+     * method only updates the {@link UIValue}s whose resource or {@link UIBridge} changed while
+     * the manager was locked. This method is intended for the framework, which knows that no
+     * {@link UIValue} needs to be updated unless its resource changed.
+     */
+    @FrameworkOnly
+    public void unlockChangedUpdate(){
+        updateLock--;
+        if( updateLock == 0 ){
+            for( Observer observer : observers )
+                observer.resetChanged();
+        }
+    }
+    
     /**
      * Gets the {@link UIScheme} that is used to fill up missing values in
      * the level <code>priority</code>.
@@ -480,6 +499,12 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
         
         Observer combination = new Observer( id, path, value );
         observers.add( combination );
+        List<Observer> same = observersByValue.get( value );
+        if( same == null ){
+        	same = new LinkedList<Observer>();
+        	observersByValue.put( value, same );
+        }
+        same.add( combination );
         combination.resetAll();
     }
     
@@ -488,14 +513,14 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
      * @param value the observer to remove
      */
     public void remove( U value ){
-        ListIterator<Observer> list = observers.listIterator();
-        while( list.hasNext() ){
-            Observer next = list.next();
-            if( next.getValue() == value ){
-                list.remove();
-                next.destroy();
-                return;
-            }
+        List<Observer> same = observersByValue.get( value );
+        if( same != null ){
+        	Observer next = same.remove( 0 );
+        	if( same.isEmpty() ){
+        		observersByValue.remove( value );
+        	}
+        	observers.remove( next );
+        	next.destroy();
         }
     }
     
@@ -738,6 +763,10 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
         private U value;
         /** a bridge for modified resources */
         private B bridge;
+        /** the last resource that was forwarded to {@link #value} */
+        private V lastResource;
+        /** whether {@link #lastResource} is set */
+        private boolean forwarded = false;
         
         /**
          * Creates a new observer
@@ -813,6 +842,23 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
                 setBridge( bridge, true );
         }
         
+        /**
+         * Updates resource and bridge of this <code>Observer</code>, but only if
+         * they changed since the last update.
+         */
+        public void resetChanged(){
+            B bridge = getBridgeFor( path );
+            if( bridge != this.bridge ){
+                setBridge( bridge, true );
+            }
+            else{
+                V resource = get( id );
+                if( !forwarded || resource != lastResource ){
+                    update( resource );
+                }
+            }
+        }
+        
         /**
          * Ensures that the correct {@link UIBridge} is used.
          */
@@ -851,6 +897,8 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
          * @param value the new value of the resource, can be <code>null</code>
          */
         public void update( V value ){
+            lastResource = value;
+            forwarded = true;
             if( bridge == null )
                 this.value.set( value );
             else
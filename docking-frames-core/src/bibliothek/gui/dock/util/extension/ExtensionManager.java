@@ -31,12 +31,19 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 import bibliothek.gui.DockController;
+import bibliothek.util.Path;
 
 /**
- * Manages a set of {@link Extension}s.
+ * Manages a set of {@link Extension}s.<br>
+ * The results of {@link #load(ExtensionName)} are cached if the {@link ExtensionName} has no parameters, or
+ * only parameters that are simple values like {@link String}s or {@link Number}s. If there are other parameters,
+ * usually the object asking for the extension, then only the results of {@link ReusableExtension}s are cached,
+ * all other {@link Extension}s are asked again on each call. The cache is cleared whenever an
+ * {@link Extension} is added or removed.
  * @author Benjamin Sigg
  */
 public class ExtensionManager {
@@ -52,13 +59,33 @@ public class ExtensionManager {
 	/** all shared extensions */
 	private Map<ExtensionName<?>, Share<?>> shared = new HashMap<ExtensionName<?>, Share<?>>();
 	
+	/** the results of {@link #load(ExtensionName)} for all the {@link #isCacheable(ExtensionName) cacheable} names */
+	private Map<ExtensionName<?>, List<?>> cache = new HashMap<ExtensionName<?>, List<?>>();
+	
+	/** the results of the {@link ReusableExtension}s, the names are stripped of all parameters that are not {@link #isValue(Object) values} */
+	private Map<ReusableExtension, Map<ExtensionName<?>, List<?>>> reusableCache = new HashMap<ReusableExtension, Map<ExtensionName<?>,List<?>>>();
+	
+	/** how many nanoseconds were spent searching and creating the default extensions */
+	private long discoveryTime = 0;
+	
+	/** how many nanoseconds were spent in {@link Extension#load(DockController, ExtensionName)} */
+	private long loadTime = 0;
+	
+	/** how many times {@link #load(ExtensionName)} was called */
+	private int loadCount = 0;
+	
+	/** how many times {@link #load(ExtensionName)} could use the {@link #cache} */
+	private int cacheHits = 0;
+	
 	/**
 	 * Creates a new manager.
 	 * @param controller the controller in whose realm this manager works
 	 */
 	public ExtensionManager( DockController controller ){
 		this.controller = controller;
+		long start = System.nanoTime();
 		tryLoadDefaultExtensions();
+		discoveryTime = System.nanoTime() - start;
 	}
 	
 	/**
@@ -96,6 +123,7 @@ public class ExtensionManager {
 	 */
 	public void add( Extension extension ){
 		extensions.add( extension );
+		clearCache();
 		if( alive ){
 			extension.install( controller );
 		}
@@ -107,6 +135,7 @@ public class ExtensionManager {
 	 */
 	public void remove( Extension extension ){
 		if( extensions.remove( extension ) ){
+			clearCache();
 			if( alive ){
 				extension.uninstall( controller );
 			}
@@ -127,17 +156,185 @@ public class ExtensionManager {
 	 * @param name the name of the extensions
 	 * @return a list containing all non-<code>null</code> extensions, may be empty
 	 */
+	@SuppressWarnings("unchecked")
 	public <E> List<E> load( ExtensionName<E> name ){
+		boolean cacheable = isCacheable( name );
+		synchronized( cache ){
+			loadCount++;
+			if( cacheable ){
+				List<E> cached = (List<E>)cache.get( name );
+				if( cached != null ){
+					cacheHits++;
+					return new ArrayList<E>( cached );
+				}
+			}
+		}
+		
+		long start = System.nanoTime();
 		List<E> result = new ArrayList<E>();
+		ExtensionName<E> stripped = null;
+		
 		for( Extension extension : extensions ){
-			Collection<E> es = extension.load( controller, name );
+			Collection<E> es;
+			if( !cacheable && extension instanceof ReusableExtension && ((ReusableExtension)extension).isReusable( name )){
+				if( stripped == null ){
+					stripped = strip( name );
+				}
+				es = loadReusable( (ReusableExtension)extension, stripped, name );
+			}
+			else{
+				es = extension.load( controller, name );
+			}
 			if( es != null ){
 				result.addAll( es );
 			}
 		}
+		
+		synchronized( cache ){
+			loadTime += System.nanoTime() - start;
+			if( cacheable ){
+				cache.put( name, new ArrayList<E>( result ) );
+			}
+		}
 		return result;
 	}
 	
+	/**
+	 * Gets the cached result of <code>extension</code>, or asks <code>extension</code> if there is no result yet.
+	 * @param extension the extension whose result is searched
+	 * @param stripped the key of the cached result
+	 * @param name the name that is used to ask <code>extension</code>
+	 * @return the result of <code>extension</code>, may be <code>null</code>
+	 */
+	@SuppressWarnings("unchecked")
+	private <E> List<E> loadReusable( ReusableExtension extension, ExtensionName<E> stripped, ExtensionName<E> name ){
+		synchronized( cache ){
+			Map<ExtensionName<?>, List<?>> results = reusableCache.get( extension );
+			if( results != null && results.containsKey( stripped )){
+				cacheHits++;
+				return (List<E>)results.get( stripped );
+			}
+		}
+		
+		Collection<E> es = extension.load( controller, name );
+		List<E> result = es == null ? null : Collections.unmodifiableList( new ArrayList<E>( es ) );
+		
+		synchronized( cache ){
+			Map<ExtensionName<?>, List<?>> results = reusableCache.get( extension );
+			if( results == null ){
+				results = new HashMap<ExtensionName<?>, List<?>>();
+				reusableCache.put( extension, results );
+			}
+			results.put( stripped, result );
+		}
+		return result;
+	}
+	
+	/**
+	 * Creates a copy of <code>name</code> which only has the parameters that are {@link #isValue(Object) values}.
+	 * @param name the name to copy
+	 * @return the copy
+	 */
+	private <E> ExtensionName<E> strip( ExtensionName<E> name ){
+		Map<String, Object> parameters = new HashMap<String, Object>();
+		for( String key : name.getParameterNames() ){
+			Object value = name.get( key );
+			if( isValue( value )){
+				parameters.put( key, value );
+			}
+		}
+		return new ExtensionName<E>( name.getName(), name.getType(), parameters );
+	}
+	
+	/**
+	 * Tells whether the result of {@link #load(ExtensionName)} can be stored and reused for
+	 * other calls with an equal {@link ExtensionName}. The default implementation returns <code>true</code> if
+	 * all the parameters of <code>name</code> are {@link #isValue(Object) values}. Any other parameter is usually
+	 * the object that asks for the extension, and the result is meant only for that object, unless the 
+	 * result is provided by a {@link ReusableExtension}.
+	 * @param name the name of the extension
+	 * @return whether the result of loading <code>name</code> can be cached
+	 */
+	protected boolean isCacheable( ExtensionName<?> name ){
+		for( String key : name.getParameterNames() ){
+			if( !isValue( name.get( key ) )){
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Tells whether <code>value</code>, a parameter of an {@link ExtensionName}, is a simple value. 
+	 * The default implementation returns <code>true</code> for <code>null</code>, {@link String}s, {@link Number}s,
+	 * {@link Boolean}s, {@link Character}s, {@link Enum}s, {@link Locale}s, {@link Path}s and {@link Class}es.
+	 * @param value the value to check
+	 * @return whether <code>value</code> can be used as key of a cache
+	 */
+	protected boolean isValue( Object value ){
+		return value == null ||
+				value instanceof String || 
+				value instanceof Number || 
+				value instanceof Boolean || 
+				value instanceof Character || 
+				value instanceof Enum<?> || 
+				value instanceof Locale || 
+				value instanceof Path || 
+				value instanceof Class<?>;
+	}
+	
+	/**
+	 * Removes all the cached results of {@link #load(ExtensionName)}. This method needs to be called
+	 * if an {@link Extension} changes the contributions it makes.
+	 */
+	public void clearCache(){
+		synchronized( cache ){
+			cache.clear();
+			reusableCache.clear();
+		}
+	}
+	
+	/**
+	 * Tells how many nanoseconds were spent searching and creating the default extensions when this
+	 * manager was created. This number is meant to be used for profiling.
+	 * @return the time in nanoseconds
+	 */
+	public long getDiscoveryTime(){
+		return discoveryTime;
+	}
+	
+	/**
+	 * Tells how many nanoseconds the {@link Extension}s spent creating the results of {@link #load(ExtensionName)}.
+	 * Calls that could reuse a cached result are not included. This number is meant to be used for profiling.
+	 * @return the time in nanoseconds
+	 */
+	public long getLoadTime(){
+		synchronized( cache ){
+			return loadTime;
+		}
+	}
+	
+	/**
+	 * Tells how many times {@link #load(ExtensionName)} was called.
+	 * @return the number of calls
+	 */
+	public int getLoadCount(){
+		synchronized( cache ){
+			return loadCount;
+		}
+	}
+	
+	/**
+	 * Tells how many times {@link #load(ExtensionName)} was able to reuse a cached result, either the entire
+	 * result or the result of one {@link ReusableExtension}.
+	 * @return the number of cache hits
+	 */
+	public int getCacheHits(){
+		synchronized( cache ){
+			return cacheHits;
+		}
+	}
+	
 	/**
 	 * Creates a new {@link SharedExtension} object which uses <code>name</code> as key to read 
 	 * extensions. The {@link SharedExtension} object can be {@link SharedExtension#bind() bound} 
@@ -249,6 +446,7 @@ public class ExtensionManager {
 	 */
 	public void init(){
 		alive = true;
+		clearCache();
 		for( Extension extension : extensions ){
 			extension.install( controller );
 		}
@@ -264,6 +462,7 @@ public class ExtensionManager {
 				extension.uninstall( controller );
 			}
 			extensions.clear();
+			clearCache();
 		}
 	}
 	
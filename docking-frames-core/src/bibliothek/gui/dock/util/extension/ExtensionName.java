@@ -25,6 +25,8 @@
  */
 package bibliothek.gui.dock.util.extension;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -107,7 +109,18 @@ public class ExtensionName<E> {
 	 * @return the value, can be <code>null</code>
 	 */
 	public Object get( String parameter ){
-		return parameter == null ? null : parameters.get( parameter );
+		return parameter == null || parameters == null ? null : parameters.get( parameter );
+	}
+	
+	/**
+	 * Gets the names of all the parameters of this extension.
+	 * @return the names of the parameters, may be empty
+	 */
+	public Collection<String> getParameterNames(){
+		if( parameters == null ){
+			return Collections.emptySet();
+		}
+		return Collections.unmodifiableSet( parameters.keySet() );
 	}
 
 	@Override
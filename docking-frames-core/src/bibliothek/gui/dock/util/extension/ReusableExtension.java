@@ -0,0 +1,47 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util.extension;
+
+import bibliothek.gui.DockController;
+
+/**
+ * An {@link Extension} which can tell that some of its results may be given to more than one caller. Many
+ * callers of {@link ExtensionManager#load(ExtensionName)} add themselves as parameter to the {@link ExtensionName},
+ * if the result of an extension does not depend on such a parameter, then the {@link ExtensionManager} asks the
+ * extension only once and gives the same objects to all the callers.
+ * @author Benjamin Sigg
+ */
+public interface ReusableExtension extends Extension {
+	/**
+	 * Tells whether the result of {@link #load(DockController, ExtensionName)} depends only on the
+	 * {@link ExtensionName#getName() name}, on the {@link ExtensionName#getType() type} and on the parameters
+	 * that are simple values like {@link String}s. If so, then the objects returned by this extension 
+	 * are stateless, or can be shared by all the callers that ask for an equal name.
+	 * @param name the name of the extension that is going to be loaded
+	 * @return <code>true</code> if the result for <code>name</code> can be reused
+	 */
+	public boolean isReusable( ExtensionName<?> name );
+}
@@ -29,15 +29,18 @@ import java.awt.Component;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import javax.swing.Icon;
+import javax.swing.ImageIcon;
 
 import bibliothek.gui.DockController;
 import bibliothek.gui.DockUI;
@@ -52,13 +55,23 @@ import bibliothek.util.Path;
 /**
  * This default implementation of an {@link UIScheme} for {@link Icon}s reads an ini-file
  * which consists of "key=icon-path" pairs, and loads all the icons described in that 
- * ini file when needed.
+ * ini file when needed. An icon is loaded the first time it is {@link #getResource(String, UIProperties) requested},
+ * icons that are never shown are never loaded.
  * @author Benjamin Sigg
  */
 public class DefaultIconScheme extends AbstractIconScheme {
 	private Map<String, Icon> icons;
 	private Map<Path, DockIconBridge> bridges;
 	
+	/** the location of all the icons that are known but not yet loaded */
+	private Map<String, URL> unloadedIcons;
+	
+	/** how many icons were loaded by {@link #loadIcon(String, URL)} */
+	private int loadedIconCount = 0;
+	
+	/** how many nanoseconds were spent loading icons */
+	private long loadingTime = 0;
+	
 	/**
 	 * A helper class describing a source for icons
 	 * @author Benjamin Sigg
@@ -146,11 +159,15 @@ public class DefaultIconScheme extends AbstractIconScheme {
 		
 		icons = new HashMap<String, Icon>();
 		bridges = new HashMap<Path, DockIconBridge>();
+		unloadedIcons = new HashMap<String, URL>();
 		
 		initHardcoded();
 		
+		Set<String> known = new HashSet<String>( icons.keySet() );
 		for( int i = resources.length-1; i >= 0; i-- ){
-			icons.putAll( DockUtilities.loadIcons( resources[i].getFileName(), resources[i].getPath(), icons.keySet(), resources[i].getLoader() ) );
+			Map<String, URL> paths = DockUtilities.loadIconPaths( resources[i].getFileName(), resources[i].getPath(), known, resources[i].getLoader() );
+			unloadedIcons.putAll( paths );
+			known.addAll( paths.keySet() );
 		}
 	}
 	
@@ -187,7 +204,58 @@ public class DefaultIconScheme extends AbstractIconScheme {
 	}
 
 	public Icon getResource( String name, UIProperties<Icon, DockIcon, DockIconBridge> properties ){
-		return icons.get( name );
+		Icon icon = icons.get( name );
+		if( icon == null ){
+			URL url = unloadedIcons.remove( name );
+			if( url != null ){
+				long start = System.nanoTime();
+				icon = loadIcon( name, url );
+				loadingTime += System.nanoTime() - start;
+				loadedIconCount++;
+				
+				if( icon != null ){
+					icons.put( name, icon );
+				}
+			}
+		}
+		return icon;
+	}
+	
+	/**
+	 * Called the first time the icon <code>name</code> is requested, loads the icon
+	 * from <code>url</code>.
+	 * @param name the unique key of the icon
+	 * @param url the location of the image
+	 * @return the new icon, can be <code>null</code>
+	 */
+	protected Icon loadIcon( String name, URL url ){
+		return new ImageIcon( url );
+	}
+	
+	/**
+	 * Tells how many icons were loaded so far. Icons are only loaded the first time they are
+	 * requested.
+	 * @return the number of loaded icons
+	 */
+	public int getLoadedIconCount(){
+		return loadedIconCount;
+	}
+	
+	/**
+	 * Tells how many icons are known to this scheme, but were never requested and hence
+	 * never loaded.
+	 * @return the number of icons that are not yet loaded
+	 */
+	public int getUnloadedIconCount(){
+		return unloadedIcons.size();
+	}
+	
+	/**
+	 * Tells how much time was spent loading icons.
+	 * @return the time in nanoseconds
+	 */
+	public long getLoadingTime(){
+		return loadingTime;
 	}
 	
 	/**
@@ -236,6 +304,9 @@ public class DefaultIconScheme extends AbstractIconScheme {
 	
 	@Override
 	protected void changed( final String id, Icon icon ){
+		if( unloadedIcons != null ){
+			unloadedIcons.remove( id );
+		}
 		if( icon == null ){
 			icons.remove( id );
 		}
@@ -0,0 +1,101 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.util;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Replaces a file by a new version that was written into a temporary file. If the platform does not allow
+ * to rename a file over an existing file, then the old version is first renamed into a backup file. The 
+ * backup is only deleted once the new version is in place, hence at any time either the file itself or its
+ * backup contains a complete version. Clients reading the file should call {@link #recover(File)} first,
+ * this restores the backup if a previous replacement was interrupted.
+ * @author Benjamin Sigg
+ */
+public final class FileReplacer {
+	private FileReplacer(){
+		// nothing
+	}
+	
+	/**
+	 * Gets the file which is used as backup of <code>file</code> while <code>file</code> is replaced.
+	 * @param file the file that is replaced
+	 * @return the backup of <code>file</code>
+	 */
+	public static File getBackup( File file ){
+		return new File( file.getPath() + ".bak" );
+	}
+	
+	/**
+	 * Renames <code>temp</code> to <code>file</code>, replacing <code>file</code> if it already exists.
+	 * @param temp the file containing the new version, must be in the same directory as <code>file</code>
+	 * @param file the file to replace
+	 * @throws IOException if <code>file</code> could not be replaced, in this case <code>file</code> is 
+	 * still the old version and <code>temp</code> still exists
+	 */
+	public static void replace( File temp, File file ) throws IOException{
+		if( temp.renameTo( file )){
+			return;
+		}
+		
+		// some platforms do not allow to rename a file if the target already exists
+		File backup = getBackup( file );
+		if( backup.exists() && !backup.delete() ){
+			throw new IOException( "unable to delete " + backup );
+		}
+		boolean replacing = file.exists();
+		if( replacing && !file.renameTo( backup )){
+			throw new IOException( "unable to replace " + file );
+		}
+		if( !temp.renameTo( file )){
+			if( replacing ){
+				backup.renameTo( file );
+			}
+			throw new IOException( "unable to rename " + temp + " to " + file );
+		}
+		if( replacing ){
+			backup.delete();
+		}
+	}
+	
+	/**
+	 * Ensures that <code>file</code> exists if an earlier call to {@link #replace(File, File)} was interrupted
+	 * after the old version was moved away, but before the new version was in place. In this case the
+	 * backup is renamed to <code>file</code>.
+	 * @param file the file that is going to be read
+	 * @return <code>file</code>
+	 */
+	public static File recover( File file ){
+		if( !file.exists() ){
+			File backup = getBackup( file );
+			if( backup.exists() ){
+				backup.renameTo( file );
+			}
+		}
+		return file;
+	}
+}
@@ -123,9 +123,10 @@ import bibliothek.gui.dock.util.IconManager;
 import bibliothek.gui.dock.util.Priority;
 import bibliothek.gui.dock.util.PropertyKey;
 import bibliothek.gui.dock.util.TextManager;
-import bibliothek.gui.dock.util.extension.Extension;
 import bibliothek.gui.dock.util.extension.ExtensionName;
+import bibliothek.gui.dock.util.extension.ReusableExtension;
 import bibliothek.gui.dock.wizard.WizardSplitDockStationFactory;
+import bibliothek.util.Path;
 
 /**
  * Allows seamless integration of the toolbar extension into the core and common
@@ -133,7 +134,7 @@ import bibliothek.gui.dock.wizard.WizardSplitDockStationFactory;
  * 
  * @author Benjamin Sigg
  */
-public class ToolbarExtension implements Extension {
+public class ToolbarExtension implements ReusableExtension {
 	/** unique flag for marking {@link DockTitle}s shown above a toolbar */
 	public static final ViewTarget<BasicTitleViewItem<JComponent>> TOOLBAR_TITLE = new ViewTarget<BasicTitleViewItem<JComponent>>( "target TOOLBAR TITLE" );
 
@@ -291,6 +292,14 @@ public class ToolbarExtension implements Extension {
 		converter.putDefault( ActionType.BUTTON, TOOLBAR_TITLE, null );
 	}
 
+	@Override
+	public boolean isReusable( ExtensionName<?> extension ){
+		Path name = extension.getName();
+		return name.equals( PropertyTransformer.FACTORY_EXTENSION ) ||
+				name.equals( DockSituation.DOCK_FACTORY_EXTENSION ) ||
+				name.equals( DefaultDockRelocator.MERGE_EXTENSION );
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public <E> Collection<E> load( DockController controller, ExtensionName<E> extension ){